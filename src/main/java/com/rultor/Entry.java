@@ -48,13 +48,22 @@ import com.jcabi.log.Logger;
 import com.jcabi.manifests.Manifests;
 import com.jcabi.urn.URN;
 import com.rultor.cached.CdTalks;
+import com.rultor.cached.CdWire;
+import com.rultor.dynamo.BlockCounter;
+import com.rultor.dynamo.DyNodes;
 import com.rultor.dynamo.DyTalks;
+import com.rultor.local.LcTalks;
+import com.rultor.spi.Codec;
+import com.rultor.spi.Metrics;
+import com.rultor.spi.Nodes;
 import com.rultor.spi.Pulse;
 import com.rultor.spi.Talks;
 import com.rultor.spi.Tick;
 import com.rultor.web.TkApp;
 import io.sentry.Sentry;
+import java.io.File;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -107,19 +116,19 @@ public final class Entry {
         if (!dsn.startsWith("test")) {
             Sentry.init(dsn);
         }
-        final Talks talks = new CdTalks(
-            new DyTalks(
-                this.dynamo(), this.sttc().counters().get("rt-talk")
-            )
-        );
+        final Talks talks = new CdTalks(this.talks(), Entry.metrics());
         Logger.info(this, "Starting the Routine...");
         final Routine routine = new Routine(
-            talks, Entry.pulse(), this.github(), this.sttc()
+            talks, Entry.pulse(), this.github(), this.sttc(),
+            Entry.threads(), Entry.metrics(), this.nodes()
         );
         Logger.info(this, "Starting the web front to run forever...");
         try {
             new FtCli(
-                new TkApp(talks, Entry.pulse(), new Toggles.InFile()),
+                new TkApp(
+                    talks, Entry.pulse(), new Toggles.InFile(),
+                    Entry.metrics()
+                ),
                 this.arguments
             ).start(Exit.NEVER);
         } finally {
@@ -127,6 +136,47 @@ public final class Entry {
         }
     }
 
+    /**
+     * Make talks, in a local directory or in DynamoDB.
+     * @return Talks
+     * @throws IOException If fails
+     */
+    private Talks talks() throws IOException {
+        final String dir = Manifests.read("Rultor-Storage");
+        final Talks talks;
+        if (dir.isEmpty() || dir.startsWith("${")) {
+            talks = new DyTalks(
+                this.dynamo(),
+                new BlockCounter(
+                    this.sttc().counters().get("rt-talk"), Tv.HUNDRED
+                ),
+                Entry.metrics(), Codec.DEFAULT, Entry.snapshots()
+            );
+        } else {
+            Logger.info(this, "Talks are stored locally in %s", dir);
+            talks = new LcTalks(new File(dir));
+        }
+        return talks;
+    }
+
+    /**
+     * Make nodes of the cluster, only if talks are in DynamoDB.
+     * @return Nodes
+     */
+    private Nodes nodes() {
+        final String dir = Manifests.read("Rultor-Storage");
+        final Nodes nodes;
+        if (dir.isEmpty() || dir.startsWith("${")) {
+            nodes = new DyNodes(
+                this.dynamo(),
+                ManagementFactory.getRuntimeMXBean().getName()
+            );
+        } else {
+            nodes = Nodes.SINGLE;
+        }
+        return nodes;
+    }
+
     /**
      * Make github.
      * @return Github
@@ -144,6 +194,12 @@ public final class Entry {
                 new RtGithub(token).entry().through(
                     RetryCarefulWire.class,
                     Tv.HUNDRED
+                ).through(
+                    CdWire.class,
+                    new File(
+                        System.getProperty("java.io.tmpdir"), "rultor-github"
+                    ),
+                    Entry.metrics()
                 )
             );
         }
@@ -201,6 +257,36 @@ public final class Entry {
         );
     }
 
+    /**
+     * How many modifications of a talk per snapshot.
+     * @return Number of modifications, zero to rewrite the XML every time
+     */
+    private static int snapshots() {
+        final String every = Manifests.read("Rultor-Snapshots");
+        final int total;
+        if (every.startsWith("${")) {
+            total = 0;
+        } else {
+            total = Integer.parseInt(every);
+        }
+        return total;
+    }
+
+    /**
+     * How many talks to process in parallel.
+     * @return Number of threads
+     */
+    private static int threads() {
+        final String threads = Manifests.read("Rultor-Threads");
+        final int total;
+        if (threads.startsWith("${")) {
+            total = Tv.FOUR;
+        } else {
+            total = Integer.parseInt(threads);
+        }
+        return total;
+    }
+
     /**
      * Create pulse.
      * @return Pulse
@@ -237,4 +323,13 @@ public final class Entry {
         };
     }
 
+    /**
+     * Create metrics.
+     * @return Metrics
+     */
+    @Cacheable(forever = true)
+    private static Metrics metrics() {
+        return new Metrics.Simple();
+    }
+
 }
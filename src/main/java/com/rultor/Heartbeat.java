@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor;
+
+import com.jcabi.log.Logger;
+import com.rultor.spi.Nodes;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.ToString;
+
+/**
+ * Heartbeat of this node, which renews its lease in the background.
+ *
+ * <p>A cycle of the routine may take longer than the lease, while the
+ * node is alive and busy with its talks. That's why the lease is renewed
+ * by a separate thread, not by the cycle. The ring seen by the latest
+ * beat is kept, to check before each talk that it is still ours.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@ToString(of = "nodes")
+@SuppressWarnings("PMD.DoNotUseThreads")
+final class Heartbeat implements Closeable {
+
+    /**
+     * Nodes of the cluster.
+     */
+    private final transient Nodes nodes;
+
+    /**
+     * The ring, as seen by the latest beat.
+     */
+    private final transient AtomicReference<Ring> latest;
+
+    /**
+     * The thread that beats.
+     */
+    private final transient ScheduledExecutorService service;
+
+    /**
+     * Ctor.
+     * @param cluster Nodes of the cluster
+     * @param msec How often to renew the lease, in milliseconds
+     */
+    Heartbeat(final Nodes cluster, final long msec) {
+        this.nodes = cluster;
+        this.latest = new AtomicReference<>();
+        this.service = Executors.newSingleThreadScheduledExecutor();
+        this.service.scheduleWithFixedDelay(
+            this::pulse, msec, msec, TimeUnit.MILLISECONDS
+        );
+    }
+
+    @Override
+    public void close() {
+        this.service.shutdownNow();
+    }
+
+    /**
+     * Renew the lease now and see who is alive.
+     * @return The ring of all nodes alive
+     * @throws IOException If fails
+     */
+    public Ring beat() throws IOException {
+        final Ring ring = new Ring(this.nodes.alive());
+        this.latest.set(ring);
+        return ring;
+    }
+
+    /**
+     * This talk is still ours, according to the latest beat?
+     * @param talk Name of the talk
+     * @return TRUE if this node owns it
+     * @throws IOException If fails
+     */
+    public boolean owns(final String talk) throws IOException {
+        Ring ring = this.latest.get();
+        if (ring == null) {
+            ring = this.beat();
+        }
+        return ring.owner(talk).equals(this.nodes.self());
+    }
+
+    /**
+     * Beat in the background, without letting a failure stop
+     * the next beat.
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private void pulse() {
+        try {
+            this.beat();
+            // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final Exception ex) {
+            Logger.warn(this, "Can't renew the lease: %[exception]s", ex);
+        }
+    }
+
+}
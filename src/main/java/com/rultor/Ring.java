@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Consistent hash ring of cluster nodes, which decides what node
+ * owns what talk.
+ *
+ * <p>Every node takes a number of points on the ring, and a talk
+ * belongs to the node with the nearest point after the hash of its
+ * name. When a node joins or leaves, only its own share of talks
+ * moves, the rest stay where they were.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@ToString(of = "nodes")
+@EqualsAndHashCode(of = "nodes")
+final class Ring {
+
+    /**
+     * How many points every node takes on the ring.
+     */
+    private static final int POINTS = 64;
+
+    /**
+     * Nodes, in alphabetical order.
+     */
+    private final transient NavigableSet<String> nodes;
+
+    /**
+     * Nodes by their points.
+     */
+    private final transient NavigableMap<Long, String> points;
+
+    /**
+     * Ctor.
+     * @param all Names of all nodes alive
+     */
+    Ring(final Collection<String> all) {
+        if (all.isEmpty()) {
+            throw new IllegalArgumentException("There are no nodes alive");
+        }
+        this.nodes = new TreeSet<>(all);
+        this.points = new TreeMap<>();
+        for (final String node : all) {
+            for (int idx = 0; idx < Ring.POINTS; ++idx) {
+                this.points.put(
+                    Ring.hash(String.format("%s:%d", node, idx)), node
+                );
+            }
+        }
+    }
+
+    /**
+     * Who owns this talk.
+     * @param talk Name of the talk
+     * @return Name of the node
+     */
+    public String owner(final String talk) {
+        Map.Entry<Long, String> point = this.points.ceilingEntry(
+            Ring.hash(talk)
+        );
+        if (point == null) {
+            point = this.points.firstEntry();
+        }
+        return point.getValue();
+    }
+
+    /**
+     * Hash of the text.
+     * @param text The text
+     * @return Hash
+     */
+    private static long hash(final String text) {
+        try {
+            return ByteBuffer.wrap(
+                MessageDigest.getInstance("MD5").digest(
+                    text.getBytes(StandardCharsets.UTF_8)
+                )
+            ).getLong();
+        } catch (final NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
@@ -35,8 +35,11 @@ import com.jcabi.aspects.Timeable;
 import com.jcabi.aspects.Tv;
 import com.jcabi.github.Github;
 import com.jcabi.log.Logger;
+import com.jcabi.xml.XML;
 import com.rultor.agents.Agents;
 import com.rultor.profiles.Profiles;
+import com.rultor.spi.Metrics;
+import com.rultor.spi.Nodes;
 import com.rultor.spi.Profile;
 import com.rultor.spi.Pulse;
 import com.rultor.spi.Talk;
@@ -47,12 +50,15 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Date;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.validation.constraints.NotNull;
 import org.cactoos.iterable.Mapped;
-import org.cactoos.list.ListOf;
 
 /**
  * Routine.
@@ -61,25 +67,16 @@ import org.cactoos.list.ListOf;
  * @version $Id$
  * @since 1.50
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
- * @todo #1125:30min Routine should be delegate execution to separate threads.
- *  Currently com.rultor.Routine#process() is sequentially processing all Talks
- *  and breaking out of this sequential processing to log occurring exceptions.
- *  This leads to issues in one build breaking all builds globally.
- *  This should be reworked to run the chain of Agents for each talk in a
- *  separate thread, not interfering with the main Routine in error cases.
- *  Once this is done the swallowing of generic exceptions, added to
- *  circumvent this issue, in
- *  com.rultor.agents.github.Reports#process(com.jcabi.xml.XML) should be
- *  removed.
  */
 @ScheduleWithFixedDelay
 @SuppressWarnings("PMD.DoNotUseThreads")
 final class Routine implements Runnable, Closeable {
 
     /**
-     * How many talks to process in one cycle.
+     * How long all talks of one cycle may take, in minutes, before
+     * we give up on those still running.
      */
-    private static final int MAX_TALKS = 10;
+    private static final long LIMIT = 5L;
 
     /**
      * Shutting down?
@@ -101,29 +98,78 @@ final class Routine implements Runnable, Closeable {
      */
     private final transient Talks talks;
 
+    /**
+     * Nodes of the cluster.
+     */
+    private final transient Nodes nodes;
+
     /**
      * Agents.
      */
     private final transient Agents agents;
 
+    /**
+     * Scheduler of talks.
+     */
+    private final transient Scheduler scheduler;
+
+    /**
+     * Heartbeat of this node in the cluster.
+     */
+    private final transient Heartbeat heartbeat;
+
+    /**
+     * Workers processing talks in parallel.
+     */
+    private final transient Workers workers;
+
+    /**
+     * How many workers are busy right now.
+     */
+    private final transient AtomicInteger busy = new AtomicInteger();
+
+    /**
+     * Maximum number of busy workers during the current cycle.
+     */
+    private final transient AtomicInteger peak = new AtomicInteger();
+
     /**
      * Ctor.
      * @param tlks Talks
      * @param pls Pulse
      * @param github Github client
      * @param sttc Sttc client
+     * @param threads How many talks to process in parallel
+     * @param metrics Metrics
+     * @param cluster Nodes of the cluster
      * @checkstyle ParameterNumberCheck (4 lines)
      */
     Routine(@NotNull final Talks tlks, final Pulse pls,
-        final Github github, final Sttc sttc) {
+        final Github github, final Sttc sttc, final int threads,
+        final Metrics metrics, final Nodes cluster) {
         this.talks = tlks;
         this.pulse = pls;
-        this.agents = new Agents(github, sttc);
+        this.nodes = cluster;
+        this.agents = new Agents(github, sttc, tlks, metrics);
+        this.scheduler = new Scheduler(TimeUnit.MINUTES.toMillis(1L));
+        this.heartbeat = new Heartbeat(
+            cluster, TimeUnit.MINUTES.toMillis(1L)
+        );
+        this.workers = new Workers(
+            threads, TimeUnit.MINUTES.toMillis(Routine.LIMIT)
+        );
     }
 
     @Override
     public void close() {
         this.down.set(true);
+        this.workers.close();
+        this.heartbeat.close();
+        try {
+            this.nodes.leave();
+        } catch (final IOException ex) {
+            Logger.warn(this, "%[exception]s", ex);
+        }
     }
 
     @Override
@@ -171,39 +217,86 @@ final class Routine implements Runnable, Closeable {
     @Timeable(limit = Tv.TWENTY, unit = TimeUnit.MINUTES)
     private int safe() throws IOException {
         final long begin = System.currentTimeMillis();
-        int total = 0;
+        this.peak.set(0);
+        final Map<String, Long> latency = new LinkedHashMap<>(0);
         if (new Toggles.InFile().readOnly()) {
             Logger.info(this, "read-only mode");
         } else {
-            total = this.process();
+            latency.putAll(this.process());
         }
         this.pulse.add(
-            new Tick(begin, System.currentTimeMillis() - begin, total)
+            new Tick(
+                begin, System.currentTimeMillis() - begin, latency.size(),
+                this.peak.get(), latency
+            )
         );
-        return total;
+        return latency.size();
     }
 
     /**
      * Routine every-minute proc.
-     * @return Total talks processed
+     *
+     * <p>Only the talks this node owns in the cluster are processed,
+     * and each of them only if it's still ours when its turn comes
+     * and we managed to claim it, since the node that owned it before
+     * may still be processing it. Talks are started only by the leader
+     * of the cluster.</p>
+     *
+     * @return Milliseconds spent on each talk processed, by talk name
      * @throws IOException If fails
      */
-    private int process() throws IOException {
-        this.agents.starter().execute(this.talks);
+    private Map<String, Long> process() throws IOException {
+        final long deadline = this.scheduler.deadline(
+            System.currentTimeMillis()
+        );
+        final Ring ring = this.heartbeat.beat();
+        final Talks mine = new Sharded(this.talks, ring, this.nodes.self());
+        if (this.nodes.lead()) {
+            this.agents.starter().execute(this.talks);
+        }
         final Profiles profiles = new Profiles();
-        final List<Talk> active = new ListOf<>(this.talks.active());
-        Collections.reverse(active);
-        int total = 0;
-        for (final Talk talk : active) {
-            ++total;
+        final Map<String, Callable<Long>> tasks = new LinkedHashMap<>(0);
+        for (final Talk talk : this.scheduler.order(mine.active())) {
+            tasks.put(
+                talk.name(),
+                () -> {
+                    Long msec = null;
+                    if (System.currentTimeMillis() < deadline
+                        && this.heartbeat.owns(talk.name())
+                        && this.nodes.claim(talk.name())) {
+                        msec = this.single(talk, profiles);
+                    }
+                    return msec;
+                }
+            );
+        }
+        final Map<String, Long> latency = this.workers.run(tasks);
+        this.agents.closer().execute(mine);
+        return latency;
+    }
+
+    /**
+     * Run all agents for a single talk, in a worker thread.
+     * @param talk The talk
+     * @param profiles Profiles
+     * @return Milliseconds spent
+     * @throws IOException If fails
+     */
+    private long single(final Talk talk, final Profiles profiles)
+        throws IOException {
+        final long begin = System.currentTimeMillis();
+        this.peak.accumulateAndGet(this.busy.incrementAndGet(), Math::max);
+        final AtomicReference<XML> xml = new AtomicReference<>();
+        try {
             final Profile profile = profiles.fetch(talk);
-            this.agents.agent(talk, profile).execute(talk);
-            if (total > Routine.MAX_TALKS) {
-                break;
-            }
+            this.agents.agent(
+                talk, profile, tlk -> xml.set(tlk.read())
+            ).execute(talk);
+        } finally {
+            this.busy.decrementAndGet();
+            this.scheduler.done(talk, xml.get());
         }
-        this.agents.closer().execute(this.talks);
-        return total;
+        return System.currentTimeMillis() - begin;
     }
 
 }
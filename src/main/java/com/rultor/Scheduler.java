@@ -0,0 +1,280 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor;
+
+import com.jcabi.xml.XML;
+import com.rultor.spi.Talk;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Scheduler of talks, which decides in what order active talks
+ * are processed during one cycle of {@link Routine}.
+ *
+ * <p>The talk that waited the longest since it was processed last time
+ * goes first. Talks with pending requests and running daemons get
+ * a bonus, so that they are handled sooner: release and deploy
+ * requests are more urgent than merges. A talk that was never
+ * processed goes before all others.</p>
+ *
+ * <p>Talks with a running daemon are not processed every cycle: the
+ * interval between their visits doubles every time, from one minute
+ * up to {@link #MAX_DELAY}. As soon as the talk is modified by someone
+ * else (for example, a new GitHub mention arrives or it gets something
+ * to understand in its {@code later} attribute), it is due again.</p>
+ *
+ * <p>Whether a talk is due is decided by the time of its last
+ * modification only, and only talks that are due are read. Whether it
+ * waits for its daemon is decided from the XML the agents leave.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@ToString
+@EqualsAndHashCode(of = "budget")
+final class Scheduler {
+
+    /**
+     * Bonus for one level of urgency, in milliseconds of waiting.
+     */
+    private static final long BONUS = TimeUnit.MINUTES.toMillis(5L);
+
+    /**
+     * Minimum delay between visits of a talk with a running daemon.
+     */
+    private static final long MIN_DELAY = TimeUnit.MINUTES.toMillis(1L);
+
+    /**
+     * Maximum delay between visits of a talk with a running daemon.
+     */
+    private static final long MAX_DELAY = TimeUnit.MINUTES.toMillis(8L);
+
+    /**
+     * XPath of a talk which may wait.
+     */
+    private static final String IDLE = String.join(
+        "",
+        "/talk[not(@later='true') and not(request)",
+        " and daemon[started and not(ended)]]"
+    );
+
+    /**
+     * Urgency of talks, by XPath.
+     */
+    private static final Map<String, Integer> URGENCY = Scheduler.urgency();
+
+    /**
+     * Time budget of one cycle, in milliseconds.
+     */
+    private final transient long budget;
+
+    /**
+     * Most recent visits of talks, by talk name.
+     */
+    private final transient Map<String, Scheduler.Visit> visits;
+
+    /**
+     * Ctor.
+     * @param msec Time budget of one cycle, in milliseconds
+     */
+    Scheduler(final long msec) {
+        this.budget = msec;
+        this.visits = new ConcurrentHashMap<>(0);
+    }
+
+    /**
+     * Order talks which are due, the most urgent first.
+     * @param talks Active talks
+     * @return Ordered talks, only those that are due
+     * @throws IOException If fails
+     */
+    public List<Talk> order(final Iterable<Talk> talks) throws IOException {
+        final long now = System.currentTimeMillis();
+        final Map<Talk, Long> priorities = new IdentityHashMap<>(0);
+        final Set<String> names = new HashSet<>(0);
+        for (final Talk talk : talks) {
+            final String name = talk.name();
+            names.add(name);
+            final Scheduler.Visit visit = this.visits.getOrDefault(
+                name, Scheduler.Visit.NEVER
+            );
+            if (visit.due(now, talk.updated().getTime())) {
+                priorities.put(
+                    talk,
+                    now - visit.when()
+                        + Scheduler.BONUS * Scheduler.level(talk.read())
+                );
+            }
+        }
+        this.visits.keySet().retainAll(names);
+        final List<Talk> ordered = new ArrayList<>(priorities.keySet());
+        ordered.sort(
+            Comparator.comparing(priorities::get, Comparator.reverseOrder())
+        );
+        return ordered;
+    }
+
+    /**
+     * When the cycle that started at the given moment has to stop
+     * picking up new talks.
+     * @param start When the cycle started, in milliseconds
+     * @return Deadline, in milliseconds
+     */
+    public long deadline(final long start) {
+        return start + this.budget;
+    }
+
+    /**
+     * The talk was just processed.
+     * @param talk The talk
+     * @param xml Its XML, the way the agents left it, or NULL if they
+     *  failed
+     * @throws IOException If fails
+     */
+    public void done(final Talk talk, final XML xml) throws IOException {
+        final String name = talk.name();
+        long delay = 0L;
+        if (xml != null && !xml.nodes(Scheduler.IDLE).isEmpty()) {
+            delay = Math.min(
+                Math.max(
+                    this.visits.getOrDefault(name, Scheduler.Visit.NEVER)
+                        .delay() * 2L,
+                    Scheduler.MIN_DELAY
+                ),
+                Scheduler.MAX_DELAY
+            );
+        }
+        this.visits.put(
+            name,
+            new Scheduler.Visit(
+                System.currentTimeMillis(), delay, talk.updated().getTime()
+            )
+        );
+    }
+
+    /**
+     * Level of urgency of the talk.
+     * @param xml Talk XML
+     * @return Level, zero if it's not urgent at all
+     */
+    private static int level(final XML xml) {
+        int level = 0;
+        for (final Map.Entry<String, Integer> ent
+            : Scheduler.URGENCY.entrySet()) {
+            if (!xml.nodes(ent.getKey()).isEmpty()) {
+                level += ent.getValue();
+            }
+        }
+        return level;
+    }
+
+    /**
+     * Make a map of urgency levels.
+     * @return Map of XPath to urgency level
+     */
+    private static Map<String, Integer> urgency() {
+        final Map<String, Integer> map = new HashMap<>(0);
+        map.put("/talk/request[type='release' or type='deploy']", 2);
+        map.put("/talk/request[type='merge']", 1);
+        map.put("/talk/request", 1);
+        map.put("/talk/daemon[started and not(ended)]", 1);
+        return map;
+    }
+
+    /**
+     * A visit of a talk.
+     */
+    private static final class Visit {
+        /**
+         * A talk that was never visited.
+         */
+        private static final Scheduler.Visit NEVER =
+            new Scheduler.Visit(0L, 0L, 0L);
+        /**
+         * When it was visited.
+         */
+        private final transient long time;
+        /**
+         * How long to wait until the next visit, in milliseconds.
+         */
+        private final transient long wait;
+        /**
+         * When the talk was updated, as seen during the visit.
+         */
+        private final transient long updated;
+        /**
+         * Ctor.
+         * @param when When it was visited
+         * @param delay How long to wait until the next visit
+         * @param version When the talk was updated
+         */
+        Visit(final long when, final long delay, final long version) {
+            this.time = when;
+            this.wait = delay;
+            this.updated = version;
+        }
+        /**
+         * When it was visited.
+         * @return Time in milliseconds
+         */
+        public long when() {
+            return this.time;
+        }
+        /**
+         * How long to wait until the next visit.
+         * @return Delay in milliseconds
+         */
+        public long delay() {
+            return this.wait;
+        }
+        /**
+         * Is it time to visit the talk again?
+         * @param now Current time
+         * @param version When the talk was updated
+         * @return TRUE if it's due
+         */
+        public boolean due(final long now, final long version) {
+            return now >= this.time + this.wait || version != this.updated;
+        }
+    }
+
+}
@@ -0,0 +1,138 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor;
+
+import com.rultor.spi.Archive;
+import com.rultor.spi.Talk;
+import com.rultor.spi.Talks;
+import java.io.IOException;
+import java.util.Date;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.cactoos.iterable.Filtered;
+
+/**
+ * Talks of one node of a cluster.
+ *
+ * <p>Only active talks are filtered: the node sees only those it
+ * owns on the {@link Ring}. All other methods work with
+ * all talks.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@ToString
+@EqualsAndHashCode(of = { "origin", "ring", "node" })
+@SuppressWarnings("PMD.TooManyMethods")
+final class Sharded implements Talks {
+
+    /**
+     * Original talks.
+     */
+    private final transient Talks origin;
+
+    /**
+     * The ring.
+     */
+    private final transient Ring ring;
+
+    /**
+     * Name of this node.
+     */
+    private final transient String node;
+
+    /**
+     * Ctor.
+     * @param talks All talks
+     * @param rng The ring
+     * @param self Name of this node
+     */
+    Sharded(final Talks talks, final Ring rng, final String self) {
+        this.origin = talks;
+        this.ring = rng;
+        this.node = self;
+    }
+
+    @Override
+    public boolean exists(final long number) {
+        return this.origin.exists(number);
+    }
+
+    @Override
+    public Talk get(final long number) {
+        return this.origin.get(number);
+    }
+
+    @Override
+    public boolean exists(final String name) {
+        return this.origin.exists(name);
+    }
+
+    @Override
+    public Talk get(final String name) {
+        return this.origin.get(name);
+    }
+
+    @Override
+    public void delete(final String name) {
+        this.origin.delete(name);
+    }
+
+    @Override
+    public void create(final String repo, final String name)
+        throws IOException {
+        this.origin.create(repo, name);
+    }
+
+    @Override
+    public Iterable<Talk> active() {
+        return new Filtered<>(
+            talk -> this.ring.owner(talk.name()).equals(this.node),
+            this.origin.active()
+        );
+    }
+
+    @Override
+    public Iterable<Talk> recent() {
+        return this.origin.recent();
+    }
+
+    @Override
+    public Iterable<Talk> siblings(final String repo, final Date since) {
+        return this.origin.siblings(repo, since);
+    }
+
+    @Override
+    public Archive archive(final String name) {
+        return this.origin.archive(name);
+    }
+
+}
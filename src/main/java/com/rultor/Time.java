@@ -32,9 +32,11 @@ package com.rultor;
 import com.jcabi.aspects.Immutable;
 import java.text.ParseException;
 import java.util.Date;
+import java.util.TimeZone;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.apache.commons.lang3.time.DateFormatUtils;
+import org.apache.commons.lang3.time.FastDateFormat;
 
 /**
  * Date and time in ISO 8601.
@@ -104,14 +106,16 @@ public final class Time {
     }
 
     /**
-     * Parse text.
+     * Parse text, in UTC, as {@link #iso()} prints it.
      * @param date Date
      * @return Date
      */
     private static Date parse(final String date) {
         try {
-            return DateFormatUtils.ISO_8601_EXTENDED_DATETIME_FORMAT
-                .parse(date);
+            return FastDateFormat.getInstance(
+                DateFormatUtils.ISO_8601_EXTENDED_DATETIME_FORMAT.getPattern(),
+                TimeZone.getTimeZone("UTC")
+            ).parse(date);
         } catch (final ParseException ex) {
             throw new IllegalStateException(ex);
         }
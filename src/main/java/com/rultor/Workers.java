@@ -0,0 +1,198 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor;
+
+import com.jcabi.log.Logger;
+import io.sentry.Sentry;
+import java.io.Closeable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Workers, which run tasks of one cycle in parallel and wait
+ * for all of them until a single deadline.
+ *
+ * <p>A task that is not finished by the deadline is cancelled and
+ * reported as failed. Since a cancelled task may still be blocked
+ * in I/O that can't be interrupted (SSH, for example), the pool is
+ * replaced with a fresh one after such a cycle, and the task is not
+ * started again while its previous run is still alive.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@ToString(of = { "threads", "limit" })
+@EqualsAndHashCode(of = "pool")
+@SuppressWarnings("PMD.DoNotUseThreads")
+final class Workers implements Closeable {
+
+    /**
+     * How many tasks to run in parallel.
+     */
+    private final transient int threads;
+
+    /**
+     * How long all tasks of one cycle may take, in milliseconds.
+     */
+    private final transient long limit;
+
+    /**
+     * The pool.
+     */
+    private final transient AtomicReference<ExecutorService> pool;
+
+    /**
+     * Names of tasks running right now.
+     */
+    private final transient Set<String> running;
+
+    /**
+     * Ctor.
+     * @param total How many tasks to run in parallel
+     * @param msec How long all tasks of one cycle may take, in milliseconds
+     */
+    Workers(final int total, final long msec) {
+        this.threads = total;
+        this.limit = msec;
+        this.pool = new AtomicReference<>(
+            Executors.newFixedThreadPool(total)
+        );
+        this.running = ConcurrentHashMap.newKeySet();
+    }
+
+    @Override
+    public void close() {
+        this.pool.get().shutdownNow();
+    }
+
+    /**
+     * Run all tasks and wait for them.
+     * @param tasks Tasks, by names, each returning milliseconds spent,
+     *  or NULL if it was skipped
+     * @return Milliseconds spent by names of tasks, -1 if failed
+     */
+    public Map<String, Long> run(final Map<String, Callable<Long>> tasks) {
+        final ExecutorService exec = this.pool.get();
+        final Map<String, Future<Long>> futures = new LinkedHashMap<>(0);
+        for (final Map.Entry<String, Callable<Long>> ent : tasks.entrySet()) {
+            final String name = ent.getKey();
+            if (this.running.contains(name)) {
+                Logger.warn(
+                    this, "Task %s is still running since a previous cycle",
+                    name
+                );
+                continue;
+            }
+            futures.put(
+                name,
+                exec.submit(
+                    () -> {
+                        this.running.add(name);
+                        try {
+                            return ent.getValue().call();
+                        } finally {
+                            this.running.remove(name);
+                        }
+                    }
+                )
+            );
+        }
+        final long deadline = System.currentTimeMillis() + this.limit;
+        final Map<String, Long> spent = new LinkedHashMap<>(0);
+        boolean stuck = false;
+        for (final Map.Entry<String, Future<Long>> ent : futures.entrySet()) {
+            final Long msec = Workers.await(
+                ent.getKey(), ent.getValue(),
+                Math.max(0L, deadline - System.currentTimeMillis())
+            );
+            if (msec != null) {
+                spent.put(ent.getKey(), msec);
+            }
+            stuck |= ent.getValue().isCancelled();
+        }
+        if (stuck) {
+            this.pool.getAndSet(Executors.newFixedThreadPool(this.threads))
+                .shutdownNow();
+        }
+        return spent;
+    }
+
+    /**
+     * Wait for the task, without letting its failure or delay break
+     * the processing of other tasks.
+     * @param name Name of the task
+     * @param future The future
+     * @param msec How long to wait, in milliseconds
+     * @return Milliseconds spent, NULL if skipped, -1 if failed
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    private static Long await(final String name, final Future<Long> future,
+        final long msec) {
+        Long spent;
+        try {
+            spent = future.get(msec, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        } catch (final ExecutionException ex) {
+            Logger.error(
+                Workers.class, "Task %s failed: %[exception]s",
+                name, ex.getCause()
+            );
+            Sentry.captureException(ex.getCause());
+            spent = -1L;
+        } catch (final TimeoutException ex) {
+            future.cancel(true);
+            Logger.error(
+                Workers.class, "Task %s is not finished by the deadline",
+                name
+            );
+            Sentry.captureException(ex);
+            spent = -1L;
+        }
+        return spent;
+    }
+
+}
@@ -58,6 +58,7 @@ import com.rultor.agents.github.ReleaseBinaries;
 import com.rultor.agents.github.Reports;
 import com.rultor.agents.github.Stars;
 import com.rultor.agents.github.StartsTalks;
+import com.rultor.agents.github.Tails;
 import com.rultor.agents.github.Understands;
 import com.rultor.agents.github.UnlocksRepo;
 import com.rultor.agents.github.qtn.QnAlone;
@@ -94,9 +95,11 @@ import com.rultor.agents.shells.RemovesShell;
 import com.rultor.agents.twitter.OAuthTwitter;
 import com.rultor.agents.twitter.Tweets;
 import com.rultor.spi.Agent;
+import com.rultor.spi.Metrics;
 import com.rultor.spi.Profile;
 import com.rultor.spi.SuperAgent;
 import com.rultor.spi.Talk;
+import com.rultor.spi.Talks;
 import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 import lombok.EqualsAndHashCode;
@@ -117,7 +120,7 @@ import org.cactoos.text.UncheckedText;
  */
 @Immutable
 @ToString
-@EqualsAndHashCode(of = { "github", "sttc" })
+@EqualsAndHashCode(of = { "github", "sttc", "talks" })
 @SuppressWarnings("PMD.ExcessiveImports")
 public final class Agents {
 
@@ -136,6 +139,13 @@ public final class Agents {
      */
     private static final String LOGIN = "rultor";
 
+    /**
+     * Phases of a talk with a request, in any of them.
+     */
+    private static final Phase[] REQUESTED = {
+        Phase.REQUESTED, Phase.PREPARING, Phase.RUNNING, Phase.ENDED,
+    };
+
     /**
      * Github client.
      */
@@ -146,14 +156,46 @@ public final class Agents {
      */
     private final transient Sttc sttc;
 
+    /**
+     * Metrics.
+     */
+    private final transient Metrics metrics;
+
+    /**
+     * Talks, with their archives.
+     */
+    private final transient Talks talks;
+
+    /**
+     * Tails of issues, shared by all agents that post and read comments.
+     */
+    private final transient Tails tails;
+
     /**
      * Ctor.
      * @param ghub Github client
      * @param stc Sttc client
+     * @param tlks Talks, with their archives
      */
-    public Agents(final Github ghub, final Sttc stc) {
+    public Agents(final Github ghub, final Sttc stc, final Talks tlks) {
+        this(ghub, stc, tlks, Metrics.EMPTY);
+    }
+
+    /**
+     * Ctor.
+     * @param ghub Github client
+     * @param stc Sttc client
+     * @param tlks Talks, with their archives
+     * @param mtx Metrics
+     * @since 2.0
+     */
+    public Agents(final Github ghub, final Sttc stc, final Talks tlks,
+        final Metrics mtx) {
         this.github = ghub;
         this.sttc = stc;
+        this.talks = tlks;
+        this.metrics = mtx;
+        this.tails = new Tails();
     }
 
     /**
@@ -199,51 +241,72 @@ public final class Agents {
      * @return The agent
      * @throws IOException If fails
      */
-    @SuppressWarnings("PMD.ExcessiveMethodLength")
     public Agent agent(final Talk talk, final Profile profile)
         throws IOException {
+        return this.agent(talk, profile, tlk -> { });
+    }
+
+    /**
+     * Create it for a talk, with one more agent at the end, which
+     * sees the talk the way all other agents left it, before it's saved.
+     * @param talk Talk itself
+     * @param profile Profile
+     * @param last The agent to run at the end
+     * @return The agent
+     * @throws IOException If fails
+     */
+    @SuppressWarnings("PMD.ExcessiveMethodLength")
+    public Agent agent(final Talk talk, final Profile profile,
+        final Agent last) throws IOException {
         final Locks locks = this.sttc.locks();
         final Question question = new QnSince(
             // @checkstyle MagicNumber (1 line)
             49092213,
             new QnNotSelf(
                 new QnReferredTo(
-                    this.github.users().self().login(),
+                    this.tails.self(this.github),
+                    this.tails,
                     new QnReaction(
                         new QnParametrized(
                             new QnWithAuthor(
                                 new QnFollow(
                                     new QnFirstOf(
                                         new QnIfContains(
-                                            "config", new QnConfig(profile)
+                                            "config",
+                                            new QnConfig(profile, this.tails)
                                         ),
                                         new QnIfContains(
-                                            "status", new QnStatus(talk)
+                                            "status",
+                                            new QnStatus(talk, this.tails)
                                         ),
                                         new QnIfContains(
-                                            "version", new QnVersion()
+                                            "version", new QnVersion(this.tails)
                                         ),
                                         new QnIfContains(
-                                            "hello", new QnHello()
+                                            "hello", new QnHello(this.tails)
                                         ),
                                         new QnIfContains(
-                                            "ping", new QnHello()
+                                            "ping", new QnHello(this.tails)
                                         ),
                                         new QnIfContains(
                                             "stop",
                                             new QnAskedBy(
                                                 profile,
                                                 Agents.commanders("stop"),
-                                                new QnStop()
+                                                this.tails,
+                                                new QnStop(this.tails)
                                             )
                                         ),
                                         new QnIfCollaborator(
+                                            this.tails,
                                             new QnAlone(
                                                 talk, locks,
-                                                Agents.commands(profile)
+                                                Agents.commands(
+                                                    profile, this.tails
+                                                )
                                             )
                                         ),
-                                        new QnIamLost()
+                                        new QnIamLost(this.tails)
                                     )
                                 )
                             )
@@ -252,82 +315,148 @@ public final class Agents {
                 )
             )
         );
-        return new Agent.Iterative(
-            new SanitizesDaemon(),
-            new WipesDaemon(),
-            new DropsTalk(),
-            new Understands(
-                this.github,
-                new QnSafe(question)
+        final Agent chain = new Routing(
+            new Phased(
+                new SanitizesDaemon(),
+                Phase.PREPARING, Phase.RUNNING, Phase.ENDED
             ),
-            new StartsRequest(profile),
-            new RegistersShell(
-                profile,
-                Agents.HOST, Agents.PORT, Agents.LOGIN,
-                Agents.priv()
+            new Phased(new WipesDaemon(), Phase.ENDED),
+            new Phased(new DropsTalk(), Phase.values()),
+            new Phased(
+                new DurableAgent(
+                    new Understands(
+                        this.github, this.tails,
+                        new QnSafe(this.tails, question)
+                    )
+                ),
+                Phase.values()
             ),
-            // @checkstyle MagicNumber (1 line)
-            new DismountDaemon(TimeUnit.DAYS.toMinutes(5L)),
-            new DropsDaemon(TimeUnit.DAYS.toMinutes(1L)),
-            new MkdirDaemon(),
-            new TimedAgent(new StartsDaemon(profile)),
-            new KillsDaemon(TimeUnit.HOURS.toMinutes(2L)),
-            new TimedAgent(new StopsDaemon()),
-            new TimedAgent(new EndsDaemon()),
-            new EndsRequest(),
-            new SafeAgent(
-                new Tweets(
-                    this.github,
-                    new OAuthTwitter(
-                        Manifests.read("Rultor-TwitterKey"),
-                        Manifests.read("Rultor-TwitterSecret"),
-                        Manifests.read("Rultor-TwitterToken"),
-                        Manifests.read("Rultor-TwitterTokenSecret")
+            new Phased(new StartsRequest(profile), Phase.REQUESTED),
+            new Phased(
+                new RegistersShell(
+                    profile,
+                    Agents.HOST, Agents.PORT, Agents.LOGIN,
+                    Agents.priv()
+                ),
+                Phase.PREPARING, Phase.RUNNING, Phase.ENDED
+            ),
+            new Phased(
+                // @checkstyle MagicNumber (1 line)
+                new DismountDaemon(TimeUnit.DAYS.toMinutes(5L)),
+                Phase.RUNNING
+            ),
+            new Phased(
+                new DropsDaemon(TimeUnit.DAYS.toMinutes(1L)),
+                Phase.RUNNING
+            ),
+            new Phased(
+                new DurableAgent(new MkdirDaemon()),
+                Phase.PREPARING
+            ),
+            new Phased(
+                new DurableAgent(
+                    new TimedAgent(new StartsDaemon(profile))
+                ),
+                Phase.PREPARING
+            ),
+            new Phased(
+                new DurableAgent(
+                    new KillsDaemon(TimeUnit.HOURS.toMinutes(2L))
+                ),
+                Phase.RUNNING
+            ),
+            new Phased(
+                new DurableAgent(new TimedAgent(new StopsDaemon())),
+                Phase.RUNNING
+            ),
+            new Phased(new TimedAgent(new EndsDaemon()), Phase.RUNNING),
+            new Phased(new EndsRequest(), Phase.ENDED),
+            new Phased(
+                new DurableAgent(
+                    new SafeAgent(
+                        new Tweets(
+                            this.github,
+                            new OAuthTwitter(
+                                Manifests.read("Rultor-TwitterKey"),
+                                Manifests.read("Rultor-TwitterSecret"),
+                                Manifests.read("Rultor-TwitterToken"),
+                                Manifests.read("Rultor-TwitterTokenSecret")
+                            )
+                        )
                     )
-                )
+                ),
+                Agents.REQUESTED
+            ),
+            new Phased(
+                new DurableAgent(new CommentsTag(this.github, this.tails)),
+                Agents.REQUESTED
+            ),
+            new Phased(
+                new DurableAgent(new ReleaseBinaries(this.github, profile)),
+                Agents.REQUESTED
             ),
-            new CommentsTag(this.github),
-            new ReleaseBinaries(this.github, profile),
-            new Dephantomizes(this.github),
-            new Reports(this.github),
-            new RemovesShell(),
-            new ArchivesDaemon(
-                new ReRegion(
-                    new Region.Simple(
-                        Manifests.read("Rultor-S3Key"),
-                        Manifests.read("Rultor-S3Secret")
+            new Phased(new Dephantomizes(this.github), Agents.REQUESTED),
+            new Phased(
+                new DurableAgent(new Reports(this.github, this.tails)),
+                Agents.REQUESTED
+            ),
+            new Phased(new RemovesShell(), Phase.IDLE, Phase.REQUESTED),
+            new Phased(
+                new DurableAgent(
+                    new ArchivesDaemon(
+                        new ReRegion(
+                            new Region.Simple(
+                                Manifests.read("Rultor-S3Key"),
+                                Manifests.read("Rultor-S3Secret")
+                            )
+                        ).bucket(Manifests.read("Rultor-S3Bucket"))
                     )
-                ).bucket(Manifests.read("Rultor-S3Bucket"))
+                ),
+                Phase.ENDED
             ),
-            new Publishes(profile, this.github),
-            new SafeAgent(new Stars(this.github))
+            new Phased(new TrimsArchive(this.talks), Phase.values()),
+            new Phased(new Publishes(profile, this.github), Phase.values()),
+            new Phased(
+                new SafeAgent(new Stars(this.github)),
+                Phase.values()
+            )
+        );
+        return new TransactionalAgent(
+            new Agent.Iterative(chain, last), this.metrics
         );
     }
 
     /**
      * Handle main commands.
      * @param profile Profile to uuse
+     * @param tails Tails of issues
      * @return Array of questions.
      */
-    private static Question commands(final Profile profile) {
+    private static Question commands(final Profile profile,
+        final Tails tails) {
         return new QnByArchitect(
             profile,
             "/p/entry[@key='architect']/item/text()",
+            tails,
             new QnFirstOf(
                 new QnIfContains(
                     "unlock",
-                    new QnUnlock()
+                    new QnUnlock(tails)
                 ),
                 new QnIfContains(
                     "lock",
-                    new QnLock()
+                    new QnLock(tails)
                 ),
                 new QnIfContains(
                     "merge",
                     new QnAskedBy(
                         profile,
                         Agents.commanders("merge"),
-                        new QnIfPull(new QnIfUnlocked(new QnMerge()))
+                        tails,
+                        new QnIfPull(
+                            tails,
+                            new QnIfUnlocked(tails, new QnMerge(tails))
+                        )
                     )
                 ),
                 new QnIfContains(
@@ -335,7 +464,8 @@ public final class Agents {
                     new QnAskedBy(
                         profile,
                         Agents.commanders("deploy"),
-                        new QnDeploy()
+                        tails,
+                        new QnDeploy(tails)
                     )
                 ),
                 new QnIfContains(
@@ -343,7 +473,8 @@ public final class Agents {
                     new QnAskedBy(
                         profile,
                         Agents.commanders("release"),
-                        new QnRelease()
+                        tails,
+                        new QnRelease(tails)
                     )
                 )
             )
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.agents;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.jcabi.xml.XML;
+import java.util.concurrent.ExecutionException;
+import org.w3c.dom.Node;
+
+/**
+ * DOM of a talk, cloned only once per XML document.
+ *
+ * <p>{@link XML#node()} makes a deep copy of the document every time
+ * it is called. The talk returns the same {@link XML} until it is
+ * modified (see {@link TxTalk}), so all agents checking their
+ * preconditions and {@link Phase} share one copy of it, which
+ * nobody modifies.</p>
+ *
+ * <p>DOM is not thread-safe, even for reading, that's why each thread
+ * clones its own copy.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+final class Dom {
+
+    /**
+     * Nodes already cloned by each thread, by XML documents they were
+     * cloned from.
+     */
+    private static final ThreadLocal<Cache<XML, Node>> CLONED =
+        ThreadLocal.withInitial(
+            () -> CacheBuilder.newBuilder().weakKeys().build()
+        );
+
+    /**
+     * Utility class.
+     */
+    private Dom() {
+        // intentionally empty
+    }
+
+    /**
+     * Get a read-only node of the document.
+     * @param xml The document
+     * @return The node, which must not be modified
+     */
+    public static Node of(final XML xml) {
+        try {
+            return Dom.CLONED.get().get(xml, xml::node);
+        } catch (final ExecutionException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+}
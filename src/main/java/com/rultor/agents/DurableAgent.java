@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.agents;
+
+import com.rultor.spi.Agent;
+import com.rultor.spi.Talk;
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * Agent with side effects outside of the talk (SSH, GitHub, S3), which
+ * runs only after all modifications made before it are saved, and whose
+ * own modifications are saved right after it.
+ *
+ * <p>Inside {@link TransactionalAgent} modifications are kept in memory
+ * until the end of the run. If the process dies after a daemon is started
+ * or a comment is posted, but before the run ends, the talk wouldn't know
+ * about it. This decorator flushes them before the agent and once again
+ * after it, when the record of its side effect is in the talk, so the
+ * world outside never gets ahead of what the talk remembers.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+public final class DurableAgent implements Agent {
+
+    /**
+     * Agent.
+     */
+    private final transient Agent origin;
+
+    /**
+     * Ctor.
+     * @param agent Original agent
+     */
+    public DurableAgent(final Agent agent) {
+        this.origin = agent;
+    }
+
+    @Override
+    public void execute(final Talk talk) throws IOException {
+        DurableAgent.flush(talk);
+        try {
+            this.origin.execute(talk);
+        } finally {
+            DurableAgent.flush(talk);
+        }
+    }
+
+    /**
+     * Save pending modifications of the talk, if it keeps them.
+     * @param talk The talk
+     * @throws IOException If fails
+     */
+    private static void flush(final Talk talk) throws IOException {
+        if (talk instanceof Flushable) {
+            ((Flushable) talk).flush();
+        }
+    }
+}
@@ -29,10 +29,12 @@
  */
 package com.rultor.agents;
 
+import com.jcabi.xml.XML;
 import com.rultor.spi.SuperAgent;
 import com.rultor.spi.Talk;
 import com.rultor.spi.Talks;
 import java.io.IOException;
+import java.util.LinkedList;
 import java.util.List;
 import org.cactoos.iterable.Mapped;
 import org.cactoos.list.ListOf;
@@ -70,7 +72,7 @@ public final class IndexesRequests implements SuperAgent {
     private int index(final Talks talks) throws IOException {
         int index = 0;
         for (final Talk talk : talks.active()) {
-            final int idx = this.index(talk);
+            final int idx = this.index(talks, talk);
             if (idx > index) {
                 index = idx;
             }
@@ -80,20 +82,38 @@ public final class IndexesRequests implements SuperAgent {
 
     /**
      * Calculates maximal (existing) index value of a {@link Talk} object.
+     *
+     * <p>Old logs are moved out of the talk by {@link TrimsArchive},
+     * but the latest ones stay there, and they have the biggest indexes.
+     * The archive is read only when there are no logs left in the talk,
+     * and only until the first log with an index.</p>
+     *
+     * @param talks The {@link Talks} object
      * @param talk The {@link Talk} object
      * @return The maximal index value
      * @throws IOException if the content of the {@link Talk} object can't be
      *  read
      */
     @SuppressWarnings("PMD.AvoidCatchingThrowable")
-    private int index(final Talk talk) throws IOException {
-        final List<Number> indexes = new ListOf<>(
-            new Mapped<>(
-                NumberOf::new,
-                talk.read()
-                    .xpath("/talk/archive/log/@index|/talk/request/@index")
+    private int index(final Talks talks, final Talk talk) throws IOException {
+        final XML xml = talk.read();
+        final List<Number> indexes = new LinkedList<>(
+            new ListOf<>(
+                new Mapped<>(
+                    NumberOf::new,
+                    xml.xpath("/talk/archive/log/@index|/talk/request/@index")
+                )
             )
         );
+        if (xml.nodes("/talk/archive/log").isEmpty()) {
+            for (final XML log : talks.archive(talk.name()).logs()) {
+                final List<String> idx = log.xpath("@index");
+                if (!idx.isEmpty()) {
+                    indexes.add(new NumberOf(idx.get(0)));
+                    break;
+                }
+            }
+        }
         final int index;
         if (indexes.iterator().hasNext()) {
             index = new MaxOf(indexes).intValue();
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.agents;
+
+import com.jcabi.xml.XML;
+import org.w3c.dom.Node;
+
+/**
+ * Lifecycle phase of a talk.
+ *
+ * <p>Every talk is in exactly one phase at any moment, which is defined
+ * only by its request and its daemon. Agents that can't fire in the
+ * current phase of a talk are not even asked to check their
+ * preconditions, see {@link Routing}.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+public enum Phase {
+
+    /**
+     * No request and no daemon.
+     */
+    IDLE,
+
+    /**
+     * Request is pending, no daemon yet.
+     */
+    REQUESTED,
+
+    /**
+     * Daemon is being prepared, not started yet.
+     */
+    PREPARING,
+
+    /**
+     * Daemon is started and not ended yet.
+     */
+    RUNNING,
+
+    /**
+     * Daemon is ended, but not archived yet.
+     */
+    ENDED;
+
+    /**
+     * Classify the talk.
+     * @param xml The talk
+     * @return Its phase
+     */
+    public static Phase of(final XML xml) {
+        final Node node = Dom.of(xml);
+        final Phase phase;
+        if (new Xpath("/talk/daemon").matches(node)) {
+            if (!new Xpath("/talk/daemon[started]").matches(node)) {
+                phase = Phase.PREPARING;
+            } else if (new Xpath("/talk/daemon[ended]").matches(node)) {
+                phase = Phase.ENDED;
+            } else {
+                phase = Phase.RUNNING;
+            }
+        } else if (new Xpath("/talk/request").matches(node)) {
+            phase = Phase.REQUESTED;
+        } else {
+            phase = Phase.IDLE;
+        }
+        return phase;
+    }
+
+}
@@ -35,6 +35,7 @@ import com.jcabi.github.Github;
 import com.jcabi.github.Repo;
 import com.jcabi.xml.XML;
 import com.rultor.spi.Profile;
+import com.rultor.spi.Settings;
 import java.io.IOException;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
@@ -91,9 +92,7 @@ public final class Publishes extends AbstractAgent {
             pub = false;
         }
         try {
-            pub &= this.profile.read()
-                .nodes("/p/entry[@key='readers']/item")
-                .isEmpty();
+            pub &= Settings.of(this.profile).get("readers").items().isEmpty();
         } catch (final Profile.ConfigException ex) {
             pub = false;
         }
@@ -31,11 +31,11 @@ package com.rultor.agents;
 
 import com.jcabi.aspects.Immutable;
 import com.jcabi.immutable.Array;
-import com.jcabi.xml.XML;
 import com.rultor.spi.Talk;
 import java.io.IOException;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.w3c.dom.Node;
 
 /**
  * The agent is required for this talk?
@@ -69,10 +69,10 @@ public final class Required {
      * @throws IOException If fails
      */
     public boolean isIt(final Talk talk) throws IOException {
-        final XML xml = talk.read();
+        final Node node = Dom.of(talk.read());
         boolean good = true;
         for (final String xpath : this.xpaths) {
-            if (xml.nodes(xpath).isEmpty()) {
+            if (!new Xpath(xpath).matches(node)) {
                 good = false;
                 break;
             }
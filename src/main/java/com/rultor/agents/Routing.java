@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.agents;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.immutable.Array;
+import com.rultor.spi.Agent;
+import com.rultor.spi.Talk;
+import java.io.IOException;
+import java.util.Arrays;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Agents routed by the phase of a talk.
+ *
+ * <p>Works like {@link Agent.Iterative}, but runs only the agents that
+ * can fire in the current {@link Phase} of the talk. The phase is
+ * computed once, and then again only after an agent was executed,
+ * since it may have moved the talk further.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@Immutable
+@ToString
+@EqualsAndHashCode(of = "children")
+public final class Routing implements Agent {
+
+    /**
+     * Agents to run.
+     */
+    private final transient Array<Phased> children;
+
+    /**
+     * Ctor.
+     * @param list List of them
+     */
+    public Routing(final Phased... list) {
+        this(Arrays.asList(list));
+    }
+
+    /**
+     * Ctor.
+     * @param list List of them
+     */
+    public Routing(final Iterable<Phased> list) {
+        this.children = new Array<>(list);
+    }
+
+    @Override
+    public void execute(final Talk talk) throws IOException {
+        Phase phase = Phase.of(talk.read());
+        for (final Phased agent : this.children) {
+            if (agent.fits(phase)) {
+                agent.execute(talk);
+                phase = Phase.of(talk.read());
+            }
+        }
+    }
+
+}
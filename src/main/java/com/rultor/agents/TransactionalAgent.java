@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.agents;
+
+import com.rultor.spi.Agent;
+import com.rultor.spi.Metrics;
+import com.rultor.spi.Talk;
+import java.io.IOException;
+
+/**
+ * Agent that reads the talk only once, lets the encapsulated agent
+ * modify it in memory and then saves all modifications, validated,
+ * in one write.
+ *
+ * <p>Modifications are saved even if the encapsulated agent fails,
+ * in order not to lose what was already done by the agents that
+ * succeeded before it (for example, a daemon already started).
+ * Agents with side effects outside of the talk may save them earlier,
+ * see {@link DurableAgent}. If saving fails after the agent failed,
+ * the agent's exception is thrown, with the failure of saving
+ * suppressed in it.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+public final class TransactionalAgent implements Agent {
+
+    /**
+     * Agent.
+     */
+    private final transient Agent origin;
+
+    /**
+     * Metrics.
+     */
+    private final transient Metrics metrics;
+
+    /**
+     * Ctor.
+     * @param agent Original agent
+     */
+    public TransactionalAgent(final Agent agent) {
+        this(agent, Metrics.EMPTY);
+    }
+
+    /**
+     * Ctor.
+     * @param agent Original agent
+     * @param mtx Metrics
+     */
+    public TransactionalAgent(final Agent agent, final Metrics mtx) {
+        this.origin = agent;
+        this.metrics = mtx;
+    }
+
+    @Override
+    public void execute(final Talk talk) throws IOException {
+        final TxTalk txn = new TxTalk(talk, this.metrics);
+        try {
+            this.origin.execute(txn);
+            // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final IOException | RuntimeException ex) {
+            TransactionalAgent.commit(txn, ex);
+            throw ex;
+        }
+        txn.commit();
+    }
+
+    /**
+     * Save what was done before the agent failed.
+     * @param txn The transaction
+     * @param failure Failure of the agent
+     */
+    private static void commit(final TxTalk txn, final Exception failure) {
+        try {
+            txn.commit();
+            // @checkstyle IllegalCatchCheck (1 line)
+        } catch (final IOException | RuntimeException ex) {
+            failure.addSuppressed(ex);
+        }
+    }
+}
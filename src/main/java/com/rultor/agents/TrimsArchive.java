@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.agents;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.aspects.Tv;
+import com.jcabi.log.Logger;
+import com.jcabi.xml.XML;
+import com.rultor.spi.Talks;
+import java.io.IOException;
+import java.util.List;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.xembly.Directive;
+import org.xembly.Directives;
+
+/**
+ * Moves old build logs out of talks, into their archives.
+ *
+ * <p>Only the latest logs stay in {@code /talk/archive}, all others
+ * go to {@link Talks#archive(String)}. They are added there before
+ * they are removed from the talk, so nothing is lost if
+ * the process dies in the middle.</p>
+ *
+ * <p>It works in the chain of agents of the talk, which is already
+ * read, and only when there are too many logs in it.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@Immutable
+@ToString
+@EqualsAndHashCode(callSuper = false, of = "keep")
+public final class TrimsArchive extends AbstractAgent {
+
+    /**
+     * Talks, with their archives.
+     */
+    private final transient Talks talks;
+
+    /**
+     * How many latest logs to keep in the talk.
+     */
+    private final transient int keep;
+
+    /**
+     * Ctor.
+     * @param tlks Talks, with their archives
+     */
+    public TrimsArchive(final Talks tlks) {
+        this(tlks, Tv.TEN);
+    }
+
+    /**
+     * Ctor.
+     * @param tlks Talks, with their archives
+     * @param latest How many latest logs to keep in the talk
+     */
+    public TrimsArchive(final Talks tlks, final int latest) {
+        super(String.format("/talk/archive[count(log) > %d]", latest));
+        this.talks = tlks;
+        this.keep = latest;
+    }
+
+    @Override
+    public Iterable<Directive> process(final XML xml) throws IOException {
+        final String name = xml.xpath("/talk/@name").get(0);
+        final List<XML> logs = xml.nodes("/talk/archive/log");
+        final List<XML> old = logs.subList(0, logs.size() - this.keep);
+        this.talks.archive(name).add(old);
+        final Directives dirs = new Directives();
+        for (final XML log : old) {
+            dirs.xpath(
+                String.format(
+                    "/talk/archive/log[@id='%s']",
+                    log.xpath("@id").get(0)
+                )
+            ).remove();
+        }
+        Logger.info(this, "%d logs of %s archived", old.size(), name);
+        return dirs;
+    }
+
+}
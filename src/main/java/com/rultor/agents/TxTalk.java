@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.agents;
+
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import com.rultor.spi.Metrics;
+import com.rultor.spi.Talk;
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.ToString;
+import org.w3c.dom.Node;
+import org.xembly.Directive;
+import org.xembly.Directives;
+import org.xembly.ImpossibleModificationException;
+import org.xembly.Xembler;
+
+/**
+ * Talk that is read once from its origin and then modified only
+ * in memory, until {@link #commit()} is called.
+ *
+ * <p>Every modification merged in memory is counted in the
+ * {@code talk-writes-merged} metric, every write to the origin
+ * in {@code talk-writes-flushed}.</p>
+ *
+ * <p>The class is not thread-safe.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@ToString(of = "origin")
+final class TxTalk implements Talk, Flushable {
+
+    /**
+     * Origin talk.
+     */
+    private final transient Talk origin;
+
+    /**
+     * Current state of the XML, empty until it's read first time.
+     */
+    private final transient AtomicReference<XML> xml;
+
+    /**
+     * Directives not yet committed.
+     */
+    private final transient AtomicReference<Directives> pending;
+
+    /**
+     * Metrics.
+     */
+    private final transient Metrics metrics;
+
+    /**
+     * Ctor.
+     * @param talk Original talk
+     */
+    TxTalk(final Talk talk) {
+        this(talk, Metrics.EMPTY);
+    }
+
+    /**
+     * Ctor.
+     * @param talk Original talk
+     * @param mtx Metrics
+     */
+    TxTalk(final Talk talk, final Metrics mtx) {
+        this.origin = talk;
+        this.metrics = mtx;
+        this.xml = new AtomicReference<>();
+        this.pending = new AtomicReference<>(new Directives());
+    }
+
+    @Override
+    public Long number() throws IOException {
+        return this.origin.number();
+    }
+
+    @Override
+    public String name() throws IOException {
+        return this.origin.name();
+    }
+
+    @Override
+    public Date updated() throws IOException {
+        return this.origin.updated();
+    }
+
+    @Override
+    public XML read() throws IOException {
+        if (this.xml.get() == null) {
+            this.xml.set(this.origin.read());
+        }
+        return this.xml.get();
+    }
+
+    @Override
+    public void modify(final Iterable<Directive> dirs) throws IOException {
+        if (dirs.iterator().hasNext()) {
+            final XML before = this.read();
+            final Node node = before.node();
+            try {
+                new Xembler(dirs).apply(node);
+            } catch (final ImpossibleModificationException ex) {
+                throw new IllegalStateException(
+                    String.format(
+                        "failed to apply %s to %s", dirs, before
+                    ),
+                    ex
+                );
+            }
+            this.xml.set(new XMLDocument(node));
+            this.pending.get().append(dirs);
+            this.metrics.add("talk-writes-merged", 1L);
+        }
+    }
+
+    @Override
+    public void active(final boolean yes) throws IOException {
+        this.origin.active(yes);
+    }
+
+    /**
+     * Save all modifications made so far to the origin, in one go,
+     * if there were any.
+     * @throws IOException If fails
+     */
+    public void commit() throws IOException {
+        final Directives dirs = this.pending.getAndSet(new Directives());
+        if (dirs.iterator().hasNext()) {
+            this.origin.modify(dirs);
+            this.xml.set(null);
+            this.metrics.add("talk-writes-flushed", 1L);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.commit();
+    }
+
+}
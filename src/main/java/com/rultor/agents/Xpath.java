@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.agents;
+
+import com.jcabi.aspects.Immutable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.w3c.dom.Node;
+
+/**
+ * XPath expression, compiled only once and shared by all agents.
+ *
+ * <p>Compiled expressions are not thread-safe, that's why each thread
+ * gets its own copy of each of them.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@Immutable
+@ToString
+@EqualsAndHashCode(of = "expr")
+public final class Xpath {
+
+    /**
+     * All compiled expressions, by their text.
+     */
+    private static final ConcurrentMap<String, ThreadLocal<XPathExpression>>
+        COMPILED = new ConcurrentHashMap<>(0);
+
+    /**
+     * The expression.
+     */
+    private final transient String expr;
+
+    /**
+     * Ctor.
+     * @param text The expression
+     */
+    public Xpath(final String text) {
+        this.expr = text;
+    }
+
+    /**
+     * Does it match anything in this node?
+     * @param node The node
+     * @return TRUE if something matches
+     */
+    public boolean matches(final Node node) {
+        try {
+            return (Boolean) Xpath.COMPILED.computeIfAbsent(
+                this.expr, Xpath::compiled
+            ).get().evaluate(node, XPathConstants.BOOLEAN);
+        } catch (final XPathExpressionException ex) {
+            throw new IllegalArgumentException(
+                String.format("Invalid XPath: %s", this.expr), ex
+            );
+        }
+    }
+
+    /**
+     * Make a thread-local compiled expression.
+     * @param text The expression
+     * @return Compiled expressions, one per thread
+     */
+    private static ThreadLocal<XPathExpression> compiled(final String text) {
+        return ThreadLocal.withInitial(
+            () -> {
+                try {
+                    return XPathFactory.newInstance().newXPath().compile(text);
+                } catch (final XPathExpressionException ex) {
+                    throw new IllegalArgumentException(
+                        String.format("Can't compile XPath: %s", text), ex
+                    );
+                }
+            }
+        );
+    }
+
+}
@@ -59,6 +59,11 @@ import org.xembly.Xembler;
 @EqualsAndHashCode(callSuper = false)
 public final class DismountDaemon extends AbstractAgent {
 
+    /**
+     * Maximum minutes per build.
+     */
+    private final transient long max;
+
     /**
      * Ctor.
      */
@@ -74,17 +79,27 @@ public final class DismountDaemon extends AbstractAgent {
     public DismountDaemon(final long mins) {
         super(
             "/talk/daemon[started and not(code) and not(ended)]",
-            String.format(
-                // @checkstyle LineLength (1 line)
-                "/talk[(current-dateTime() - xs:dateTime(daemon/started)) div xs:dayTimeDuration('PT1M') > %d]",
-                mins
-            ),
             "/talk/shell[host and port and login and key]"
         );
+        this.max = mins;
     }
 
     @Override
     public Iterable<Directive> process(final XML xml) throws IOException {
+        final Directives dirs = new Directives();
+        if (new Age(xml).exceeds(this.max)) {
+            dirs.append(this.dismount(xml));
+        }
+        return dirs;
+    }
+
+    /**
+     * Mark the daemon as done, if its host is not reachable.
+     * @param xml Talk
+     * @return Directives
+     * @throws IOException If fails
+     */
+    private Iterable<Directive> dismount(final XML xml) throws IOException {
         final Directives dirs = new Directives();
         try {
             Logger.info(
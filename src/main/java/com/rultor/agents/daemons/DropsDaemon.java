@@ -57,6 +57,11 @@ import org.xembly.Xembler;
 @EqualsAndHashCode(callSuper = false)
 public final class DropsDaemon extends AbstractAgent {
 
+    /**
+     * Maximum minutes per build.
+     */
+    private final transient long max;
+
     /**
      * Ctor.
      */
@@ -72,17 +77,27 @@ public final class DropsDaemon extends AbstractAgent {
     public DropsDaemon(final long mins) {
         super(
             "/talk/daemon[started and not(code) and not(ended)]",
-            String.format(
-                // @checkstyle LineLength (1 line)
-                "/talk[(current-dateTime() - xs:dateTime(daemon/started)) div xs:dayTimeDuration('PT1M') > %d]",
-                mins
-            ),
             "/talk/shell[host and port and login and key]"
         );
+        this.max = mins;
     }
 
     @Override
     public Iterable<Directive> process(final XML xml) throws IOException {
+        final Directives dirs = new Directives();
+        if (new Age(xml).exceeds(this.max)) {
+            dirs.append(this.drop(xml));
+        }
+        return dirs;
+    }
+
+    /**
+     * Drop the daemon, if its container is gone.
+     * @param xml Talk
+     * @return Directives
+     * @throws IOException If fails
+     */
+    private Iterable<Directive> drop(final XML xml) throws IOException {
         final Shell shell = new TalkShells(xml).get();
         final String talk = xml.xpath("/talk/@name").get(0);
         final String container = new Container(talk).toString();
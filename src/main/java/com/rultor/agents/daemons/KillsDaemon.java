@@ -52,6 +52,11 @@ import org.xembly.Directives;
 @EqualsAndHashCode(callSuper = false)
 public final class KillsDaemon extends AbstractAgent {
 
+    /**
+     * Maximum minutes per build.
+     */
+    private final transient long max;
+
     /**
      * Ctor.
      */
@@ -66,22 +71,20 @@ public final class KillsDaemon extends AbstractAgent {
     public KillsDaemon(final long mins) {
         super(
             "/talk/daemon[started and not(code) and not(ended)]",
-            "/talk/daemon/dir",
-            String.format(
-                // @checkstyle LineLength (1 line)
-                "/talk[(current-dateTime() - xs:dateTime(daemon/started)) div xs:dayTimeDuration('PT1M') > %d]",
-                mins
-        )
+            "/talk/daemon/dir"
         );
+        this.max = mins;
     }
 
     @Override
     public Iterable<Directive> process(final XML xml) throws IOException {
-        Logger.info(
-            this, "daemon of %s killed due to delay, code=%d",
-            xml.xpath("/talk/@name").get(0),
-            new Script("kill.sh").exec(xml)
-        );
+        if (new Age(xml).exceeds(this.max)) {
+            Logger.info(
+                this, "daemon of %s killed due to delay, code=%d",
+                xml.xpath("/talk/@name").get(0),
+                new Script("kill.sh").exec(xml)
+            );
+        }
         return new Directives();
     }
 
@@ -44,12 +44,12 @@ import com.rultor.agents.shells.TalkShells;
 import com.rultor.profiles.ProfileDeprecations;
 import com.rultor.spi.Agent;
 import com.rultor.spi.Profile;
+import com.rultor.spi.Settings;
 import com.rultor.spi.Talk;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
-import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
@@ -237,10 +237,7 @@ public final class StartsDaemon implements Agent {
      */
     @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
     private void gpg(final Shell shell, final String dir) throws IOException {
-        final Collection<XML> entries = this.profile.read().nodes(
-            "/p/entry[@key='decrypt']/entry"
-        );
-        if (!entries.isEmpty()) {
+        if (!Settings.of(this.profile).decrypt().isEmpty()) {
             final String[] names = {"pubring.gpg", "secring.gpg"};
             for (final String name : names) {
                 shell.exec(
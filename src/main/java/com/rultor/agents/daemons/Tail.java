@@ -39,6 +39,7 @@ import com.jcabi.ssh.Shell;
 import com.jcabi.ssh.Ssh;
 import com.jcabi.xml.XML;
 import com.rultor.agents.shells.TalkShells;
+import com.rultor.spi.Archive;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
@@ -50,6 +51,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.AbstractMap;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
 import lombok.EqualsAndHashCode;
@@ -57,6 +59,8 @@ import lombok.ToString;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.input.NullInputStream;
 import org.apache.commons.lang3.StringUtils;
+import org.cactoos.iterable.Filtered;
+import org.cactoos.list.ListOf;
 
 /**
  * Tail daemon output.
@@ -67,7 +71,7 @@ import org.apache.commons.lang3.StringUtils;
  */
 @Immutable
 @ToString
-@EqualsAndHashCode(callSuper = false, of = { "xml", "hash" })
+@EqualsAndHashCode(callSuper = false, of = { "xml", "hash", "archive" })
 public final class Tail {
 
     /**
@@ -80,14 +84,31 @@ public final class Tail {
      */
     private final transient String hash;
 
+    /**
+     * Logs moved out of the talk.
+     */
+    private final transient Archive archive;
+
     /**
      * Ctor.
      * @param talk Talk
      * @param hsh Hash
      */
     public Tail(final XML talk, final String hsh) {
+        this(talk, hsh, Archive.EMPTY);
+    }
+
+    /**
+     * Ctor.
+     * @param talk Talk
+     * @param hsh Hash
+     * @param arc Logs moved out of the talk
+     * @since 2.0
+     */
+    public Tail(final XML talk, final String hsh, final Archive arc) {
         this.xml = talk;
         this.hash = hsh;
+        this.archive = arc;
     }
 
     /**
@@ -99,13 +120,6 @@ public final class Tail {
     public InputStream read() throws IOException {
         final Collection<Map.Entry<String, Tail.Connect>> connects =
             Arrays.asList(
-                new AbstractMap.SimpleEntry<>(
-                    String.format(
-                        "/talk/archive/log[@id='%s' and starts-with(.,'s3:')]",
-                        this.hash
-                    ),
-                    new Tail.S3Connect(this.xml, this.hash)
-                ),
                 new AbstractMap.SimpleEntry<>(
                     String.format(
                         "/talk[shell and daemon[@id='%s'] and daemon/dir]",
@@ -133,11 +147,16 @@ public final class Tail {
                 )
             );
         InputStream stream = null;
-        for (final Map.Entry<String, Tail.Connect> ent : connects) {
-            if (!this.xml.nodes(ent.getKey()).isEmpty()) {
-                stream = ent.getValue().read();
-                break;
+        final List<XML> logs = this.logs();
+        if (logs.isEmpty()) {
+            for (final Map.Entry<String, Tail.Connect> ent : connects) {
+                if (!this.xml.nodes(ent.getKey()).isEmpty()) {
+                    stream = ent.getValue().read();
+                    break;
+                }
             }
+        } else {
+            stream = new Tail.S3Connect(logs.get(0)).read();
         }
         if (stream == null) {
             throw new IllegalArgumentException("internal error");
@@ -145,6 +164,26 @@ public final class Tail {
         return stream;
     }
 
+    /**
+     * Logs in S3 with this hash, either in the talk or in the archive.
+     * @return Logs found, or an empty list
+     * @throws IOException If fails
+     */
+    private List<XML> logs() throws IOException {
+        List<XML> logs = this.xml.nodes(
+            String.format("/talk/archive/log[@id='%s']", this.hash)
+        );
+        if (logs.isEmpty()) {
+            logs = this.archive.find(this.hash);
+        }
+        return new ListOf<>(
+            new Filtered<>(
+                log -> log.xpath("text()").get(0).startsWith("s3:"),
+                logs
+            )
+        );
+    }
+
     /**
      * Connect to the log.
      */
@@ -164,32 +203,19 @@ public final class Tail {
     @Immutable
     private static final class S3Connect implements Tail.Connect {
         /**
-         * XML of the talk.
+         * XML of the log.
          */
-        private final transient XML xml;
-        /**
-         * Hash.
-         */
-        private final transient String hash;
+        private final transient XML log;
         /**
          * Ctor.
-         * @param talk Talk
-         * @param name Name of the archive
+         * @param xml The log, from the talk or from its archive
          */
-        private S3Connect(final XML talk, final String name) {
-            this.xml = talk;
-            this.hash = name;
+        private S3Connect(final XML xml) {
+            this.log = xml;
         }
         @Override
         public InputStream read() throws IOException {
-            final URI uri = URI.create(
-                this.xml.xpath(
-                    String.format(
-                        "/talk/archive/log[@id='%s']/text()",
-                        this.hash
-                    )
-                ).get(0)
-            );
+            final URI uri = URI.create(this.log.xpath("text()").get(0));
             final ByteArrayOutputStream baos = new ByteArrayOutputStream();
             Tail.S3Connect.bucket().ocket(uri.getPath().substring(1)).read(
                 baos
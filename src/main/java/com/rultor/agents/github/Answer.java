@@ -32,23 +32,17 @@ package com.rultor.agents.github;
 import com.jcabi.aspects.Immutable;
 import com.jcabi.aspects.Tv;
 import com.jcabi.github.Comment;
-import com.jcabi.github.Comment.Smart;
 import com.jcabi.github.Issue;
-import com.jcabi.github.Smarts;
 import com.jcabi.github.safe.SfComments;
 import com.jcabi.log.Logger;
 import java.io.IOException;
 import java.util.Collection;
-import java.util.Date;
-import java.util.List;
 import java.util.Locale;
 import java.util.TreeSet;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.apache.commons.lang3.StringUtils;
 import org.cactoos.iterable.Mapped;
-import org.cactoos.iterable.Reversed;
-import org.cactoos.list.ListOf;
 import org.cactoos.text.Joined;
 import org.cactoos.text.UncheckedText;
 import org.xembly.Xembler;
@@ -81,12 +75,19 @@ public final class Answer {
      */
     private final transient Comment.Smart comment;
 
+    /**
+     * Tails of issues.
+     */
+    private final transient Tails tails;
+
     /**
      * Ctor.
      * @param cmt Comment
+     * @param tls Tails of issues
      */
-    public Answer(final Comment.Smart cmt) {
+    public Answer(final Comment.Smart cmt, final Tails tls) {
         this.comment = cmt;
+        this.tails = tls;
     }
 
     /**
@@ -99,25 +100,18 @@ public final class Answer {
     public void post(final boolean success, final String msg,
         final Object... args) throws IOException {
         final Issue issue = this.comment.issue();
-        final List<Smart> comments = new ListOf<>(
-            new Reversed<>(
-                new Smarts<>(
-                    issue.comments().iterate(new Date(0L))
-                )
-            )
-        );
-        final String self = issue.repo().github().users().self().login();
-        int mine = 0;
-        for (final Comment.Smart cmt : comments) {
-            if (!cmt.author().login().equals(self)) {
-                break;
-            }
-            ++mine;
+        final String self = this.tails.self(issue.repo().github());
+        int mine = this.tails.mine(issue, self);
+        if (mine >= Answer.MAX) {
+            mine = this.tails.recount(issue, self);
         }
         if (mine < Answer.MAX) {
-            new SfComments(
-                issue.comments()
-            ).post(this.msg(success, Logger.format(msg, args)));
+            this.tails.posted(
+                issue,
+                new SfComments(
+                    issue.comments()
+                ).post(this.msg(success, Logger.format(msg, args))).number()
+            );
         } else {
             Logger.error(
                 this, "too many (%d) comments from %s already in %s#%d",
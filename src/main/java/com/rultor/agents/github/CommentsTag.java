@@ -75,16 +75,23 @@ public final class CommentsTag extends AbstractAgent {
      */
     private final transient Github github;
 
+    /**
+     * Tails of issues.
+     */
+    private final transient Tails tails;
+
     /**
      * Ctor.
      * @param ghub Github client
+     * @param tls Tails of issues
      */
-    public CommentsTag(final Github ghub) {
+    public CommentsTag(final Github ghub, final Tails tls) {
         super(
             "/talk/wire[github-repo and github-issue]",
             "/talk/request[@id and type='release' and success='true']"
         );
         this.github = ghub;
+        this.tails = tls;
     }
 
     @Override
@@ -102,11 +109,16 @@ public final class CommentsTag extends AbstractAgent {
                     rel.body(), issue.number(), home
                 )
             );
-            issue.comments().post(
-                String.format(
-                    CommentsTag.PHRASES.getString("CommentsTag.duplicate"),
-                    tag
-                )
+            this.tails.posted(
+                issue,
+                issue.comments().post(
+                    String.format(
+                        CommentsTag.PHRASES.getString(
+                            "CommentsTag.duplicate"
+                        ),
+                        tag
+                    )
+                ).number()
             );
             Logger.info(this, "duplicate tag %s commented", tag);
         } else {
@@ -70,16 +70,23 @@ public final class Reports extends AbstractAgent {
      */
     private final transient Github github;
 
+    /**
+     * Tails of issues.
+     */
+    private final transient Tails tails;
+
     /**
      * Ctor.
      * @param ghub Github client
+     * @param tls Tails of issues
      */
-    public Reports(final Github ghub) {
+    public Reports(final Github ghub, final Tails tls) {
         super(
             "/talk/wire[github-repo and github-issue]",
             "/talk/request[@id and success]"
         );
         this.github = ghub;
+        this.tails = tls;
     }
 
     @Override
@@ -118,7 +125,7 @@ public final class Reports extends AbstractAgent {
         if (!success) {
             message.append(Reports.tail(req));
         }
-        new Answer(comment).post(success, message.toString());
+        new Answer(comment, this.tails).post(success, message.toString());
         Logger.info(this, "issue #%d reported: %B", issue.number(), success);
         return new Directives()
             .xpath("/talk/request[success]")
@@ -0,0 +1,270 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.agents.github;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.jcabi.github.Comment;
+import com.jcabi.github.Github;
+import com.jcabi.github.Issue;
+import com.jcabi.github.Smarts;
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.cactoos.iterable.Reversed;
+import org.cactoos.list.ListOf;
+
+/**
+ * Tails of issues: how many comments in a row at the end of
+ * each issue are ours.
+ *
+ * <p>A tail is counted from all comments of the issue once in a while,
+ * and in between it is moved forward by our own posts and by comments
+ * that {@link Understands} sees. Only {@link #recount(Issue, String)}
+ * makes a new tail, since a comment seen alone tells nothing about
+ * the comments before it. The tail may only be behind a comment from
+ * somebody else, which makes the count bigger, never smaller, so it is
+ * safe for {@link Answer} to trust it when it allows to post, and to
+ * count again when it doesn't.</p>
+ *
+ * <p>One instance is made for the whole process, by {@link
+ * com.rultor.agents.Agents}, and is given to everybody who posts or reads
+ * comments. It also remembers our own login, which never changes.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@ToString(of = "max")
+@EqualsAndHashCode(of = "cache")
+public final class Tails {
+
+    /**
+     * How many issues to remember, by default.
+     */
+    private static final long MAX = 10_000L;
+
+    /**
+     * For how long a tail is trusted, in milliseconds.
+     */
+    private static final long TTL = TimeUnit.HOURS.toMillis(1L);
+
+    /**
+     * How many issues to remember.
+     */
+    private final transient long max;
+
+    /**
+     * Tails, by issues.
+     */
+    private final transient Cache<String, Tails.Tail> cache;
+
+    /**
+     * Our login, when known.
+     */
+    private final transient AtomicReference<String> login;
+
+    /**
+     * Ctor.
+     */
+    public Tails() {
+        this(Tails.MAX);
+    }
+
+    /**
+     * Ctor.
+     * @param total How many issues to remember
+     */
+    public Tails(final long total) {
+        this(total, Tails.TTL);
+    }
+
+    /**
+     * Ctor.
+     * @param total How many issues to remember
+     * @param msec For how long a tail is trusted, in milliseconds
+     */
+    public Tails(final long total, final long msec) {
+        this.max = total;
+        this.login = new AtomicReference<>();
+        this.cache = CacheBuilder.newBuilder()
+            .maximumSize(total)
+            .expireAfterWrite(msec, TimeUnit.MILLISECONDS)
+            .build();
+    }
+
+    /**
+     * Our login, asked from Github only once.
+     * @param github Github client
+     * @return Login
+     * @throws IOException If fails
+     */
+    public String self(final Github github) throws IOException {
+        String self = this.login.get();
+        if (self == null) {
+            self = github.users().self().login();
+            this.login.set(self);
+        }
+        return self;
+    }
+
+    /**
+     * How many comments in a row at the end of the issue are ours,
+     * counted only if it's not known yet.
+     * @param issue The issue
+     * @param self Our login
+     * @return How many
+     * @throws IOException If fails
+     */
+    public int mine(final Issue issue, final String self) throws IOException {
+        final Tails.Tail tail = this.cache.getIfPresent(Tails.key(issue));
+        final int mine;
+        if (tail == null) {
+            mine = this.recount(issue, self);
+        } else {
+            mine = tail.mine;
+        }
+        return mine;
+    }
+
+    /**
+     * Count all comments of the issue again.
+     * @param issue The issue
+     * @param self Our login
+     * @return How many comments in a row at its end are ours
+     * @throws IOException If fails
+     */
+    public int recount(final Issue issue, final String self)
+        throws IOException {
+        int last = 0;
+        int mine = 0;
+        for (final Comment.Smart cmt : new ListOf<>(
+            new Reversed<>(
+                new Smarts<Comment.Smart>(
+                    issue.comments().iterate(new Date(0L))
+                )
+            )
+        )) {
+            if (last == 0) {
+                last = cmt.number();
+            }
+            if (!cmt.author().login().equals(self)) {
+                break;
+            }
+            ++mine;
+        }
+        this.cache.put(Tails.key(issue), new Tails.Tail(last, mine));
+        return mine;
+    }
+
+    /**
+     * We posted a comment to the issue.
+     * @param issue The issue
+     * @param number Number of the comment
+     */
+    public void posted(final Issue issue, final int number) {
+        this.cache.asMap().computeIfPresent(
+            Tails.key(issue),
+            (key, tail) -> tail.next(number, true)
+        );
+    }
+
+    /**
+     * Somebody posted a comment to the issue, which moves its tail
+     * forward, if it's counted already.
+     * @param issue The issue
+     * @param number Number of the comment
+     * @param ours Is it ours?
+     */
+    public void seen(final Issue issue, final int number,
+        final boolean ours) {
+        this.cache.asMap().computeIfPresent(
+            Tails.key(issue),
+            (key, tail) -> tail.next(number, ours)
+        );
+    }
+
+    /**
+     * Key of the issue.
+     * @param issue The issue
+     * @return Key
+     */
+    private static String key(final Issue issue) {
+        return String.format(
+            "%s#%d", issue.repo().coordinates(), issue.number()
+        );
+    }
+
+    /**
+     * Tail of an issue.
+     */
+    private static final class Tail {
+        /**
+         * Number of the last comment.
+         */
+        private final int last;
+        /**
+         * How many comments in a row at the end are ours.
+         */
+        private final int mine;
+        /**
+         * Ctor.
+         * @param num Number of the last comment
+         * @param count How many comments in a row at the end are ours
+         */
+        Tail(final int num, final int count) {
+            this.last = num;
+            this.mine = count;
+        }
+        /**
+         * Move it forward, if the comment is newer.
+         * @param number Number of the comment
+         * @param ours Is it ours?
+         * @return New tail
+         */
+        Tails.Tail next(final int number, final boolean ours) {
+            final Tails.Tail tail;
+            if (number <= this.last) {
+                tail = this;
+            } else if (ours) {
+                tail = new Tails.Tail(number, this.mine + 1);
+            } else {
+                tail = new Tails.Tail(number, 0);
+            }
+            return tail;
+        }
+    }
+
+}
@@ -37,14 +37,17 @@ import com.jcabi.github.Issue;
 import com.jcabi.github.Smarts;
 import com.jcabi.log.Logger;
 import com.jcabi.xml.XML;
+import com.rultor.Time;
 import com.rultor.agents.AbstractAgent;
 import com.rultor.agents.daemons.Home;
 import com.rultor.spi.Profile;
 import java.io.IOException;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.Date;
 import java.util.Iterator;
 import java.util.ResourceBundle;
+import javax.json.JsonObject;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.apache.commons.lang3.exception.ExceptionUtils;
@@ -84,6 +87,11 @@ public final class Understands extends AbstractAgent {
      */
     private final transient Github github;
 
+    /**
+     * Tails of issues.
+     */
+    private final transient Tails tails;
+
     /**
      * Question.
      */
@@ -92,14 +100,17 @@ public final class Understands extends AbstractAgent {
     /**
      * Ctor.
      * @param ghub Github client
+     * @param tls Tails of issues
      * @param qtn Question
      */
-    public Understands(final Github ghub, final Question qtn) {
+    public Understands(final Github ghub, final Tails tls,
+        final Question qtn) {
         super(
             "/talk[@later='true']",
             "/talk/wire[github-repo and github-issue]"
         );
         this.github = ghub;
+        this.tails = tls;
         this.question = qtn;
     }
 
@@ -112,18 +123,26 @@ public final class Understands extends AbstractAgent {
             new Smarts<Comment.Smart>(
                 new Joined<Comment>(
                     Collections.singleton(new FirstComment(issue)),
-                    new Bulk<>(issue.comments().iterate(new Date(0L)))
+                    new Bulk<>(issue.comments().iterate(Understands.since(xml)))
                 )
             ).iterator()
         );
+        final String self = this.tails.self(this.github);
         final int seen = Understands.seen(xml);
         int next = seen;
+        String stamp = "";
         int fresh = 0;
         int total = 0;
         Req req = Req.EMPTY;
         while (comments.hasNext()) {
             final Comment.Smart comment = comments.next();
             ++total;
+            if (!Understands.created(comment).isEmpty()) {
+                this.tails.seen(
+                    issue, comment.number(),
+                    comment.author().login().equals(self)
+                );
+            }
             if (comment.number() <= seen) {
                 continue;
             }
@@ -133,6 +152,7 @@ public final class Understands extends AbstractAgent {
                 break;
             }
             next = comment.number();
+            stamp = Understands.created(comment);
             if (!req.equals(Req.EMPTY)) {
                 break;
             }
@@ -178,6 +198,11 @@ public final class Understands extends AbstractAgent {
             dirs.xpath("/talk/wire")
                 .addIf("github-seen")
                 .set(Integer.toString(next));
+            if (!stamp.isEmpty()) {
+                dirs.xpath("/talk/wire")
+                    .addIf("github-seen-at")
+                    .set(stamp);
+            }
         }
         return dirs.xpath("/talk")
             .attr("later", Boolean.toString(!req.equals(Req.EMPTY)));
@@ -199,7 +224,7 @@ public final class Understands extends AbstractAgent {
                 new Home(xml, Integer.toString(comment.number())).uri()
             );
         } catch (final Profile.ConfigException ex) {
-            new Answer(comment).post(
+            new Answer(comment, this.tails).post(
                 false,
                 String.format(
                     Understands.PHRASES.getString("Understands.broken-profile"),
@@ -211,6 +236,44 @@ public final class Understands extends AbstractAgent {
         return req;
     }
 
+    /**
+     * Since when to fetch comments, which is the time the last seen
+     * comment was created: older ones were seen already.
+     * @param xml XML
+     * @return Time
+     */
+    private static Date since(final XML xml) {
+        final Date since;
+        if (xml.nodes("/talk/wire/github-seen-at").isEmpty()) {
+            since = new Date(0L);
+        } else {
+            since = Date.from(
+                Instant.parse(
+                    xml.xpath("/talk/wire/github-seen-at/text()").get(0)
+                )
+            );
+        }
+        return since;
+    }
+
+    /**
+     * When the comment was created.
+     * @param comment The comment
+     * @return ISO 8601 time, empty if unknown, like for the issue body
+     * @throws IOException If fails
+     */
+    private static String created(final Comment.Smart comment)
+        throws IOException {
+        final JsonObject json = comment.json();
+        final String time;
+        if (json.containsKey("created_at")) {
+            time = new Time(comment.createdAt()).iso();
+        } else {
+            time = "";
+        }
+        return time;
+    }
+
     /**
      * Last seen message.
      * @param xml XML
@@ -32,11 +32,12 @@ package com.rultor.agents.github.qtn;
 import com.jcabi.aspects.Immutable;
 import com.jcabi.github.Comment;
 import com.jcabi.github.Repo;
-import com.jcabi.xml.XML;
 import com.rultor.agents.github.Answer;
 import com.rultor.agents.github.Question;
 import com.rultor.agents.github.Req;
+import com.rultor.agents.github.Tails;
 import com.rultor.spi.Profile;
+import com.rultor.spi.Settings;
 import java.io.IOException;
 import java.net.URI;
 import java.util.Collection;
@@ -81,16 +82,24 @@ public final class QnAskedBy implements Question {
      */
     private final transient Question origin;
 
+    /**
+     * Tails of issues.
+     */
+    private final transient Tails tails;
+
     /**
      * Ctor.
      * @param prof Profile
      * @param path XPath in profile with a list of logins
+     * @param tls Tails of issues
      * @param qtn Original question
+     * @checkstyle ParameterNumberCheck (3 lines)
      */
     public QnAskedBy(final Profile prof, final String path,
-        final Question qtn) {
+        final Tails tls, final Question qtn) {
         this.profile = prof;
         this.xpath = path;
+        this.tails = tls;
         this.origin = qtn;
     }
 
@@ -104,7 +113,7 @@ public final class QnAskedBy implements Question {
         if (logins.isEmpty() || logins.contains(comment.author().login())) {
             req = this.origin.understand(comment, home);
         } else {
-            new Answer(comment).post(
+            new Answer(comment, this.tails).post(
                 false,
                 String.format(
                     QnAskedBy.PHRASES.getString("QnAskedBy.denied"),
@@ -147,10 +156,9 @@ public final class QnAskedBy implements Question {
      */
     private Collection<String> commanders(final Repo repo) throws IOException {
         final Collection<String> logins = new LinkedList<>();
-        final XML xml = this.profile.read();
         logins.addAll(new Crew(repo).names());
-        logins.addAll(xml.xpath(this.xpath));
-        logins.addAll(xml.xpath("/p/entry[@key='architect']/item/text()"));
+        logins.addAll(this.profile.read().xpath(this.xpath));
+        logins.addAll(Settings.of(this.profile).architects());
         return logins;
     }
 
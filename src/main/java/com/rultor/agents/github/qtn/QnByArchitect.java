@@ -35,6 +35,7 @@ import com.jcabi.github.Repo;
 import com.rultor.agents.github.Answer;
 import com.rultor.agents.github.Question;
 import com.rultor.agents.github.Req;
+import com.rultor.agents.github.Tails;
 import com.rultor.spi.Profile;
 import java.io.IOException;
 import java.net.URI;
@@ -83,16 +84,24 @@ public final class QnByArchitect implements Question {
      */
     private final transient Question origin;
 
+    /**
+     * Tails of issues.
+     */
+    private final transient Tails tails;
+
     /**
      * Ctor.
      * @param prof Profile
      * @param path XPath in profile with a list of logins
+     * @param tls Tails of issues
      * @param qtn Original question
+     * @checkstyle ParameterNumberCheck (3 lines)
      */
     public QnByArchitect(final Profile prof, final String path,
-        final Question qtn) {
+        final Tails tls, final Question qtn) {
         this.profile = prof;
         this.xpath = path;
+        this.tails = tls;
         this.origin = qtn;
     }
 
@@ -115,7 +124,7 @@ public final class QnByArchitect implements Question {
             if (QnByArchitect.allowed(comment.issue().repo(), author)) {
                 req = this.origin.understand(comment, home);
             } else {
-                new Answer(comment).post(
+                new Answer(comment, this.tails).post(
                     true,
                     QnByArchitect.PHRASES.getString(
                         "QnByArchitect.read-only"
@@ -124,7 +133,7 @@ public final class QnByArchitect implements Question {
                 req = Req.DONE;
             }
         } else {
-            new Answer(comment).post(
+            new Answer(comment, this.tails).post(
                 true,
                 String.format(
                     QnByArchitect.PHRASES.getString("QnByArchitect.denied"),
@@ -35,6 +35,7 @@ import com.jcabi.log.Logger;
 import com.rultor.agents.github.Answer;
 import com.rultor.agents.github.Question;
 import com.rultor.agents.github.Req;
+import com.rultor.agents.github.Tails;
 import com.rultor.spi.Profile;
 import java.io.IOException;
 import java.net.URI;
@@ -65,18 +66,25 @@ public final class QnConfig implements Question {
      */
     private final transient Profile profile;
 
+    /**
+     * Tails of issues.
+     */
+    private final transient Tails tails;
+
     /**
      * Ctor.
      * @param prof Profile
+     * @param tls Tails of issues
      */
-    public QnConfig(final Profile prof) {
+    public QnConfig(final Profile prof, final Tails tls) {
         this.profile = prof;
+        this.tails = tls;
     }
 
     @Override
     public Req understand(final Comment.Smart comment,
         final URI home) throws IOException {
-        new Answer(comment).post(
+        new Answer(comment, this.tails).post(
             true,
             String.format(
                 QnConfig.PHRASES.getString("QnConfig.response"),
@@ -34,6 +34,7 @@ import com.jcabi.github.Comment;
 import com.rultor.agents.github.Answer;
 import com.rultor.agents.github.Question;
 import com.rultor.agents.github.Req;
+import com.rultor.agents.github.Tails;
 import java.io.IOException;
 import java.net.URI;
 import java.util.ResourceBundle;
@@ -58,10 +59,23 @@ public final class QnIamLost implements Question {
     private static final ResourceBundle PHRASES =
         ResourceBundle.getBundle("phrases");
 
+    /**
+     * Tails of issues.
+     */
+    private final transient Tails tails;
+
+    /**
+     * Ctor.
+     * @param tls Tails of issues
+     */
+    public QnIamLost(final Tails tls) {
+        this.tails = tls;
+    }
+
     @Override
     public Req understand(final Comment.Smart comment,
         final URI home) throws IOException {
-        new Answer(comment).post(
+        new Answer(comment, this.tails).post(
             true,
             QnIamLost.PHRASES.getString("QnIamLost.response")
         );
@@ -35,6 +35,7 @@ import com.jcabi.github.Repo;
 import com.rultor.agents.github.Answer;
 import com.rultor.agents.github.Question;
 import com.rultor.agents.github.Req;
+import com.rultor.agents.github.Tails;
 import java.io.IOException;
 import java.net.URI;
 import java.util.Collection;
@@ -65,11 +66,18 @@ public final class QnIfCollaborator implements Question {
      */
     private final transient Question origin;
 
+    /**
+     * Tails of issues.
+     */
+    private final transient Tails tails;
+
     /**
      * Ctor.
+     * @param tls Tails of issues
      * @param qtn Original question
      */
-    public QnIfCollaborator(final Question qtn) {
+    public QnIfCollaborator(final Tails tls, final Question qtn) {
+        this.tails = tls;
         this.origin = qtn;
     }
 
@@ -83,7 +91,7 @@ public final class QnIfCollaborator implements Question {
         if (crew.isEmpty() || crew.contains(self)) {
             req = this.origin.understand(comment, home);
         } else {
-            new Answer(comment).post(
+            new Answer(comment, this.tails).post(
                 false,
                 QnIfCollaborator.PHRASES.getString("QnIfCollaborator.denied")
             );
@@ -35,6 +35,7 @@ import com.jcabi.github.Issue;
 import com.rultor.agents.github.Answer;
 import com.rultor.agents.github.Question;
 import com.rultor.agents.github.Req;
+import com.rultor.agents.github.Tails;
 import java.io.IOException;
 import java.net.URI;
 import java.util.ResourceBundle;
@@ -64,11 +65,18 @@ public final class QnIfPull implements Question {
      */
     private final transient Question origin;
 
+    /**
+     * Tails of issues.
+     */
+    private final transient Tails tails;
+
     /**
      * Ctor.
+     * @param tls Tails of issues
      * @param qtn Original question
      */
-    public QnIfPull(final Question qtn) {
+    public QnIfPull(final Tails tls, final Question qtn) {
+        this.tails = tls;
         this.origin = qtn;
     }
 
@@ -80,7 +88,7 @@ public final class QnIfPull implements Question {
         if (issue.isPull()) {
             req = this.origin.understand(comment, home);
         } else {
-            new Answer(comment).post(
+            new Answer(comment, this.tails).post(
                 false,
                 QnIfPull.PHRASES.getString("QnIfPull.not-pull-request")
             );
@@ -37,6 +37,7 @@ import com.jcabi.github.Pull;
 import com.rultor.agents.github.Answer;
 import com.rultor.agents.github.Question;
 import com.rultor.agents.github.Req;
+import com.rultor.agents.github.Tails;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
@@ -80,11 +81,18 @@ public final class QnIfUnlocked implements Question {
      */
     private final transient Question origin;
 
+    /**
+     * Tails of issues.
+     */
+    private final transient Tails tails;
+
     /**
      * Ctor.
+     * @param tls Tails of issues
      * @param qtn Original question
      */
-    public QnIfUnlocked(final Question qtn) {
+    public QnIfUnlocked(final Tails tls, final Question qtn) {
+        this.tails = tls;
         this.origin = qtn;
     }
 
@@ -100,7 +108,7 @@ public final class QnIfUnlocked implements Question {
         if (guards.isEmpty() || guards.contains(comment.author().login())) {
             req = this.origin.understand(comment, home);
         } else {
-            new Answer(comment).post(
+            new Answer(comment, this.tails).post(
                 false,
                 QnIfUnlocked.PHRASES.getString("QnIfUnlocked.denied"),
                 branch,
@@ -38,6 +38,7 @@ import com.jcabi.xml.XMLDocument;
 import com.rultor.agents.github.Answer;
 import com.rultor.agents.github.Question;
 import com.rultor.agents.github.Req;
+import com.rultor.agents.github.Tails;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
@@ -82,6 +83,19 @@ public final class QnLock implements Question {
     private static final ResourceBundle PHRASES =
         ResourceBundle.getBundle("phrases");
 
+    /**
+     * Tails of issues.
+     */
+    private final transient Tails tails;
+
+    /**
+     * Ctor.
+     * @param tls Tails of issues
+     */
+    public QnLock(final Tails tls) {
+        this.tails = tls;
+    }
+
     @Override
     public Req understand(final Comment.Smart comment,
         final URI home) throws IOException {
@@ -113,7 +127,7 @@ public final class QnLock implements Question {
         }
         final Contents contents = comment.issue().repo().contents();
         if (contents.exists(QnLock.PATH, branch)) {
-            new Answer(comment).post(
+            new Answer(comment, this.tails).post(
                 false,
                 String.format(
                     QnLock.PHRASES.getString("QnLock.already-exists"),
@@ -147,7 +161,7 @@ public final class QnLock implements Question {
                     .add("branch", branch)
                     .build()
             );
-            new Answer(comment).post(
+            new Answer(comment, this.tails).post(
                 true,
                 String.format(
                     QnLock.PHRASES.getString("QnLock.response"),
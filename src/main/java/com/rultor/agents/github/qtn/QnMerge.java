@@ -38,6 +38,7 @@ import com.jcabi.log.Logger;
 import com.rultor.agents.github.Answer;
 import com.rultor.agents.github.Question;
 import com.rultor.agents.github.Req;
+import com.rultor.agents.github.Tails;
 import java.io.IOException;
 import java.net.URI;
 import java.util.ResourceBundle;
@@ -65,13 +66,26 @@ public final class QnMerge implements Question {
     private static final ResourceBundle PHRASES =
         ResourceBundle.getBundle("phrases");
 
+    /**
+     * Tails of issues.
+     */
+    private final transient Tails tails;
+
+    /**
+     * Ctor.
+     * @param tls Tails of issues
+     */
+    public QnMerge(final Tails tls) {
+        this.tails = tls;
+    }
+
     @Override
     public Req understand(final Comment.Smart comment,
         final URI home) throws IOException {
         final Issue.Smart issue = new Issue.Smart(comment.issue());
         final Req req;
         if (issue.isPull() && issue.isOpen()) {
-            new Answer(comment).post(
+            new Answer(comment, this.tails).post(
                 true,
                 String.format(
                     QnMerge.PHRASES.getString("QnMerge.start"),
@@ -82,12 +96,12 @@ public final class QnMerge implements Question {
                 this, "merge request found in %s#%d, comment #%d",
                 issue.repo().coordinates(), issue.number(), comment.number()
             );
-            req = QnMerge.pack(
+            req = this.pack(
                 comment,
                 issue.repo().pulls().get(issue.number())
             );
         } else {
-            new Answer(comment).post(
+            new Answer(comment, this.tails).post(
                 false,
                 QnMerge.PHRASES.getString("QnMerge.already-closed")
             );
@@ -104,20 +118,20 @@ public final class QnMerge implements Question {
      * @throws IOException If fails
      */
     @SuppressWarnings("unchecked")
-    private static Req pack(final Comment.Smart comment,
+    private Req pack(final Comment.Smart comment,
         final Pull pull) throws IOException {
         final PullRef head = pull.head();
         final PullRef base = pull.base();
         final Req req;
         final String repo = "repo";
         if (head.json().isNull(repo)) {
-            new Answer(comment).post(
+            new Answer(comment, this.tails).post(
                 false,
                 QnMerge.PHRASES.getString("QnMerge.head-is-gone")
             );
             req = Req.EMPTY;
         } else if (base.json().isNull(repo)) {
-            new Answer(comment).post(
+            new Answer(comment, this.tails).post(
                 false,
                 QnMerge.PHRASES.getString("QnMerge.base-is-gone")
             );
@@ -35,6 +35,7 @@ import com.jcabi.log.Logger;
 import com.rultor.agents.github.Answer;
 import com.rultor.agents.github.Question;
 import com.rultor.agents.github.Req;
+import com.rultor.agents.github.Tails;
 import java.io.IOException;
 import java.net.URI;
 import java.util.ResourceBundle;
@@ -81,13 +82,21 @@ public final class QnReferredTo implements Question {
      */
     private final transient Question origin;
 
+    /**
+     * Tails of issues.
+     */
+    private final transient Tails tails;
+
     /**
      * Ctor.
      * @param self Self login
+     * @param tls Tails of issues
      * @param qtn Original question
      */
-    public QnReferredTo(final String self, final Question qtn) {
+    public QnReferredTo(final String self, final Tails tls,
+        final Question qtn) {
         this.login = self;
+        this.tails = tls;
         this.origin = qtn;
     }
 
@@ -103,7 +112,7 @@ public final class QnReferredTo implements Question {
             if (matcher.start(1) == 0) {
                 req = this.origin.understand(comment, home);
             } else {
-                new Answer(comment).post(
+                new Answer(comment, this.tails).post(
                     true,
                     String.format(
                         QnReferredTo.PHRASES.getString(
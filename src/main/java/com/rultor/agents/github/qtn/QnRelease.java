@@ -36,6 +36,7 @@ import com.jcabi.log.Logger;
 import com.rultor.agents.github.Answer;
 import com.rultor.agents.github.Question;
 import com.rultor.agents.github.Req;
+import com.rultor.agents.github.Tails;
 import java.io.IOException;
 import java.net.URI;
 import java.util.ResourceBundle;
@@ -69,6 +70,19 @@ public final class QnRelease implements Question {
     private static final ResourceBundle PHRASES =
         ResourceBundle.getBundle("phrases");
 
+    /**
+     * Tails of issues.
+     */
+    private final transient Tails tails;
+
+    /**
+     * Ctor.
+     * @param tls Tails of issues
+     */
+    public QnRelease(final Tails tls) {
+        this.tails = tls;
+    }
+
     @Override
     public Req understand(final Comment.Smart comment,
         final URI home) throws IOException {
@@ -84,9 +98,9 @@ public final class QnRelease implements Question {
             final String name = matcher.group(1);
             final ReleaseTag release = new ReleaseTag(issue.repo(), name);
             if (release.allowed()) {
-                req = QnRelease.affirmative(comment, home);
+                req = this.affirmative(comment, home);
             } else {
-                new Answer(comment).post(
+                new Answer(comment, this.tails).post(
                     false,
                     String.format(
                         QnRelease.PHRASES.getString("QnRelease.invalid-tag"),
@@ -97,7 +111,7 @@ public final class QnRelease implements Question {
                 req = Req.EMPTY;
             }
         } else {
-            req = QnRelease.affirmative(comment, home);
+            req = this.affirmative(comment, home);
         }
         return req;
     }
@@ -109,9 +123,9 @@ public final class QnRelease implements Question {
      * @return Req.Simple containing the release parameters
      * @throws IOException on error
      */
-    private static Req affirmative(final Comment.Smart comment,
+    private Req affirmative(final Comment.Smart comment,
         final URI home) throws IOException {
-        new Answer(comment).post(
+        new Answer(comment, this.tails).post(
             true,
             String.format(
                 QnRelease.PHRASES.getString("QnRelease.start"),
@@ -35,6 +35,7 @@ import com.jcabi.log.Logger;
 import com.rultor.agents.github.Answer;
 import com.rultor.agents.github.Question;
 import com.rultor.agents.github.Req;
+import com.rultor.agents.github.Tails;
 import java.io.IOException;
 import java.net.URI;
 import lombok.EqualsAndHashCode;
@@ -58,11 +59,18 @@ public final class QnSafe implements Question {
      */
     private final transient Question origin;
 
+    /**
+     * Tails of issues.
+     */
+    private final transient Tails tails;
+
     /**
      * Ctor.
+     * @param tls Tails of issues
      * @param qtn Original question
      */
-    public QnSafe(final Question qtn) {
+    public QnSafe(final Tails tls, final Question qtn) {
+        this.tails = tls;
         this.origin = qtn;
     }
 
@@ -75,7 +83,7 @@ public final class QnSafe implements Question {
                 req = this.origin.understand(comment, home);
                 // @checkstyle IllegalCatchCheck (1 line)
             } catch (final Throwable ex) {
-                new Answer(comment).post(
+                new Answer(comment, this.tails).post(
                     false, Logger.format(
                         "We failed, sorry, try again:\n\n```%[exception]s```",
                         ex
@@ -41,6 +41,7 @@ import com.jcabi.xml.XSLDocument;
 import com.rultor.agents.github.Answer;
 import com.rultor.agents.github.Question;
 import com.rultor.agents.github.Req;
+import com.rultor.agents.github.Tails;
 import com.rultor.agents.shells.TalkShells;
 import com.rultor.spi.Talk;
 import java.io.IOException;
@@ -84,12 +85,19 @@ public final class QnStatus implements Question {
      */
     private final transient Talk talk;
 
+    /**
+     * Tails of issues.
+     */
+    private final transient Tails tails;
+
     /**
      * Ctor.
      * @param tlk Talk
+     * @param tls Tails of issues
      */
-    public QnStatus(final Talk tlk) {
+    public QnStatus(final Talk tlk, final Tails tls) {
         this.talk = tlk;
+        this.tails = tls;
     }
 
     @Override
@@ -137,7 +145,7 @@ public final class QnStatus implements Question {
                 )
             );
         }
-        new Answer(comment).post(
+        new Answer(comment, this.tails).post(
             true,
             String.format(
                 QnStatus.PHRASES.getString("QnStatus.response"),
@@ -39,6 +39,7 @@ import com.jcabi.xml.XMLDocument;
 import com.rultor.agents.github.Answer;
 import com.rultor.agents.github.Question;
 import com.rultor.agents.github.Req;
+import com.rultor.agents.github.Tails;
 import java.io.IOException;
 import java.net.URI;
 import java.util.ResourceBundle;
@@ -72,6 +73,19 @@ public final class QnUnlock implements Question {
     private static final ResourceBundle PHRASES =
         ResourceBundle.getBundle("phrases");
 
+    /**
+     * Tails of issues.
+     */
+    private final transient Tails tails;
+
+    /**
+     * Ctor.
+     * @param tls Tails of issues
+     */
+    public QnUnlock(final Tails tls) {
+        this.tails = tls;
+    }
+
     @Override
     public Req understand(final Comment.Smart comment,
         final URI home) throws IOException {
@@ -105,7 +119,7 @@ public final class QnUnlock implements Question {
                     .add("branch", branch)
                     .build()
             );
-            new Answer(comment).post(
+            new Answer(comment, this.tails).post(
                 true,
                 String.format(
                     QnUnlock.PHRASES.getString("QnUnlock.response"),
@@ -113,7 +127,7 @@ public final class QnUnlock implements Question {
                 )
             );
         } else {
-            new Answer(comment).post(
+            new Answer(comment, this.tails).post(
                 false,
                 String.format(
                     QnUnlock.PHRASES.getString("QnUnlock.does-not-exist"),
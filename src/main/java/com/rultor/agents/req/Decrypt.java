@@ -32,11 +32,12 @@ package com.rultor.agents.req;
 import com.jcabi.aspects.Immutable;
 import com.jcabi.manifests.Manifests;
 import com.jcabi.ssh.Ssh;
-import com.jcabi.xml.XML;
 import com.rultor.spi.Profile;
+import com.rultor.spi.Settings;
 import java.io.IOException;
 import java.util.Collection;
 import java.util.LinkedList;
+import java.util.Map;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 
@@ -97,8 +98,8 @@ final class Decrypt {
      */
     @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
     public Iterable<String> commands() throws IOException {
-        final Collection<XML> assets =
-            this.profile.read().nodes("/p/entry[@key='decrypt']/entry");
+        final Map<String, Settings> assets =
+            Settings.of(this.profile).decrypt();
         final Collection<String> commands = new LinkedList<>();
         if (!assets.isEmpty()) {
             commands.add("gpgconf --reload gpg-agent");
@@ -124,8 +125,8 @@ final class Decrypt {
             commands.add("gpg --list-keys");
             commands.add("ls -al \"$(pwd)/.gnupg\"");
         }
-        for (final XML asset : assets) {
-            final String key = asset.xpath("@key").get(0);
+        for (final Map.Entry<String, Settings> asset : assets.entrySet()) {
+            final String key = asset.getKey();
             final String enc = String.format("%s.enc", key);
             commands.add(
                 String.join(
@@ -133,7 +134,7 @@ final class Decrypt {
                     "gpg --verbose",
                     String.format(
                         "--decrypt %s > %s",
-                        Ssh.escape(asset.xpath("./text()").get(0)),
+                        Ssh.escape(asset.getValue().text()),
                         Ssh.escape(enc)
                     )
                 )
@@ -30,10 +30,9 @@
 package com.rultor.agents.req;
 
 import com.jcabi.aspects.Immutable;
-import com.jcabi.xml.XML;
 import com.rultor.spi.Profile;
+import com.rultor.spi.Settings;
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
@@ -44,9 +43,7 @@ import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.apache.commons.lang3.StringUtils;
 import org.cactoos.iterable.Joined;
-import org.cactoos.iterable.Mapped;
 import org.cactoos.iterable.Sticky;
-import org.cactoos.list.ListOf;
 
 /**
  * Docker run command.
@@ -69,9 +66,9 @@ final class DockerRun {
     private final transient Profile profile;
 
     /**
-     * XML element inside ".rultor.yml" with the command.
+     * Section of ".rultor.yml" with the command.
      */
-    private final transient XML command;
+    private final transient Settings command;
 
     /**
      * Ctor.
@@ -80,17 +77,17 @@ final class DockerRun {
      * @throws IOException If fails
      */
     DockerRun(final Profile prof, final String xpath) throws IOException {
-        this(prof, prof.read().nodes(xpath).iterator().next());
+        this(prof, new Settings(prof.read().nodes(xpath).iterator().next()));
     }
 
     /**
      * Ctor.
      * @param prof Profile
-     * @param node XML element inside ".rultor.yml" with the command
+     * @param section Section of ".rultor.yml" with the command
      */
-    DockerRun(final Profile prof, final XML node) {
+    DockerRun(final Profile prof, final Settings section) {
         this.profile = prof;
-        this.command = node;
+        this.command = section;
     }
 
     /**
@@ -100,25 +97,22 @@ final class DockerRun {
      */
     @SuppressWarnings("unchecked")
     public Iterable<String> script() throws IOException {
+        final Settings settings = Settings.of(this.profile);
         final Iterable<String> trap;
-        if (this.profile.read().nodes("/p/entry[@key='uninstall']").isEmpty()) {
-            trap = Collections.emptyList();
-        } else {
+        if (settings.has("uninstall")) {
             trap = new Joined<>(
                 new Sticky<>("function", "clean_up()", "{"),
-                DockerRun.scripts(
-                    this.profile.read(), "/p/entry[@key='uninstall']"
-                ),
+                DockerRun.scripts(settings.get("uninstall").commands()),
                 new Sticky<>("}", ";"),
                 new Sticky<>("trap", "clean_up", "EXIT", ";")
             );
+        } else {
+            trap = Collections.emptyList();
         }
         return new Joined<>(
             trap,
-            DockerRun.scripts(
-                this.profile.read(), "/p/entry[@key='install']"
-            ),
-            DockerRun.scripts(this.command, "entry[@key='script']")
+            DockerRun.scripts(settings.get("install").commands()),
+            DockerRun.scripts(this.command.script())
         );
     }
 
@@ -140,32 +134,20 @@ final class DockerRun {
             );
         }
         return new Joined<>(
-            DockerRun.envs(this.profile.read(), "/p/entry[@key='env']"),
-            DockerRun.envs(this.command, "entry[@key='env']"),
+            Settings.of(this.profile).env(),
+            this.command.env(),
             new Sticky<>(entries)
         );
     }
 
     /**
-     * Get items from XML.
-     * @param xml The XML
-     * @param path The XPath
+     * Get script lines from commands.
+     * @param commands The commands
      * @return Items
      */
-    private static Iterable<String> scripts(final XML xml, final String path) {
-        final Collection<String> items = new LinkedList<>();
-        if (!xml.nodes(path).isEmpty()) {
-            final XML node = xml.nodes(path).get(0);
-            if (node.nodes("item").isEmpty()) {
-                items.addAll(DockerRun.lines(node));
-            } else {
-                for (final String cmd : node.xpath("item/text()")) {
-                    items.add(cmd.trim());
-                }
-            }
-        }
+    private static Iterable<String> scripts(final Iterable<String> commands) {
         final Collection<String> scripts = new LinkedList<>();
-        for (final String item : items) {
+        for (final String item : commands) {
             scripts.add(neutralize(item));
             scripts.add(";");
         }
@@ -204,64 +186,4 @@ final class DockerRun {
         return result;
     }
 
-    /**
-     * Environments from XML by XPath.
-     * @param xml The XML
-     * @param path The XPath
-     * @return Items
-     */
-    private static Iterable<String> envs(final XML xml, final String path) {
-        final Collection<String> envs = new LinkedList<>();
-        if (!xml.nodes(path).isEmpty()) {
-            final XML node = xml.nodes(path).get(0);
-            final Collection<String> parts;
-            if (node.nodes("item").iterator().hasNext()) {
-                parts = node.xpath("item/text()");
-            } else if (node.nodes("entry").iterator().hasNext()) {
-                parts = new LinkedList<>();
-                for (final XML env : node.nodes("./entry")) {
-                    parts.add(
-                        String.format(
-                            "%s=%s", env.xpath("@key").get(0),
-                            env.xpath("text()").get(0)
-                        )
-                    );
-                }
-            } else {
-                parts = DockerRun.lines(node);
-            }
-            envs.addAll(
-                new ListOf<>(
-                    new Mapped<>(
-                        input -> String.format("%s", input),
-                        parts
-                    )
-                )
-            );
-        }
-        return envs;
-    }
-
-    /**
-     * Get lines from a single XML node.
-     * @param node Node to get text() from
-     * @return Lines found
-     */
-    private static Collection<String> lines(final XML node) {
-        final Collection<String> lines = new LinkedList<>();
-        if (node.node().hasChildNodes()) {
-            lines.addAll(
-                new ListOf<>(
-                    new Mapped<>(
-                        String::trim,
-                        Arrays.asList(
-                            StringUtils.split(node.xpath("text()").get(0), '\n')
-                        )
-                    )
-                )
-            );
-        }
-        return lines;
-    }
-
 }
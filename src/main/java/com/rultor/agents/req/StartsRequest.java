@@ -36,6 +36,7 @@ import com.jcabi.xml.XML;
 import com.rultor.agents.AbstractAgent;
 import com.rultor.agents.daemons.Container;
 import com.rultor.spi.Profile;
+import com.rultor.spi.Settings;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Collection;
@@ -193,18 +194,16 @@ public final class StartsRequest extends AbstractAgent {
      * @throws IOException If fails
      */
     private String sensitive() throws IOException {
+        final Settings settings = Settings.of(this.profile);
         String script = "";
-        if (!this.profile.read().nodes("/p/entry[@key='release']").isEmpty()) {
+        if (settings.has("release")) {
             script = String.format(
                 "sensitive=(%s)\n",
                 String.join(
                     " ",
                     new Mapped<>(
                         Ssh::escape,
-                        this.profile.read().xpath(
-                            // @checkstyle LineLength (1 line)
-                            "/p/entry[@key='release']/entry[@key='sensitive']/item/text()"
-                        )
+                        settings.get("release", "sensitive").items()
                     )
                 )
             );
@@ -221,9 +220,7 @@ public final class StartsRequest extends AbstractAgent {
     private String asRoot() throws IOException {
         return String.format(
             "as_root=%b",
-            !this.profile.read().nodes(
-                "/p/entry[@key='docker']/entry[@key='as_root' and .='true']"
-            ).isEmpty()
+            Settings.of(this.profile).asRoot()
         );
     }
 
@@ -288,48 +285,40 @@ public final class StartsRequest extends AbstractAgent {
                 ).toString()
             )
         );
-        final Profile.Defaults def = new Profile.Defaults(this.profile);
+        final Settings settings = Settings.of(this.profile);
         entries.add(
             new MapEntry<>(
                 "image",
-                def.text(
-                    "/p/entry[@key='docker']/entry[@key='image']",
-                    "yegor256/rultor-image"
-                )
+                settings.image()
             )
         );
         entries.add(
             new MapEntry<>(
                 "directory",
-                def.text("/p/entry[@key='docker']/entry[@key='directory']")
+                settings.get("docker", "directory").text()
             )
         );
-        if (!this.profile.read().nodes("/p/entry[@key='merge']").isEmpty()) {
+        if (settings.has("merge")) {
+            final Settings merge = settings.get("merge");
             entries.add(
                 new MapEntry<>(
                     "squash",
-                    def.text(
-                        "/p/entry[@key='merge']/entry[@key='squash']",
-                        Boolean.FALSE.toString()
-                    ).toLowerCase(Locale.ENGLISH)
+                    merge.get("squash").text(Boolean.FALSE.toString())
+                        .toLowerCase(Locale.ENGLISH)
                 )
             );
             entries.add(
                 new MapEntry<>(
                     "ff",
-                    def.text(
-                        "/p/entry[@key='merge']/entry[@key='fast-forward']",
-                        "default"
-                    ).toLowerCase(Locale.ENGLISH)
+                    merge.get("fast-forward").text("default")
+                        .toLowerCase(Locale.ENGLISH)
                 )
             );
             entries.add(
                 new MapEntry<>(
                     "rebase",
-                    def.text(
-                        "/p/entry[@key='merge']/entry[@key='rebase']",
-                        Boolean.FALSE.toString()
-                    ).toLowerCase(Locale.ENGLISH)
+                    merge.get("rebase").text(Boolean.FALSE.toString())
+                        .toLowerCase(Locale.ENGLISH)
                 )
             );
         }
@@ -343,9 +332,8 @@ public final class StartsRequest extends AbstractAgent {
      * @throws IOException If fails
      */
     private DockerRun docker(final String type) throws IOException {
-        final String xpath = String.format("/p/entry[@key='%s']", type);
-        final Collection<XML> nodes = this.profile.read().nodes(xpath);
-        if (nodes.isEmpty()) {
+        final Settings settings = Settings.of(this.profile);
+        if (!settings.has(type)) {
             throw new Profile.ConfigException(
                 String.format(
                     "There is no '%s' section in .rultor.yml",
@@ -353,7 +341,7 @@ public final class StartsRequest extends AbstractAgent {
                 )
             );
         }
-        return new DockerRun(this.profile, nodes.iterator().next());
+        return new DockerRun(this.profile, settings.get(type));
     }
 
     /**
@@ -31,6 +31,7 @@ package com.rultor.agents.shells;
 
 import com.jcabi.aspects.Immutable;
 import com.rultor.spi.Profile;
+import com.rultor.spi.Settings;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
@@ -99,9 +100,7 @@ public final class PfShell {
      * @throws IOException If fails
      */
     public String host() throws IOException {
-        return new Profile.Defaults(this.profile).text(
-            "/p/entry[@key='ssh']/entry[@key='host']", this.addr
-        );
+        return Settings.of(this.profile).get("ssh", "host").text(this.addr);
     }
 
     /**
@@ -111,8 +110,7 @@ public final class PfShell {
      */
     public int port() throws IOException {
         return Integer.parseInt(
-            new Profile.Defaults(this.profile).text(
-                "/p/entry[@key='ssh']/entry[@key='port']",
+            Settings.of(this.profile).get("ssh", "port").text(
                 Integer.toString(this.prt)
             )
         );
@@ -124,9 +122,7 @@ public final class PfShell {
      * @throws IOException If fails
      */
     public String login() throws IOException {
-        return new Profile.Defaults(this.profile).text(
-            "/p/entry[@key='ssh']/entry[@key='login']", this.user
-        );
+        return Settings.of(this.profile).get("ssh", "login").text(this.user);
     }
 
     /**
@@ -135,9 +131,7 @@ public final class PfShell {
      * @throws IOException If fails
      */
     public String key() throws IOException {
-        final String path = new Profile.Defaults(this.profile).text(
-            "/p/entry[@key='ssh']/entry[@key='key']", ""
-        );
+        final String path = Settings.of(this.profile).get("ssh", "key").text();
         final String key;
         if (path.isEmpty()) {
             key = this.pvt;
@@ -149,10 +143,7 @@ public final class PfShell {
                 );
             }
             try {
-                key = IOUtils.toString(
-                    this.profile.assets().get(path),
-                    StandardCharsets.UTF_8
-                );
+                key = IOUtils.toString(asset, StandardCharsets.UTF_8);
             } catch (final IOException ex) {
                 throw new Profile.ConfigException(ex);
             }
@@ -29,12 +29,11 @@
  */
 package com.rultor.cached;
 
-import com.jcabi.aspects.Cacheable;
-import com.jcabi.aspects.Immutable;
 import com.jcabi.xml.XML;
 import com.rultor.spi.Talk;
 import java.io.IOException;
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicReference;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.xembly.Directive;
@@ -42,12 +41,15 @@ import org.xembly.Directive;
 /**
  * Cached talk.
  *
+ * <p>The XML is kept in {@link Xmls}, shared by all talks, and
+ * a modification of this talk forgets only its own XML. The name
+ * never changes, so it is remembered right here.</p>
+ *
  * @author Yegor Bugayenko (yegor256@gmail.com)
  * @version $Id$
  * @since 1.51
  */
-@Immutable
-@ToString
+@ToString(of = "origin")
 @EqualsAndHashCode(of = "origin")
 public final class CdTalk implements Talk {
     /**
@@ -55,46 +57,62 @@ public final class CdTalk implements Talk {
      */
     private final transient Talk origin;
 
+    /**
+     * XML documents of all talks.
+     */
+    private final transient Xmls xmls;
+
+    /**
+     * Name of the talk, when known.
+     */
+    private final transient AtomicReference<String> label;
+
     /**
      * Ctor.
      * @param talk Talks
+     * @param cache XML documents of all talks
      */
-    CdTalk(final Talk talk) {
+    CdTalk(final Talk talk, final Xmls cache) {
         this.origin = talk;
+        this.xmls = cache;
+        this.label = new AtomicReference<>();
     }
 
     @Override
-    @Cacheable
     public Long number() throws IOException {
         return this.origin.number();
     }
 
     @Override
-    @Cacheable
     public String name() throws IOException {
-        return this.origin.name();
+        String name = this.label.get();
+        if (name == null) {
+            name = this.origin.name();
+            this.label.set(name);
+        }
+        return name;
     }
 
     @Override
-    @Cacheable
     public Date updated() throws IOException {
         return this.origin.updated();
     }
 
     @Override
-    @Cacheable
     public XML read() throws IOException {
-        return this.origin.read();
+        return this.xmls.read(this.name(), this.origin);
     }
 
     @Override
-    @Cacheable.FlushBefore
     public void modify(final Iterable<Directive> dirs) throws IOException {
-        this.origin.modify(dirs);
+        try {
+            this.origin.modify(dirs);
+        } finally {
+            this.xmls.forget(this.name());
+        }
     }
 
     @Override
-    @Cacheable.FlushBefore
     public void active(final boolean yes) throws IOException {
         this.origin.active(yes);
     }
@@ -30,8 +30,9 @@
 package com.rultor.cached;
 
 import com.jcabi.aspects.Cacheable;
-import com.jcabi.aspects.Immutable;
 import com.jcabi.aspects.Tv;
+import com.rultor.spi.Archive;
+import com.rultor.spi.Metrics;
 import com.rultor.spi.Talk;
 import com.rultor.spi.Talks;
 import java.io.IOException;
@@ -44,13 +45,15 @@ import org.cactoos.iterable.Mapped;
 /**
  * Cached talks.
  *
+ * <p>XML documents of talks are cached in {@link Xmls}, one by one,
+ * which is not flushed when talks are created or deleted.</p>
+ *
  * @author Yegor Bugayenko (yegor256@gmail.com)
  * @version $Id$
  * @since 1.51
  * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
  */
-@Immutable
-@ToString
+@ToString(of = "origin")
 @EqualsAndHashCode(of = "origin")
 @SuppressWarnings("PMD.TooManyMethods")
 public final class CdTalks implements Talks {
@@ -60,12 +63,28 @@ public final class CdTalks implements Talks {
      */
     private final transient Talks origin;
 
+    /**
+     * XML documents of all talks.
+     */
+    private final transient Xmls xmls;
+
     /**
      * Public ctor.
      * @param talks Talks
      */
     public CdTalks(final Talks talks) {
+        this(talks, Metrics.EMPTY);
+    }
+
+    /**
+     * Public ctor.
+     * @param talks Talks
+     * @param metrics Metrics
+     * @since 2.0
+     */
+    public CdTalks(final Talks talks, final Metrics metrics) {
         this.origin = talks;
+        this.xmls = new Xmls(metrics);
     }
 
     @Override
@@ -77,7 +96,7 @@ public final class CdTalks implements Talks {
     @Override
     @Cacheable
     public Talk get(final long number) {
-        return this.origin.get(number);
+        return new CdTalk(this.origin.get(number), this.xmls);
     }
 
     @Override
@@ -89,13 +108,14 @@ public final class CdTalks implements Talks {
     @Override
     @Cacheable
     public Talk get(final String name) {
-        return this.origin.get(name);
+        return new CdTalk(this.origin.get(name), this.xmls);
     }
 
     @Override
     @Cacheable.FlushBefore
     public void delete(final String name) {
         this.origin.delete(name);
+        this.xmls.forget(name);
     }
 
     @Override
@@ -109,7 +129,7 @@ public final class CdTalks implements Talks {
     @Cacheable
     public Iterable<Talk> active() {
         return new Mapped<>(
-            CdTalk::new,
+            talk -> new CdTalk(talk, this.xmls),
             this.origin.active()
         );
     }
@@ -118,7 +138,7 @@ public final class CdTalks implements Talks {
     @Cacheable(lifetime = Tv.TWENTY, unit = TimeUnit.MINUTES)
     public Iterable<Talk> recent() {
         return new Mapped<>(
-            CdTalk::new,
+            talk -> new CdTalk(talk, this.xmls),
             this.origin.recent()
         );
     }
@@ -127,8 +147,13 @@ public final class CdTalks implements Talks {
     @Cacheable
     public Iterable<Talk> siblings(final String repo, final Date since) {
         return new Mapped<>(
-            CdTalk::new,
+            talk -> new CdTalk(talk, this.xmls),
             this.origin.siblings(repo, since)
         );
     }
+
+    @Override
+    public Archive archive(final String name) {
+        return this.origin.archive(name);
+    }
 }
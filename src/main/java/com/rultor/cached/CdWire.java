@@ -0,0 +1,501 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.cached;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import com.jcabi.http.request.DefaultResponse;
+import com.jcabi.immutable.Array;
+import com.rultor.spi.Metrics;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.cactoos.map.MapEntry;
+
+/**
+ * Wire that caches GET responses of GitHub.
+ *
+ * <p>A successful response is kept in memory for one minute, which
+ * is the length of a cycle of the routine, so the same resource
+ * requested by a few agents in the same cycle is fetched only once.
+ * Any other method forgets all responses of the same repository, both
+ * before and after it's sent, and a GET that was in flight meanwhile
+ * doesn't put its response back into memory.</p>
+ *
+ * <p>Besides that, every response with an ETag or Last-Modified header
+ * is stored on disk. When it's requested again, a conditional request
+ * is sent and 304 is answered by the stored response. GitHub doesn't
+ * count 304 against the rate limit. Only a limited number of the most
+ * recently used responses are kept on disk.</p>
+ *
+ * <p>Hits, revalidations and misses are counted in {@link Metrics}
+ * by families of endpoints, like "repos/issues" or "user".
+ * The class is thread-safe.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ * @checkstyle ParameterNumberCheck (500 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@ToString(of = "origin")
+@EqualsAndHashCode(of = "origin")
+public final class CdWire implements Wire {
+
+    /**
+     * For how long a response is kept in memory, in milliseconds.
+     */
+    private static final long CYCLE = TimeUnit.MINUTES.toMillis(1L);
+
+    /**
+     * Total size of responses in memory, in bytes (64M).
+     */
+    private static final long SIZE = 64L << 20;
+
+    /**
+     * How many responses to keep on disk.
+     */
+    private static final int FILES = 4096;
+
+    /**
+     * How many generations are shared by all repositories.
+     */
+    private static final int STRIPES = 1024;
+
+    /**
+     * Original wire.
+     */
+    private final transient Wire origin;
+
+    /**
+     * Directory with stored responses.
+     */
+    private final transient File dir;
+
+    /**
+     * Metrics.
+     */
+    private final transient Metrics metrics;
+
+    /**
+     * Responses of the current cycle, by URIs and media types.
+     */
+    private final transient Cache<String, Response> memo;
+
+    /**
+     * Generations of repositories, bumped when they are modified.
+     */
+    private final transient AtomicLongArray generations;
+
+    /**
+     * How many responses to keep on disk.
+     */
+    private final transient int max;
+
+    /**
+     * Ctor.
+     * @param wire Original wire
+     * @param home Directory with stored responses
+     * @param mtx Metrics
+     */
+    public CdWire(final Wire wire, final File home, final Metrics mtx) {
+        this(wire, home, mtx, CdWire.FILES);
+    }
+
+    /**
+     * Ctor.
+     * @param wire Original wire
+     * @param home Directory with stored responses
+     * @param mtx Metrics
+     * @param files How many responses to keep on disk
+     */
+    public CdWire(final Wire wire, final File home, final Metrics mtx,
+        final int files) {
+        this.origin = wire;
+        this.dir = home;
+        this.metrics = mtx;
+        this.max = files;
+        this.generations = new AtomicLongArray(CdWire.STRIPES);
+        this.memo = CacheBuilder.newBuilder()
+            .maximumWeight(CdWire.SIZE)
+            .<String, Response>weigher((key, rsp) -> rsp.binary().length)
+            .expireAfterWrite(CdWire.CYCLE, TimeUnit.MILLISECONDS)
+            .build();
+    }
+
+    @Override
+    public Response send(final Request req, final String home,
+        final String method,
+        final Collection<Map.Entry<String, String>> headers,
+        final InputStream content, final int connect, final int read)
+        throws IOException {
+        final Response response;
+        if (Request.GET.equals(method)) {
+            final String key = CdWire.key(home, headers);
+            final Response cached = this.memo.getIfPresent(key);
+            if (cached == null) {
+                final long generation = this.generation(home);
+                final Response fresh = this.fetch(
+                    req, home, key, headers, content, connect, read
+                );
+                if (fresh.status() == HttpURLConnection.HTTP_OK) {
+                    this.memo.asMap().compute(
+                        key,
+                        (ignored, before) -> {
+                            final Response after;
+                            if (this.generation(home) == generation) {
+                                after = fresh;
+                            } else {
+                                after = before;
+                            }
+                            return after;
+                        }
+                    );
+                }
+                response = fresh;
+            } else {
+                this.count("hits", home);
+                response = cached;
+            }
+        } else {
+            final String prefix = CdWire.repo(home);
+            this.forget(prefix);
+            try {
+                response = this.origin.send(
+                    req, home, method, headers, content, connect, read
+                );
+            } finally {
+                this.forget(prefix);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Forget all responses under the prefix.
+     * @param prefix URI prefix of the repository
+     */
+    private void forget(final String prefix) {
+        this.generations.incrementAndGet(CdWire.stripe(prefix));
+        this.memo.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    /**
+     * Generation of the resource, which changes when its repository
+     * or the entire API is modified.
+     * @param home URI
+     * @return Generation
+     */
+    private long generation(final String home) {
+        final URI uri = URI.create(home);
+        return this.generations.get(CdWire.stripe(CdWire.repo(home)))
+            + this.generations.get(
+                CdWire.stripe(
+                    String.format(
+                        "%s://%s", uri.getScheme(), uri.getRawAuthority()
+                    )
+                )
+            );
+    }
+
+    /**
+     * Fetch it from the origin, conditionally if it's stored.
+     * @param req Request
+     * @param home URI
+     * @param key Key of the response
+     * @param headers Headers
+     * @param content Content
+     * @param connect Connect timeout
+     * @param read Read timeout
+     * @return Response
+     * @throws IOException If fails
+     */
+    private Response fetch(final Request req, final String home,
+        final String key, final Collection<Map.Entry<String, String>> headers,
+        final InputStream content, final int connect, final int read)
+        throws IOException {
+        final File file = new File(this.dir, DigestUtils.sha256Hex(key));
+        final Response stored = CdWire.load(req, file);
+        final Collection<Map.Entry<String, String>> hdrs =
+            new LinkedList<>(headers);
+        if (stored != null) {
+            for (final String etag : CdWire.header(stored, "ETag")) {
+                hdrs.add(new MapEntry<>("If-None-Match", etag));
+            }
+            for (final String time : CdWire.header(stored, "Last-Modified")) {
+                hdrs.add(new MapEntry<>("If-Modified-Since", time));
+            }
+        }
+        final Response fresh = this.origin.send(
+            req, home, Request.GET, hdrs, content, connect, read
+        );
+        final Response response;
+        if (stored != null
+            && fresh.status() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+            this.count("revalidations", home);
+            file.setLastModified(System.currentTimeMillis());
+            response = stored;
+        } else {
+            this.count("misses", home);
+            if (fresh.status() == HttpURLConnection.HTTP_OK
+                && (!CdWire.header(fresh, "ETag").isEmpty()
+                || !CdWire.header(fresh, "Last-Modified").isEmpty())) {
+                this.save(file, fresh);
+            }
+            response = fresh;
+        }
+        return response;
+    }
+
+    /**
+     * Count it.
+     * @param kind Kind of the counter
+     * @param home URI
+     */
+    private void count(final String kind, final String home) {
+        this.metrics.add(
+            String.format("github-%s:%s", kind, CdWire.family(home)), 1L
+        );
+    }
+
+    /**
+     * Store the response on disk.
+     * @param file The file
+     * @param response The response
+     * @throws IOException If fails
+     */
+    private void save(final File file, final Response response)
+        throws IOException {
+        Files.createDirectories(this.dir.toPath());
+        final Path temp = Files.createTempFile(
+            this.dir.toPath(), "rsp", ".tmp"
+        );
+        try (DataOutputStream out = new DataOutputStream(
+            Files.newOutputStream(temp)
+        )) {
+            out.writeInt(response.status());
+            out.writeUTF(String.valueOf(response.reason()));
+            final Collection<Map.Entry<String, String>> headers =
+                new LinkedList<>();
+            for (final Map.Entry<String, List<String>> ent
+                : response.headers().entrySet()) {
+                if (ent.getKey() == null) {
+                    continue;
+                }
+                for (final String value : ent.getValue()) {
+                    headers.add(new MapEntry<>(ent.getKey(), value));
+                }
+            }
+            out.writeInt(headers.size());
+            for (final Map.Entry<String, String> ent : headers) {
+                out.writeUTF(ent.getKey());
+                out.writeUTF(ent.getValue());
+            }
+            final byte[] body = response.binary();
+            out.writeInt(body.length);
+            out.write(body);
+        }
+        Files.move(
+            temp, file.toPath(),
+            StandardCopyOption.ATOMIC_MOVE,
+            StandardCopyOption.REPLACE_EXISTING
+        );
+        this.trim();
+    }
+
+    /**
+     * Delete the least recently used responses, if there are too many.
+     */
+    private void trim() {
+        final File[] files = this.dir.listFiles(
+            file -> !file.getName().endsWith(".tmp")
+        );
+        if (files != null && files.length > this.max) {
+            Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+            for (int idx = 0; idx < files.length - this.max; ++idx) {
+                FileUtils.deleteQuietly(files[idx]);
+            }
+        }
+    }
+
+    /**
+     * Load the response from disk.
+     * @param req Request
+     * @param file The file
+     * @return Response or NULL if it's not stored
+     * @throws IOException If fails
+     */
+    private static Response load(final Request req, final File file)
+        throws IOException {
+        Response response = null;
+        if (file.exists()) {
+            try (DataInputStream in = new DataInputStream(
+                Files.newInputStream(file.toPath())
+            )) {
+                final int status = in.readInt();
+                final String reason = in.readUTF();
+                final int total = in.readInt();
+                final Collection<Map.Entry<String, String>> headers =
+                    new LinkedList<>();
+                for (int idx = 0; idx < total; ++idx) {
+                    headers.add(new MapEntry<>(in.readUTF(), in.readUTF()));
+                }
+                final byte[] body = new byte[in.readInt()];
+                in.readFully(body);
+                response = new DefaultResponse(
+                    req, status, reason, new Array<>(headers), body
+                );
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Values of a header, case-insensitive.
+     * @param response Response
+     * @param name Name of the header
+     * @return Values
+     */
+    private static Collection<String> header(final Response response,
+        final String name) {
+        final Collection<String> values = new LinkedList<>();
+        for (final Map.Entry<String, List<String>> ent
+            : response.headers().entrySet()) {
+            if (name.equalsIgnoreCase(ent.getKey())) {
+                values.addAll(ent.getValue());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Stripe of the prefix, in generations.
+     * @param prefix URI prefix
+     * @return Index of the stripe
+     */
+    private static int stripe(final String prefix) {
+        return Math.floorMod(prefix.hashCode(), CdWire.STRIPES);
+    }
+
+    /**
+     * Key of the response, by URI and media types accepted.
+     * @param home URI
+     * @param headers Headers of the request
+     * @return Key
+     */
+    private static String key(final String home,
+        final Collection<Map.Entry<String, String>> headers) {
+        final StringBuilder key = new StringBuilder(home);
+        for (final Map.Entry<String, String> ent : headers) {
+            if ("Accept".equalsIgnoreCase(ent.getKey())) {
+                key.append(' ').append(ent.getValue());
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * URI prefix of the repository of the resource, or of the
+     * entire API if it's not inside a repository.
+     * @param home URI
+     * @return Prefix
+     */
+    private static String repo(final String home) {
+        final URI uri = URI.create(home);
+        final String[] parts = CdWire.parts(uri);
+        final String path;
+        if (parts.length >= 3 && "repos".equals(parts[0])) {
+            path = String.format("/repos/%s/%s", parts[1], parts[2]);
+        } else {
+            path = "";
+        }
+        return String.format(
+            "%s://%s%s", uri.getScheme(), uri.getRawAuthority(), path
+        );
+    }
+
+    /**
+     * Family of the endpoint, like "repos/issues" or "user".
+     * @param home URI
+     * @return Family
+     */
+    private static String family(final String home) {
+        final String[] parts = CdWire.parts(URI.create(home));
+        final String family;
+        if (parts.length > 3 && "repos".equals(parts[0])) {
+            family = String.format("repos/%s", parts[3]);
+        } else if (parts.length > 0) {
+            family = parts[0];
+        } else {
+            family = "root";
+        }
+        return family.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Non-empty parts of the path.
+     * @param uri URI
+     * @return Parts
+     */
+    private static String[] parts(final URI uri) {
+        final String path = uri.getPath();
+        final String[] parts;
+        if (path == null || path.replace("/", "").isEmpty()) {
+            parts = new String[0];
+        } else {
+            parts = path.replaceAll("^/+", "").split("/+");
+        }
+        return parts;
+    }
+
+}
@@ -0,0 +1,234 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.cached;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.jcabi.xml.XML;
+import com.rultor.spi.Codec;
+import com.rultor.spi.Metrics;
+import com.rultor.spi.Talk;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * XML documents of talks in memory, by names of talks.
+ *
+ * <p>The cache is bounded by the total weight of the documents, which is
+ * the length of each of them in bytes, as {@link Codec} stores it. The
+ * length is found once, when the document is read, and every document
+ * lives in the cache for a limited time. A modification of a talk forgets only the document of this talk.
+ * A document read before the talk was forgotten is not put back, since
+ * every forget bumps the generation of the name. Hits, misses and
+ * evictions are counted in {@link Metrics}.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@ToString(of = "metrics")
+@EqualsAndHashCode(of = "cache")
+final class Xmls {
+
+    /**
+     * Default total weight of all documents, in encoded bytes: an eighth
+     * of the heap, since a DOM takes about thirty two times more memory
+     * than its encoded text.
+     */
+    private static final long WEIGHT =
+        Runtime.getRuntime().maxMemory() / 8L / 32L;
+
+    /**
+     * How many generations are shared by all names.
+     */
+    private static final int STRIPES = 1024;
+
+    /**
+     * Default lifetime of a document, in milliseconds.
+     */
+    private static final long TTL = TimeUnit.MINUTES.toMillis(1L);
+
+    /**
+     * Documents by names of talks.
+     */
+    private final transient Cache<String, Xmls.Weighed> cache;
+
+    /**
+     * Generations of names, bumped on every forget, by stripes.
+     */
+    private final transient AtomicLongArray generations;
+
+    /**
+     * Metrics.
+     */
+    private final transient Metrics metrics;
+
+    /**
+     * Codec, which finds the weight of a document.
+     */
+    private final transient Codec codec;
+
+    /**
+     * Ctor.
+     * @param mtx Metrics
+     */
+    Xmls(final Metrics mtx) {
+        this(mtx, Codec.DEFAULT, Xmls.WEIGHT, Xmls.TTL);
+    }
+
+    /**
+     * Ctor.
+     * @param mtx Metrics
+     * @param cdc Codec, which finds the weight of a document
+     * @param weight Total weight of all documents, in encoded bytes
+     * @param msec Lifetime of a document, in milliseconds
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    Xmls(final Metrics mtx, final Codec cdc, final long weight,
+        final long msec) {
+        this.metrics = mtx;
+        this.codec = cdc;
+        this.generations = new AtomicLongArray(Xmls.STRIPES);
+        this.cache = CacheBuilder.newBuilder()
+            .maximumWeight(weight)
+            .<String, Xmls.Weighed>weigher((name, doc) -> doc.weight())
+            .expireAfterWrite(msec, TimeUnit.MILLISECONDS)
+            .<String, Xmls.Weighed>removalListener(
+                note -> {
+                    if (note.wasEvicted()) {
+                        this.metrics.add("cache-evictions", 1L);
+                    }
+                }
+            )
+            .build();
+    }
+
+    /**
+     * Read the XML of the talk, from memory if possible.
+     * @param name Name of the talk
+     * @param talk The talk
+     * @return XML
+     * @throws IOException If fails
+     */
+    public XML read(final String name, final Talk talk) throws IOException {
+        final Xmls.Weighed cached = this.cache.getIfPresent(name);
+        final XML xml;
+        if (cached == null) {
+            this.metrics.add("cache-misses", 1L);
+            final long generation = this.generations.get(Xmls.stripe(name));
+            final XML fresh = talk.read();
+            final Xmls.Weighed weighed = new Xmls.Weighed(
+                fresh, this.codec.encode(fresh.toString()).length
+            );
+            this.cache.asMap().compute(
+                name,
+                (key, before) -> {
+                    final Xmls.Weighed after;
+                    if (this.generations.get(Xmls.stripe(key)) == generation) {
+                        after = weighed;
+                    } else {
+                        after = before;
+                    }
+                    return after;
+                }
+            );
+            xml = fresh;
+        } else {
+            this.metrics.add("cache-hits", 1L);
+            xml = cached.xml();
+        }
+        return xml;
+    }
+
+    /**
+     * Forget the XML of the talk.
+     * @param name Name of the talk
+     */
+    public void forget(final String name) {
+        this.generations.incrementAndGet(Xmls.stripe(name));
+        this.cache.invalidate(name);
+    }
+
+    /**
+     * Stripe of the name, in generations.
+     * @param name Name of the talk
+     * @return Index of the stripe
+     */
+    private static int stripe(final String name) {
+        return Math.floorMod(name.hashCode(), Xmls.STRIPES);
+    }
+
+    /**
+     * Document with its weight.
+     */
+    private static final class Weighed {
+        /**
+         * The document.
+         */
+        private final transient XML doc;
+
+        /**
+         * Its length in bytes, encoded.
+         */
+        private final transient int bytes;
+
+        /**
+         * Ctor.
+         * @param xml The document
+         * @param len Its length in bytes, encoded
+         */
+        Weighed(final XML xml, final int len) {
+            this.doc = xml;
+            this.bytes = len;
+        }
+
+        /**
+         * The document.
+         * @return XML
+         */
+        public XML xml() {
+            return this.doc;
+        }
+
+        /**
+         * Its weight.
+         * @return Length in bytes, encoded
+         */
+        public int weight() {
+            return this.bytes;
+        }
+    }
+
+}
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.dynamo;
+
+import co.stateful.Counter;
+import java.io.IOException;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Counter that reserves numbers in blocks and hands them out
+ * from memory (hi/lo allocation).
+ *
+ * <p>Every block is reserved by one atomic increment of the original
+ * counter, so blocks of different nodes never overlap. The numbers
+ * left in the block when the process stops are never used, that's
+ * why they have gaps and are not strictly ordered between nodes.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@ToString(of = { "origin", "block" })
+@EqualsAndHashCode(of = { "origin", "block" })
+public final class BlockCounter implements Counter {
+
+    /**
+     * Original counter, with the high-water mark.
+     */
+    private final transient Counter origin;
+
+    /**
+     * How many numbers to reserve at once.
+     */
+    private final transient long block;
+
+    /**
+     * Lock.
+     */
+    private final transient Object lock;
+
+    /**
+     * The last number handed out.
+     */
+    private transient long last;
+
+    /**
+     * The last number reserved.
+     */
+    private transient long high;
+
+    /**
+     * Ctor.
+     * @param cnt Original counter
+     * @param size How many numbers to reserve at once
+     */
+    public BlockCounter(final Counter cnt, final long size) {
+        this.origin = cnt;
+        this.block = size;
+        this.lock = new Object();
+    }
+
+    @Override
+    public String name() {
+        return this.origin.name();
+    }
+
+    @Override
+    public void set(final long value) throws IOException {
+        synchronized (this.lock) {
+            this.origin.set(value);
+            this.last = 0L;
+            this.high = 0L;
+        }
+    }
+
+    @Override
+    public long incrementAndGet(final long delta) throws IOException {
+        synchronized (this.lock) {
+            if (this.last + delta > this.high) {
+                final long size = Math.max(this.block, delta);
+                this.high = this.origin.incrementAndGet(size);
+                this.last = this.high - size;
+            }
+            this.last += delta;
+            return this.last;
+        }
+    }
+
+}
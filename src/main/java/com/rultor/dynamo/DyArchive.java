@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.dynamo;
+
+import com.amazonaws.services.dynamodbv2.model.Select;
+import com.jcabi.aspects.Immutable;
+import com.jcabi.aspects.Tv;
+import com.jcabi.dynamo.Attributes;
+import com.jcabi.dynamo.Item;
+import com.jcabi.dynamo.QueryValve;
+import com.jcabi.dynamo.Region;
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import com.rultor.spi.Archive;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.cactoos.iterable.Mapped;
+import org.xembly.Directives;
+import org.xembly.Xembler;
+
+/**
+ * Archive of a talk in Dynamo, one item per log.
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@Immutable
+@ToString
+@EqualsAndHashCode(of = { "region", "talk" })
+final class DyArchive implements Archive {
+
+    /**
+     * Table name.
+     */
+    public static final String TBL = "talk-archive";
+
+    /**
+     * Index name, with logs ordered by the time they were archived.
+     */
+    public static final String IDX_ORDERED = "ordered";
+
+    /**
+     * Name of the talk.
+     */
+    public static final String HASH = "name";
+
+    /**
+     * ID of the log.
+     */
+    public static final String RANGE = "id";
+
+    /**
+     * Position of the log in the archive.
+     */
+    public static final String ATTR_SEQ = "seq";
+
+    /**
+     * Title of the log.
+     */
+    public static final String ATTR_TITLE = "title";
+
+    /**
+     * Index of the request that made the log.
+     */
+    public static final String ATTR_INDEX = "index";
+
+    /**
+     * URI of the log.
+     */
+    public static final String ATTR_URI = "uri";
+
+    /**
+     * Region we're in.
+     */
+    private final transient Region region;
+
+    /**
+     * Name of the talk.
+     */
+    private final transient String talk;
+
+    /**
+     * Ctor.
+     * @param reg Region
+     * @param name Name of the talk
+     */
+    DyArchive(final Region reg, final String name) {
+        this.region = reg;
+        this.talk = name;
+    }
+
+    @Override
+    public void add(final Iterable<XML> logs) throws IOException {
+        final long start = System.currentTimeMillis();
+        long seq = 0L;
+        for (final XML log : logs) {
+            final String id = log.xpath("@id").get(0);
+            if (this.find(id).isEmpty()) {
+                Attributes attrs = new Attributes()
+                    .with(DyArchive.HASH, this.talk)
+                    .with(DyArchive.RANGE, id)
+                    .with(DyArchive.ATTR_SEQ, start + seq)
+                    .with(DyArchive.ATTR_TITLE, log.xpath("@title").get(0))
+                    .with(DyArchive.ATTR_URI, log.xpath("text()").get(0));
+                final List<String> index = log.xpath("@index");
+                if (!index.isEmpty()) {
+                    attrs = attrs.with(
+                        DyArchive.ATTR_INDEX, Long.parseLong(index.get(0))
+                    );
+                }
+                this.region.table(DyArchive.TBL).put(attrs);
+                ++seq;
+            }
+        }
+    }
+
+    @Override
+    public Iterable<XML> logs() {
+        return new Mapped<>(
+            DyArchive::xml,
+            this.region.table(DyArchive.TBL)
+                .frame()
+                .through(
+                    new QueryValve()
+                        .withIndexName(DyArchive.IDX_ORDERED)
+                        .withScanIndexForward(false)
+                        .withConsistentRead(false)
+                        .withLimit(Tv.TWENTY)
+                        .withSelect(Select.ALL_PROJECTED_ATTRIBUTES)
+                )
+                .where(DyArchive.HASH, this.talk)
+        );
+    }
+
+    @Override
+    public List<XML> find(final String id) throws IOException {
+        final Iterator<Item> items = this.region.table(DyArchive.TBL)
+            .frame()
+            .through(
+                new QueryValve()
+                    .withLimit(1)
+                    .withSelect(Select.ALL_ATTRIBUTES)
+            )
+            .where(DyArchive.HASH, this.talk)
+            .where(DyArchive.RANGE, id)
+            .iterator();
+        final List<XML> found;
+        if (items.hasNext()) {
+            found = Collections.singletonList(DyArchive.xml(items.next()));
+        } else {
+            found = Collections.emptyList();
+        }
+        return found;
+    }
+
+    /**
+     * Delete all logs.
+     */
+    void clear() {
+        final Iterator<Item> items = this.region.table(DyArchive.TBL)
+            .frame()
+            .through(new QueryValve())
+            .where(DyArchive.HASH, this.talk)
+            .iterator();
+        while (items.hasNext()) {
+            items.next();
+            items.remove();
+        }
+    }
+
+    /**
+     * Make a log from the item.
+     * @param item The item
+     * @return XML of the log
+     * @throws IOException If fails
+     */
+    private static XML xml(final Item item) throws IOException {
+        final Directives dirs = new Directives().add("log")
+            .attr("id", item.get(DyArchive.RANGE).getS())
+            .attr("title", item.get(DyArchive.ATTR_TITLE).getS());
+        if (item.has(DyArchive.ATTR_INDEX)) {
+            dirs.attr("index", item.get(DyArchive.ATTR_INDEX).getN());
+        }
+        return new XMLDocument(
+            new Xembler(dirs.set(item.get(DyArchive.ATTR_URI).getS()))
+                .xmlQuietly()
+        ).nodes("/log").get(0);
+    }
+
+}
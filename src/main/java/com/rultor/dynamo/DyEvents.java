@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.dynamo;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
+import com.amazonaws.services.dynamodbv2.model.Condition;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.ExpectedAttributeValue;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.Select;
+import com.jcabi.aspects.Immutable;
+import com.jcabi.dynamo.Attributes;
+import com.jcabi.dynamo.Item;
+import com.jcabi.dynamo.QueryValve;
+import com.jcabi.dynamo.Region;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Events of a talk in Dynamo.
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@Immutable
+@ToString
+@EqualsAndHashCode(of = { "region", "talk" })
+final class DyEvents implements Events {
+
+    /**
+     * Table name.
+     */
+    public static final String TBL = "talk-events";
+
+    /**
+     * Name of the talk.
+     */
+    public static final String HASH = "name";
+
+    /**
+     * Sequence number of the event.
+     */
+    public static final String RANGE = "seq";
+
+    /**
+     * Xembly script.
+     */
+    public static final String ATTR_SCRIPT = "script";
+
+    /**
+     * When added.
+     */
+    public static final String ATTR_TIME = "time";
+
+    /**
+     * Region we're in.
+     */
+    private final transient Region region;
+
+    /**
+     * Name of the talk.
+     */
+    private final transient String talk;
+
+    /**
+     * Ctor.
+     * @param reg Region
+     * @param name Name of the talk
+     */
+    DyEvents(final Region reg, final String name) {
+        this.region = reg;
+        this.talk = name;
+    }
+
+    @Override
+    public List<String> after(final long seq) throws IOException {
+        final List<String> scripts = new LinkedList<>();
+        for (final Item item : this.region.table(DyEvents.TBL)
+            .frame()
+            .through(
+                new QueryValve()
+                    .withConsistentRead(true)
+                    .withSelect(Select.ALL_ATTRIBUTES)
+            )
+            .where(DyEvents.HASH, this.talk)
+            .where(
+                DyEvents.RANGE,
+                new Condition()
+                    .withComparisonOperator(ComparisonOperator.GT)
+                    .withAttributeValueList(
+                        new AttributeValue().withN(Long.toString(seq))
+                    )
+            )) {
+            scripts.add(item.get(DyEvents.ATTR_SCRIPT).getS());
+        }
+        return scripts;
+    }
+
+    @Override
+    public boolean add(final long seq, final String script)
+        throws IOException {
+        final AmazonDynamoDB aws = this.region.aws();
+        boolean added;
+        try {
+            aws.putItem(
+                new PutItemRequest()
+                    .withTableName(this.region.table(DyEvents.TBL).name())
+                    .withItem(
+                        new Attributes()
+                            .with(DyEvents.HASH, this.talk)
+                            .with(DyEvents.RANGE, seq)
+                            .with(DyEvents.ATTR_SCRIPT, script)
+                            .with(
+                                DyEvents.ATTR_TIME,
+                                System.currentTimeMillis()
+                            )
+                    )
+                    .withExpected(
+                        Collections.singletonMap(
+                            DyEvents.RANGE,
+                            new ExpectedAttributeValue(false)
+                        )
+                    )
+            );
+            added = true;
+        } catch (final ConditionalCheckFailedException ex) {
+            added = false;
+        } finally {
+            aws.shutdown();
+        }
+        return added;
+    }
+
+    @Override
+    public void prune(final long seq) {
+        final Iterator<Item> items = this.region.table(DyEvents.TBL)
+            .frame()
+            .through(
+                new QueryValve()
+                    .withConsistentRead(true)
+                    .withSelect(Select.SPECIFIC_ATTRIBUTES)
+                    .withAttributesToGet(DyEvents.HASH, DyEvents.RANGE)
+            )
+            .where(DyEvents.HASH, this.talk)
+            .where(
+                DyEvents.RANGE,
+                new Condition()
+                    .withComparisonOperator(ComparisonOperator.LE)
+                    .withAttributeValueList(
+                        new AttributeValue().withN(Long.toString(seq))
+                    )
+            )
+            .iterator();
+        while (items.hasNext()) {
+            items.next();
+            items.remove();
+        }
+    }
+
+    @Override
+    public long latest() throws IOException {
+        final Iterator<Item> items = this.region.table(DyEvents.TBL)
+            .frame()
+            .through(
+                new QueryValve()
+                    .withLimit(1)
+                    .withScanIndexForward(false)
+                    .withConsistentRead(true)
+                    .withSelect(Select.SPECIFIC_ATTRIBUTES)
+                    .withAttributesToGet(DyEvents.ATTR_TIME)
+            )
+            .where(DyEvents.HASH, this.talk)
+            .iterator();
+        long time = 0L;
+        if (items.hasNext()) {
+            time = Long.parseLong(items.next().get(DyEvents.ATTR_TIME).getN());
+        }
+        return time;
+    }
+
+}
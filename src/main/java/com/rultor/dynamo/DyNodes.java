@@ -0,0 +1,296 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.dynamo;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.jcabi.aspects.Immutable;
+import com.jcabi.dynamo.Attributes;
+import com.jcabi.dynamo.Item;
+import com.jcabi.dynamo.Region;
+import com.jcabi.dynamo.ScanValve;
+import com.rultor.spi.Nodes;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.cactoos.map.MapEntry;
+import org.cactoos.map.MapOf;
+
+/**
+ * Nodes of a cluster in Dynamo.
+ *
+ * <p>Every node has an item in the table, with the time when its lease
+ * expires. The table is tiny, one item per node, so it is
+ * scanned entirely.</p>
+ *
+ * <p>The leader of the cluster is one more item in the same table,
+ * with the name of the node that holds it and the time when it
+ * expires. A talk is claimed by the same two attributes in its own
+ * item, in {@link DyTalks#TBL}. Both are taken by a conditional
+ * update, which fails if another node holds them and they
+ * haven't expired yet.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@Immutable
+@ToString
+@EqualsAndHashCode(of = { "region", "name" })
+public final class DyNodes implements Nodes {
+
+    /**
+     * Table name.
+     */
+    public static final String TBL = "nodes";
+
+    /**
+     * Name of the node.
+     */
+    public static final String HASH = "node";
+
+    /**
+     * When its lease expires, in milliseconds.
+     */
+    public static final String ATTR_EXPIRES = "expires";
+
+    /**
+     * Node that holds the item, in the item of the leader and in
+     * the items of talks.
+     */
+    public static final String ATTR_OWNER = "owner";
+
+    /**
+     * When the node stops holding the item, in milliseconds.
+     */
+    public static final String ATTR_UNTIL = "until";
+
+    /**
+     * Name of the item of the leader.
+     */
+    private static final String LEADER = "leader";
+
+    /**
+     * Condition of an item nobody else holds.
+     */
+    private static final String FREE = String.join(
+        " OR ",
+        "attribute_not_exists(#owner)",
+        "#owner = :self",
+        "#until <= :now"
+    );
+
+    /**
+     * Default lifetime of a claim on a talk, longer than a talk may
+     * take in one cycle, so that nobody takes it while it's running.
+     */
+    private static final long CLAIM = TimeUnit.MINUTES.toMillis(6L);
+
+    /**
+     * Default lifetime of a lease, a few beats of the heartbeat, which
+     * renews it every minute, no matter how long the cycle takes.
+     */
+    private static final long LEASE = TimeUnit.MINUTES.toMillis(3L);
+
+    /**
+     * Region we're in.
+     */
+    private final transient Region region;
+
+    /**
+     * Name of this node.
+     */
+    private final transient String name;
+
+    /**
+     * How long a lease lives, in milliseconds.
+     */
+    private final transient long ttl;
+
+    /**
+     * How long a claim on a talk lives, in milliseconds.
+     */
+    private final transient long hold;
+
+    /**
+     * Ctor.
+     * @param reg Region
+     * @param self Name of this node
+     */
+    public DyNodes(final Region reg, final String self) {
+        this(reg, self, DyNodes.LEASE);
+    }
+
+    /**
+     * Ctor.
+     * @param reg Region
+     * @param self Name of this node
+     * @param msec How long a lease lives, in milliseconds
+     */
+    public DyNodes(final Region reg, final String self, final long msec) {
+        this(reg, self, msec, DyNodes.CLAIM);
+    }
+
+    /**
+     * Ctor.
+     * @param reg Region
+     * @param self Name of this node
+     * @param msec How long a lease lives, in milliseconds
+     * @param claim How long a claim on a talk lives, in milliseconds
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    public DyNodes(final Region reg, final String self, final long msec,
+        final long claim) {
+        this.region = reg;
+        this.name = self;
+        this.ttl = msec;
+        this.hold = claim;
+    }
+
+    @Override
+    public String self() {
+        return this.name;
+    }
+
+    @Override
+    public List<String> alive() throws IOException {
+        final long now = System.currentTimeMillis();
+        this.region.table(DyNodes.TBL).put(
+            new Attributes()
+                .with(DyNodes.HASH, this.name)
+                .with(DyNodes.ATTR_EXPIRES, now + this.ttl)
+        );
+        final List<String> nodes = new ArrayList<>(1);
+        for (final Item item : this.region.table(DyNodes.TBL)
+            .frame()
+            .through(
+                new ScanValve().withAttributeToGet(
+                    DyNodes.HASH, DyNodes.ATTR_EXPIRES
+                )
+            )) {
+            final String node = item.get(DyNodes.HASH).getS();
+            if (!DyNodes.LEADER.equals(node) && Long.parseLong(
+                item.get(DyNodes.ATTR_EXPIRES).getN()
+            ) > now) {
+                nodes.add(node);
+            }
+        }
+        Collections.sort(nodes);
+        return nodes;
+    }
+
+    @Override
+    public boolean claim(final String talk) throws IOException {
+        return this.take(
+            DyTalks.TBL, DyTalks.HASH, talk,
+            String.format("attribute_exists(#key) AND (%s)", DyNodes.FREE),
+            this.hold
+        );
+    }
+
+    @Override
+    public boolean lead() throws IOException {
+        return this.take(
+            DyNodes.TBL, DyNodes.HASH, DyNodes.LEADER,
+            String.format("attribute_not_exists(#key) OR %s", DyNodes.FREE),
+            this.ttl
+        );
+    }
+
+    @Override
+    public void leave() throws IOException {
+        this.region.table(DyNodes.TBL).delete(
+            new Attributes().with(DyNodes.HASH, this.name)
+        );
+    }
+
+    /**
+     * Take the item for this node, if nobody else holds it.
+     * @param table Name of the table
+     * @param hash Name of the hash attribute
+     * @param key Hash of the item
+     * @param condition When the item may be taken
+     * @param msec How long to hold it, in milliseconds
+     * @return TRUE if taken, FALSE if another node holds it
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    private boolean take(final String table, final String hash,
+        final String key, final String condition, final long msec) {
+        final long now = System.currentTimeMillis();
+        final AmazonDynamoDB aws = this.region.aws();
+        boolean taken;
+        try {
+            aws.updateItem(
+                new UpdateItemRequest()
+                    .withTableName(this.region.table(table).name())
+                    .withKey(new Attributes().with(hash, key))
+                    .withUpdateExpression("SET #owner = :self, #until = :until")
+                    .withConditionExpression(condition)
+                    .withExpressionAttributeNames(
+                        new MapOf<String, String>(
+                            new MapEntry<>("#key", hash),
+                            new MapEntry<>("#owner", DyNodes.ATTR_OWNER),
+                            new MapEntry<>("#until", DyNodes.ATTR_UNTIL)
+                        )
+                    )
+                    .withExpressionAttributeValues(
+                        new MapOf<String, AttributeValue>(
+                            new MapEntry<>(
+                                ":self", new AttributeValue(this.name)
+                            ),
+                            new MapEntry<>(
+                                ":now",
+                                new AttributeValue().withN(Long.toString(now))
+                            ),
+                            new MapEntry<>(
+                                ":until",
+                                new AttributeValue().withN(
+                                    Long.toString(now + msec)
+                                )
+                            )
+                        )
+                    )
+            );
+            taken = true;
+        } catch (final ConditionalCheckFailedException ex) {
+            taken = false;
+        } finally {
+            aws.shutdown();
+        }
+        return taken;
+    }
+
+}
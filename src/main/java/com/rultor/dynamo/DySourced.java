@@ -0,0 +1,300 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.dynamo;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.dynamo.AttributeUpdates;
+import com.jcabi.xml.StrictXML;
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import com.rultor.spi.Codec;
+import com.rultor.spi.Metrics;
+import com.rultor.spi.Talk;
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.cactoos.list.ListOf;
+import org.w3c.dom.Node;
+import org.xembly.Directive;
+import org.xembly.Directives;
+import org.xembly.ImpossibleModificationException;
+import org.xembly.Xembler;
+
+/**
+ * Event-sourced talk in Dynamo.
+ *
+ * <p>The item keeps a snapshot of the XML, together with the sequence
+ * number of the last event it covers. Every modification is appended
+ * as a small event with its Xembly script, instead of rewriting the
+ * entire document. Every N-th modification writes a new snapshot
+ * instead of an event. The XML is the snapshot with all later
+ * events applied on top of it.</p>
+ *
+ * <p>The snapshot and its sequence number are taken from one read of
+ * the item, see {@link Preloaded#loaded()}. Otherwise, a snapshot
+ * written by somebody else between the two reads would get the events
+ * it already covers applied on top of it once again.</p>
+ *
+ * <p>Concurrent modifications are detected the same way as in
+ * {@link DyTalk}: an event is added only if its sequence number is not
+ * taken yet, and a snapshot is written only if the version of the item
+ * didn't change. Before a snapshot is written, the next sequence number
+ * is taken by an empty event, which the snapshot covers, so that nobody
+ * who read the talk before can add an event on top of it. Otherwise,
+ * the modification is attempted again.</p>
+ *
+ * <p>When a new snapshot is saved, the events covered by the previous
+ * one are deleted. The events between the two snapshots stay for
+ * a while, for those who still read the previous snapshot.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@Immutable
+@ToString
+@EqualsAndHashCode(of = "item")
+final class DySourced implements Talk {
+
+    /**
+     * How many times to try to write, if others write concurrently.
+     */
+    private static final int ATTEMPTS = 5;
+
+    /**
+     * Item.
+     */
+    private final transient Preloaded item;
+
+    /**
+     * Events of the talk.
+     */
+    private final transient Events events;
+
+    /**
+     * Metrics.
+     */
+    private final transient Metrics metrics;
+
+    /**
+     * Codec of the snapshot.
+     */
+    private final transient Codec codec;
+
+    /**
+     * How many modifications per snapshot.
+     */
+    private final transient int every;
+
+    /**
+     * Ctor.
+     * @param itm Item
+     * @param evts Events of the talk
+     * @param mtx Metrics
+     * @param cdc Codec of the snapshot
+     * @param snapshots How many modifications per snapshot
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    DySourced(final Preloaded itm, final Events evts, final Metrics mtx,
+        final Codec cdc, final int snapshots) {
+        this.item = itm;
+        this.events = evts;
+        this.metrics = mtx;
+        this.codec = cdc;
+        this.every = snapshots;
+    }
+
+    @Override
+    public Long number() throws IOException {
+        return this.snapshot().number();
+    }
+
+    @Override
+    public String name() throws IOException {
+        return this.snapshot().name();
+    }
+
+    @Override
+    public Date updated() throws IOException {
+        return new Date(
+            Math.max(
+                this.snapshot().updated().getTime(),
+                this.events.latest()
+            )
+        );
+    }
+
+    @Override
+    public XML read() throws IOException {
+        final Preloaded loaded = this.item.loaded();
+        return new XMLDocument(
+            this.replay(loaded, this.events.after(DySourced.seq(loaded)))
+        );
+    }
+
+    @Override
+    public void modify(final Iterable<Directive> dirs) throws IOException {
+        if (!new ListOf<>(dirs).isEmpty()) {
+            int attempt = 1;
+            while (!this.attempt(dirs)) {
+                this.metrics.add("dynamo-conflicts", 1L);
+                if (attempt >= DySourced.ATTEMPTS) {
+                    throw new IllegalStateException(
+                        String.format(
+                            "talk \"%s\" is busy, %d attempts failed",
+                            this.name(), attempt
+                        )
+                    );
+                }
+                ++attempt;
+            }
+        }
+    }
+
+    @Override
+    public void active(final boolean yes) throws IOException {
+        this.snapshot().active(yes);
+    }
+
+    /**
+     * Read, modify and try to save the XML once.
+     * @param dirs Directives
+     * @return TRUE if done, FALSE if somebody else saved first
+     * @throws IOException If fails
+     */
+    private boolean attempt(final Iterable<Directive> dirs)
+        throws IOException {
+        final Preloaded loaded = this.item.loaded();
+        final long version = this.snapshot(loaded).version();
+        final long seq = DySourced.seq(loaded);
+        final List<String> tail = this.events.after(seq);
+        final Node before = this.replay(loaded, tail);
+        final Node node = before.cloneNode(true);
+        DySourced.apply(node, dirs);
+        final boolean done;
+        if (node.isEqualNode(before)) {
+            this.metrics.add("dynamo-writes-avoided", 1L);
+            done = true;
+        } else if (tail.size() + 1 >= this.every) {
+            final long last = seq + tail.size() + 1L;
+            done = this.events.add(last, "")
+                && this.snapshot(loaded).save(
+                    node,
+                    new AttributeUpdates().with(DyTalks.ATTR_SEQ, last),
+                    version
+                );
+            if (done) {
+                this.metrics.add("dynamo-snapshots", 1L);
+                this.events.prune(seq);
+            }
+        } else {
+            new StrictXML(new XMLDocument(node), Talk.SCHEMA);
+            done = this.events.add(
+                seq + tail.size() + 1L,
+                new Directives(dirs).toString()
+            );
+            if (done) {
+                this.metrics.add("dynamo-events", 1L);
+            }
+        }
+        return done;
+    }
+
+    /**
+     * The snapshot.
+     * @return Talk
+     */
+    private DyTalk snapshot() {
+        return this.snapshot(this.item);
+    }
+
+    /**
+     * The snapshot in this item.
+     * @param itm The item
+     * @return Talk
+     */
+    private DyTalk snapshot(final Preloaded itm) {
+        return new DyTalk(itm, this.metrics, this.codec);
+    }
+
+    /**
+     * Sequence number of the last event covered by the snapshot.
+     * @param itm The item
+     * @return The number, zero if none
+     * @throws IOException If fails
+     */
+    private static long seq(final Preloaded itm) throws IOException {
+        long seq = 0L;
+        if (itm.has(DyTalks.ATTR_SEQ)) {
+            seq = Long.parseLong(itm.get(DyTalks.ATTR_SEQ).getN());
+        }
+        return seq;
+    }
+
+    /**
+     * Apply events to the snapshot.
+     * @param itm The item with the snapshot
+     * @param tail Xembly scripts of the events
+     * @return The XML
+     * @throws IOException If fails
+     */
+    private Node replay(final Preloaded itm, final Iterable<String> tail)
+        throws IOException {
+        final Node node = this.snapshot(itm).read().node();
+        for (final String script : tail) {
+            DySourced.apply(node, new Directives(script));
+        }
+        return node;
+    }
+
+    /**
+     * Apply directives to the node.
+     * @param node The XML
+     * @param dirs Directives
+     */
+    private static void apply(final Node node,
+        final Iterable<Directive> dirs) {
+        try {
+            new Xembler(dirs).apply(node);
+        } catch (final ImpossibleModificationException ex) {
+            throw new IllegalStateException(
+                String.format(
+                    "failed to apply %s to %s",
+                    dirs, new XMLDocument(node)
+                ),
+                ex
+            );
+        }
+    }
+
+}
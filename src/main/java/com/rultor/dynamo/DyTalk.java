@@ -39,19 +39,14 @@ import com.jcabi.xml.StrictXML;
 import com.jcabi.xml.XML;
 import com.jcabi.xml.XMLDocument;
 import com.jcabi.xml.XSLDocument;
+import com.rultor.spi.Codec;
+import com.rultor.spi.Metrics;
 import com.rultor.spi.Talk;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
 import java.nio.ByteBuffer;
-import java.nio.charset.Charset;
 import java.util.Date;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
-import org.apache.commons.io.IOUtils;
 import org.cactoos.list.ListOf;
 import org.w3c.dom.Node;
 import org.xembly.Directive;
@@ -61,6 +56,13 @@ import org.xembly.Xembler;
 /**
  * Talk in Dynamo.
  *
+ * <p>Writes of the XML are optimistic: every write expects the item
+ * to be of the same version as it was when the XML was read. If
+ * somebody else wrote in between, the XML is read again and the
+ * directives are applied to it again, a few times at most. This is
+ * what makes it safe to modify the same talk from a few
+ * nodes at once.</p>
+ *
  * @author Yegor Bugayenko (yegor256@gmail.com)
  * @version $Id$
  * @since 1.0
@@ -80,21 +82,54 @@ public final class DyTalk implements Talk {
     private static final int LIMIT = 399 << 10;
 
     /**
-     * UTF-8.
+     * How many times to try to write, if others write concurrently.
      */
-    private static final String UTF_8 = "UTF-8";
+    private static final int ATTEMPTS = 5;
 
     /**
      * Item.
      */
-    private final transient Item item;
+    private final transient Preloaded item;
+
+    /**
+     * Metrics.
+     */
+    private final transient Metrics metrics;
+
+    /**
+     * Codec of the XML.
+     */
+    private final transient Codec codec;
 
     /**
      * Ctor.
      * @param itm Item
      */
     DyTalk(final Item itm) {
+        this(itm, Metrics.EMPTY);
+    }
+
+    /**
+     * Ctor.
+     * @param itm Item
+     * @param mtx Metrics
+     * @since 2.0
+     */
+    DyTalk(final Item itm, final Metrics mtx) {
+        this(new Preloaded(itm), mtx, Codec.DEFAULT);
+    }
+
+    /**
+     * Ctor.
+     * @param itm Item
+     * @param mtx Metrics
+     * @param cdc Codec of the XML
+     * @since 2.0
+     */
+    DyTalk(final Preloaded itm, final Metrics mtx, final Codec cdc) {
         this.item = itm;
+        this.metrics = mtx;
+        this.codec = cdc;
     }
 
     @Override
@@ -118,59 +153,31 @@ public final class DyTalk implements Talk {
     public XML read() throws IOException {
         final String xml;
         if (this.item.has(DyTalks.ATTR_XML_ZIP)) {
-            xml = DyTalk.unzip(
+            xml = this.codec.decode(
                 this.item.get(DyTalks.ATTR_XML_ZIP).getB().array()
             );
         } else {
             xml = this.item.get(DyTalks.ATTR_XML).getS();
         }
-        return new StrictXML(
-            Talk.UPGRADE.transform(new XMLDocument(xml)),
-            Talk.SCHEMA
-        );
+        return Talk.UPGRADE.transform(new XMLDocument(xml));
     }
 
     @Override
     public void modify(final Iterable<Directive> dirs) throws IOException {
         if (!new ListOf<>(dirs).isEmpty()) {
-            final XML xml = this.read();
-            final Node node = xml.node();
-            try {
-                new Xembler(dirs).apply(node);
-            } catch (final ImpossibleModificationException ex) {
-                throw new IllegalStateException(
-                    String.format(
-                        "failed to apply %s to %s",
-                        dirs.toString(), xml
-                    ),
-                    ex
-                );
+            int attempt = 1;
+            while (!this.attempt(dirs)) {
+                this.metrics.add("dynamo-conflicts", 1L);
+                if (attempt >= DyTalk.ATTEMPTS) {
+                    throw new IllegalStateException(
+                        String.format(
+                            "talk \"%s\" is busy, %d attempts failed",
+                            this.name(), attempt
+                        )
+                    );
+                }
+                ++attempt;
             }
-            final byte[] body = DyTalk.zip(
-                XSLDocument.STRIP.transform(
-                    new StrictXML(new XMLDocument(node), Talk.SCHEMA)
-                ).toString()
-            );
-            if (body.length > DyTalk.LIMIT) {
-                throw new IllegalArgumentException(
-                    String.format(
-                        // @checkstyle LineLength (1 line)
-                        "XML is too big (%d bytes, maximum is %d), even after ZIP, in \"%s\"",
-                        body.length, DyTalk.LIMIT,
-                        this.item.get(DyTalks.HASH).getS()
-                    )
-                );
-            }
-            final AttributeValue value = new AttributeValue();
-            value.setB(ByteBuffer.wrap(body));
-            this.item.put(
-                new AttributeUpdates()
-                    .with(DyTalks.ATTR_UPDATED, System.currentTimeMillis())
-                    .with(
-                        DyTalks.ATTR_XML_ZIP,
-                        new AttributeValueUpdate(value, AttributeAction.PUT)
-                    )
-            );
         }
     }
 
@@ -184,35 +191,97 @@ public final class DyTalk implements Talk {
     }
 
     /**
-     * Zip the XML.
-     * @param xml The XML content
-     * @return Zipped content
+     * Version of the item, zero if it was never written.
+     *
+     * <p>It must be read before the XML: if the XML is written
+     * in between, the version will not match and the write
+     * will be rejected.</p>
+     *
+     * @return The version
      * @throws IOException If fails
      */
-    private static byte[] zip(final String xml) throws IOException {
-        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        final OutputStream output = new GZIPOutputStream(baos);
-        IOUtils.copy(
-            IOUtils.toInputStream(xml, Charset.forName(UTF_8)),
-            output
-        );
-        output.close();
-        return baos.toByteArray();
+    long version() throws IOException {
+        long version = 0L;
+        if (this.item.has(DyTalks.ATTR_VERSION)) {
+            version = Long.parseLong(
+                this.item.get(DyTalks.ATTR_VERSION).getN()
+            );
+        }
+        return version;
     }
 
     /**
-     * Unzip the XML.
-     * @param bytes The XML content
-     * @return Unzipped content
+     * Save the XML to DynamoDB, if the item is still of this version.
+     * @param node The XML
+     * @param extra Other attributes to save together with it
+     * @param version The version the XML was calculated from
+     * @return TRUE if saved, FALSE if somebody else saved first
      * @throws IOException If fails
      */
-    private static String unzip(final byte[] bytes) throws IOException {
-        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        IOUtils.copy(
-            new GZIPInputStream(new ByteArrayInputStream(bytes)),
-            baos
+    boolean save(final Node node, final AttributeUpdates extra,
+        final long version) throws IOException {
+        final byte[] body = this.codec.encode(
+            XSLDocument.STRIP.transform(
+                new StrictXML(new XMLDocument(node), Talk.SCHEMA)
+            ).toString()
+        );
+        if (body.length > DyTalk.LIMIT) {
+            throw new IllegalArgumentException(
+                String.format(
+                    // @checkstyle LineLength (1 line)
+                    "XML is too big (%d bytes, maximum is %d), even after ZIP, in \"%s\"",
+                    body.length, DyTalk.LIMIT,
+                    this.item.get(DyTalks.HASH).getS()
+                )
+            );
+        }
+        final AttributeValue value = new AttributeValue();
+        value.setB(ByteBuffer.wrap(body));
+        final boolean done = this.item.put(
+            extra
+                .with(DyTalks.ATTR_UPDATED, System.currentTimeMillis())
+                .with(
+                    DyTalks.ATTR_XML_ZIP,
+                    new AttributeValueUpdate(value, AttributeAction.PUT)
+                ),
+            version
         );
-        return new String(baos.toByteArray(), Charset.forName(UTF_8));
+        if (done) {
+            this.metrics.add("dynamo-writes", 1L);
+        }
+        return done;
+    }
+
+    /**
+     * Read, modify and try to save the XML once.
+     * @param dirs Directives
+     * @return TRUE if done, FALSE if somebody else saved first
+     * @throws IOException If fails
+     */
+    private boolean attempt(final Iterable<Directive> dirs)
+        throws IOException {
+        final long version = this.version();
+        final XML xml = this.read();
+        final Node node = xml.node();
+        try {
+            new Xembler(dirs).apply(node);
+        } catch (final ImpossibleModificationException ex) {
+            throw new IllegalStateException(
+                String.format(
+                    "failed to apply %s to %s",
+                    dirs.toString(), xml
+                ),
+                ex
+            );
+        }
+        final boolean done;
+        if (node.isEqualNode(xml.node())) {
+            this.metrics.add("dynamo-writes-avoided", 1L);
+            done = true;
+        } else {
+            done = this.save(node, new AttributeUpdates(), version);
+        }
+        return done;
     }
 
 }
@@ -30,26 +30,42 @@
 package com.rultor.dynamo;
 
 import co.stateful.Counter;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
 import com.amazonaws.services.dynamodbv2.model.ComparisonOperator;
 import com.amazonaws.services.dynamodbv2.model.Condition;
+import com.amazonaws.services.dynamodbv2.model.KeysAndAttributes;
 import com.amazonaws.services.dynamodbv2.model.Select;
 import com.google.common.collect.Iterables;
 import com.jcabi.aspects.Immutable;
 import com.jcabi.aspects.Tv;
 import com.jcabi.dynamo.Attributes;
 import com.jcabi.dynamo.Conditions;
+import com.jcabi.dynamo.Item;
 import com.jcabi.dynamo.QueryValve;
 import com.jcabi.dynamo.Region;
+import com.rultor.spi.Archive;
+import com.rultor.spi.Codec;
+import com.rultor.spi.Metrics;
 import com.rultor.spi.Talk;
 import com.rultor.spi.Talks;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.cactoos.iterable.Filtered;
 import org.cactoos.iterable.HeadOf;
 import org.cactoos.iterable.Mapped;
+import org.cactoos.list.ListOf;
 
 /**
  * Talks in Dynamo.
@@ -125,6 +141,33 @@ public final class DyTalks implements Talks {
      */
     public static final String ATTR_UPDATED = "updated";
 
+    /**
+     * Sequence number of the last event in the snapshot.
+     * @since 2.0
+     */
+    public static final String ATTR_SEQ = "seq";
+
+    /**
+     * Version of the item, incremented by every write of the XML.
+     * @since 2.0
+     */
+    public static final String ATTR_VERSION = "version";
+
+    /**
+     * Maximum amount of keys in one BatchGetItem request.
+     */
+    private static final int BATCH = 100;
+
+    /**
+     * First delay before a retry of unprocessed keys, in milliseconds.
+     */
+    private static final long BACKOFF = 50L;
+
+    /**
+     * Longest delay before a retry of unprocessed keys, in milliseconds.
+     */
+    private static final long BACKOFF_MAX = 5_000L;
+
     /**
      * Region we're in.
      */
@@ -135,14 +178,81 @@ public final class DyTalks implements Talks {
      */
     private final transient Counter counter;
 
+    /**
+     * Metrics.
+     */
+    private final transient Metrics metrics;
+
+    /**
+     * Codec of talk XML.
+     */
+    private final transient Codec codec;
+
+    /**
+     * How many modifications per snapshot, zero if every modification
+     * rewrites the entire XML.
+     */
+    private final transient int snapshots;
+
     /**
      * Public ctor.
      * @param reg Region
      * @param cnt Counter of talks
      */
     public DyTalks(final Region reg, final Counter cnt) {
+        this(reg, cnt, Metrics.EMPTY);
+    }
+
+    /**
+     * Public ctor.
+     * @param reg Region
+     * @param cnt Counter of talks
+     * @param mtx Metrics
+     * @since 2.0
+     */
+    public DyTalks(final Region reg, final Counter cnt, final Metrics mtx) {
+        this(reg, cnt, mtx, Codec.DEFAULT);
+    }
+
+    /**
+     * Public ctor.
+     * @param reg Region
+     * @param cnt Counter of talks
+     * @param mtx Metrics
+     * @param cdc Codec of talk XML
+     * @checkstyle ParameterNumberCheck (5 lines)
+     * @since 2.0
+     */
+    public DyTalks(final Region reg, final Counter cnt, final Metrics mtx,
+        final Codec cdc) {
+        this(reg, cnt, mtx, cdc, 0);
+    }
+
+    /**
+     * Public ctor.
+     *
+     * <p>When {@code snps} is positive, modifications of talks are
+     * appended to the {@code talk-events} table and the XML is
+     * rewritten only once per {@code snps} modifications,
+     * see {@link DySourced}. Don't switch it back to zero while
+     * talks have events after their latest snapshots, they will
+     * be lost.</p>
+     *
+     * @param reg Region
+     * @param cnt Counter of talks
+     * @param mtx Metrics
+     * @param cdc Codec of talk XML
+     * @param snps How many modifications per snapshot, or zero
+     * @checkstyle ParameterNumberCheck (5 lines)
+     * @since 2.0
+     */
+    public DyTalks(final Region reg, final Counter cnt, final Metrics mtx,
+        final Codec cdc, final int snps) {
         this.region = reg;
         this.counter = cnt;
+        this.metrics = mtx;
+        this.codec = cdc;
+        this.snapshots = snps;
     }
 
     @Override
@@ -161,20 +271,33 @@ public final class DyTalks implements Talks {
 
     @Override
     public Talk get(final long number) {
-        return new DyTalk(
-            this.region.table(DyTalks.TBL)
-                .frame()
-                .through(
-                    new QueryValve()
-                        .withLimit(1)
-                        .withIndexName(DyTalks.IDX_NUMBERS)
-                        .withConsistentRead(false)
-                        .withSelect(Select.SPECIFIC_ATTRIBUTES)
-                        .withAttributesToGet(DyTalks.HASH, DyTalks.ATTR_NUMBER)
-                )
-                .where(DyTalks.ATTR_NUMBER, Conditions.equalTo(number))
-                .iterator().next()
-        );
+        try {
+            return this.talk(
+                this.preloaded(
+                    Collections.singletonList(
+                        this.region.table(DyTalks.TBL)
+                            .frame()
+                            .through(
+                                new QueryValve()
+                                    .withLimit(1)
+                                    .withIndexName(DyTalks.IDX_NUMBERS)
+                                    .withConsistentRead(false)
+                                    .withSelect(Select.SPECIFIC_ATTRIBUTES)
+                                    .withAttributesToGet(
+                                        DyTalks.HASH, DyTalks.ATTR_NUMBER
+                                    )
+                            )
+                            .where(
+                                DyTalks.ATTR_NUMBER,
+                                Conditions.equalTo(number)
+                            )
+                            .iterator().next()
+                    )
+                ).get(0)
+            );
+        } catch (final IOException ex) {
+            throw new IllegalStateException(ex);
+        }
     }
 
     @Override
@@ -188,21 +311,29 @@ public final class DyTalks implements Talks {
 
     @Override
     public Talk get(final String name) {
-        return new DyTalk(
-            this.region.table(DyTalks.TBL)
-                .frame()
-                .through(
-                    new QueryValve()
-                        .withLimit(1)
-                        .withAttributesToGet(DyTalks.ATTR_NUMBER)
+        try {
+            return this.talk(
+                new Preloaded(
+                    this.region.table(DyTalks.TBL)
+                        .frame()
+                        .through(
+                            new QueryValve()
+                                .withLimit(1)
+                                .withAttributesToGet(DyTalks.ATTR_NUMBER)
+                        )
+                        .where(DyTalks.HASH, name)
+                        .iterator().next()
                 )
-                .where(DyTalks.HASH, name)
-                .iterator().next()
-        );
+            );
+        } catch (final IOException ex) {
+            throw new IllegalStateException(ex);
+        }
     }
 
     @Override
     public void delete(final String name) {
+        new DyArchive(this.region, name).clear();
+        new DyEvents(this.region, name).prune(Long.MAX_VALUE);
         Iterables.removeIf(
             this.region.table(DyTalks.TBL)
                 .frame()
@@ -232,19 +363,26 @@ public final class DyTalks implements Talks {
 
     @Override
     public Iterable<Talk> active() {
-        return new Mapped<>(
-            DyTalk::new,
-            this.region.table(DyTalks.TBL)
-                .frame()
-                .through(
-                    new QueryValve()
-                        .withIndexName(DyTalks.IDX_ACTIVE)
-                        .withConsistentRead(false)
-                        .withSelect(Select.SPECIFIC_ATTRIBUTES)
-                        .withAttributesToGet(DyTalks.HASH, DyTalks.ATTR_NUMBER)
-                )
-                .where(DyTalks.ATTR_ACTIVE, Boolean.toString(true))
-        );
+        final Iterable<Item> items = this.region.table(DyTalks.TBL)
+            .frame()
+            .through(
+                new QueryValve()
+                    .withIndexName(DyTalks.IDX_ACTIVE)
+                    .withConsistentRead(false)
+                    .withSelect(Select.SPECIFIC_ATTRIBUTES)
+                    .withAttributesToGet(DyTalks.HASH, DyTalks.ATTR_NUMBER)
+            )
+            .where(DyTalks.ATTR_ACTIVE, Boolean.toString(true));
+        return () -> {
+            try {
+                return new Mapped<Talk>(
+                    this::talk,
+                    this.preloaded(new ListOf<>(items))
+                ).iterator();
+            } catch (final IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        };
     }
 
     @Override
@@ -262,7 +400,7 @@ public final class DyTalks implements Talks {
                     }
                 },
                 new Mapped<>(
-                    DyTalk::new,
+                    item -> this.talk(new Preloaded(item)),
                     this.region.table(DyTalks.TBL)
                         .frame()
                         .through(
@@ -284,7 +422,7 @@ public final class DyTalks implements Talks {
     @Override
     public Iterable<Talk> siblings(final String repo, final Date since) {
         return new Mapped<>(
-            DyTalk::new,
+            item -> this.talk(new Preloaded(item)),
             this.region.table(DyTalks.TBL)
                 .frame()
                 .through(
@@ -308,4 +446,121 @@ public final class DyTalks implements Talks {
                 )
         );
     }
+
+    @Override
+    public Archive archive(final String name) {
+        return new DyArchive(this.region, name);
+    }
+
+    /**
+     * Make a talk from the item.
+     * @param item The item
+     * @return Talk
+     * @throws IOException If fails
+     */
+    private Talk talk(final Preloaded item) throws IOException {
+        final Talk talk;
+        if (this.snapshots > 0) {
+            talk = new DySourced(
+                item,
+                new DyEvents(this.region, item.get(DyTalks.HASH).getS()),
+                this.metrics, this.codec, this.snapshots
+            );
+        } else {
+            talk = new DyTalk(item, this.metrics, this.codec);
+        }
+        return talk;
+    }
+
+    /**
+     * Load all attributes of all items, in as few requests as possible.
+     *
+     * <p>Items that are not found (deleted in the meantime) are
+     * returned with nothing loaded.</p>
+     *
+     * @param items Items with their keys
+     * @return The same items, with all attributes loaded
+     * @throws IOException If fails
+     */
+    private List<Preloaded> preloaded(final List<Item> items)
+        throws IOException {
+        final String table = this.region.table(DyTalks.TBL).name();
+        final Map<String, Map<String, AttributeValue>> loaded =
+            new HashMap<>(items.size());
+        final AmazonDynamoDB aws = this.region.aws();
+        try {
+            for (int start = 0; start < items.size();
+                start += DyTalks.BATCH) {
+                this.batch(
+                    aws, table,
+                    items.subList(
+                        start, Math.min(items.size(), start + DyTalks.BATCH)
+                    ),
+                    loaded
+                );
+            }
+        } finally {
+            aws.shutdown();
+        }
+        final List<Preloaded> all = new ArrayList<>(items.size());
+        for (final Item item : items) {
+            final String name = item.get(DyTalks.HASH).getS();
+            if (loaded.containsKey(name)) {
+                all.add(new Preloaded(item, loaded.get(name)));
+            } else {
+                all.add(new Preloaded(item));
+            }
+        }
+        return all;
+    }
+
+    /**
+     * Load one batch of items, retrying unprocessed keys with
+     * an exponential delay, as DynamoDB asks when it throttles.
+     * @param aws The client
+     * @param table Name of the table
+     * @param items Items with their keys, no more than {@link #BATCH}
+     * @param loaded Where to put attributes loaded, by names
+     * @throws IOException If fails
+     */
+    private void batch(final AmazonDynamoDB aws, final String table,
+        final List<Item> items,
+        final Map<String, Map<String, AttributeValue>> loaded)
+        throws IOException {
+        final List<Map<String, AttributeValue>> keys = new LinkedList<>();
+        for (final Item item : items) {
+            keys.add(
+                new Attributes().with(DyTalks.HASH, item.get(DyTalks.HASH))
+            );
+        }
+        Map<String, KeysAndAttributes> request = Collections.singletonMap(
+            table,
+            new KeysAndAttributes().withKeys(keys).withConsistentRead(true)
+        );
+        long delay = DyTalks.BACKOFF;
+        while (true) {
+            final BatchGetItemResult result = aws.batchGetItem(
+                new BatchGetItemRequest(request)
+            );
+            for (final Map<String, AttributeValue> attrs
+                : result.getResponses().getOrDefault(
+                    table, Collections.emptyList()
+                )) {
+                loaded.put(attrs.get(DyTalks.HASH).getS(), attrs);
+            }
+            this.metrics.add("dynamo-batch-reads", 1L);
+            request = result.getUnprocessedKeys();
+            if (request.isEmpty()) {
+                break;
+            }
+            this.metrics.add("dynamo-batch-retries", 1L);
+            try {
+                TimeUnit.MILLISECONDS.sleep(delay);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            }
+            delay = Math.min(delay * 2L, DyTalks.BACKOFF_MAX);
+        }
+    }
 }
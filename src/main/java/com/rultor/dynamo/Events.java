@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.dynamo;
+
+import com.jcabi.aspects.Immutable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Events of a talk: batches of Xembly directives, in order.
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@Immutable
+interface Events {
+
+    /**
+     * All events after the given one.
+     * @param seq Sequence number of the event
+     * @return Xembly scripts of all later events, in order
+     * @throws IOException If fails
+     */
+    List<String> after(long seq) throws IOException;
+
+    /**
+     * Add an event, unless an event with this number already exists.
+     * @param seq Its sequence number
+     * @param script Its Xembly script
+     * @return TRUE if added, FALSE if the number is taken already
+     * @throws IOException If fails
+     */
+    boolean add(long seq, String script) throws IOException;
+
+    /**
+     * Delete all events up to the given one, including it.
+     * @param seq Sequence number of the event
+     * @throws IOException If fails
+     */
+    void prune(long seq) throws IOException;
+
+    /**
+     * When the latest event was added.
+     * @return Time in milliseconds, zero if there are no events
+     * @throws IOException If fails
+     */
+    long latest() throws IOException;
+
+}
@@ -0,0 +1,265 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.dynamo;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeAction;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.AttributeValueUpdate;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.ExpectedAttributeValue;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.jcabi.dynamo.AttributeUpdates;
+import com.jcabi.dynamo.Attributes;
+import com.jcabi.dynamo.Frame;
+import com.jcabi.dynamo.Item;
+import com.jcabi.dynamo.Table;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Item with all its attributes loaded in advance.
+ *
+ * <p>Attributes are served from memory until the first write, after
+ * which they are stale and all reads go to the original item.</p>
+ *
+ * <p>It also knows how to write on condition that nobody else
+ * has written since the given version, see
+ * {@link #put(Map, long)}.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@ToString(of = "origin")
+@EqualsAndHashCode(of = "origin")
+final class Preloaded implements Item {
+
+    /**
+     * Original item.
+     */
+    private final transient Item origin;
+
+    /**
+     * All its attributes, as they were loaded.
+     */
+    private final transient Attributes attrs;
+
+    /**
+     * Are they stale already?
+     */
+    private final transient AtomicBoolean stale;
+
+    /**
+     * Ctor, with nothing loaded, all reads go to the original item.
+     * @param item Original item
+     */
+    Preloaded(final Item item) {
+        this(item, Collections.emptyMap(), true);
+    }
+
+    /**
+     * Ctor.
+     * @param item Original item
+     * @param loaded All attributes of it
+     */
+    Preloaded(final Item item, final Map<String, AttributeValue> loaded) {
+        this(item, loaded, false);
+    }
+
+    /**
+     * Ctor.
+     * @param item Original item
+     * @param loaded All attributes of it
+     * @param old Are they stale already?
+     */
+    private Preloaded(final Item item, final Map<String, AttributeValue> loaded,
+        final boolean old) {
+        this.origin = item;
+        this.attrs = new Attributes(loaded);
+        this.stale = new AtomicBoolean(old);
+    }
+
+    @Override
+    public AttributeValue get(final String name) throws IOException {
+        final AttributeValue value;
+        if (this.stale.get()) {
+            value = this.origin.get(name);
+        } else if (this.attrs.containsKey(name)) {
+            value = this.attrs.get(name);
+        } else {
+            throw new NoSuchElementException(
+                String.format("Attribute \"%s\" is absent", name)
+            );
+        }
+        return value;
+    }
+
+    @Override
+    public boolean has(final String name) throws IOException {
+        final boolean has;
+        if (this.stale.get()) {
+            has = this.origin.has(name);
+        } else {
+            has = this.attrs.containsKey(name);
+        }
+        return has;
+    }
+
+    @Override
+    public Map<String, AttributeValue> put(final String name,
+        final AttributeValueUpdate value) throws IOException {
+        this.stale.set(true);
+        return this.origin.put(name, value);
+    }
+
+    @Override
+    public Map<String, AttributeValue> put(
+        final Map<String, AttributeValueUpdate> values) throws IOException {
+        this.stale.set(true);
+        return this.origin.put(values);
+    }
+
+    /**
+     * Write, only if the item is still of the given version.
+     *
+     * <p>The version is in {@link DyTalks#ATTR_VERSION}, zero means
+     * that the attribute is absent. The write increments it.
+     * Either way, the attributes in memory are stale afterwards.</p>
+     *
+     * @param values Attributes to write
+     * @param version The version the values were calculated from
+     * @return TRUE if written, FALSE if somebody else wrote first
+     * @throws IOException If fails
+     */
+    boolean put(final Map<String, AttributeValueUpdate> values,
+        final long version) throws IOException {
+        this.stale.set(true);
+        final ExpectedAttributeValue expected;
+        if (version == 0L) {
+            expected = new ExpectedAttributeValue(false);
+        } else {
+            expected = new ExpectedAttributeValue(
+                new AttributeValue().withN(Long.toString(version))
+            );
+        }
+        final Table table = this.origin.frame().table();
+        final AmazonDynamoDB aws = table.region().aws();
+        boolean done;
+        try {
+            aws.updateItem(
+                new UpdateItemRequest()
+                    .withTableName(table.name())
+                    .withKey(
+                        new Attributes().with(
+                            DyTalks.HASH, this.origin.get(DyTalks.HASH)
+                        )
+                    )
+                    .withAttributeUpdates(
+                        new AttributeUpdates(values).with(
+                            DyTalks.ATTR_VERSION,
+                            new AttributeValueUpdate(
+                                new AttributeValue().withN(
+                                    Long.toString(version + 1L)
+                                ),
+                                AttributeAction.PUT
+                            )
+                        )
+                    )
+                    .withExpected(
+                        Collections.singletonMap(
+                            DyTalks.ATTR_VERSION, expected
+                        )
+                    )
+            );
+            done = true;
+        } catch (final ConditionalCheckFailedException ex) {
+            done = false;
+        } finally {
+            aws.shutdown();
+        }
+        return done;
+    }
+
+    /**
+     * All attributes, as they are at one moment.
+     *
+     * <p>If the attributes in memory are not stale, they are used.
+     * Otherwise, they are all read again, with one consistent
+     * request.</p>
+     *
+     * @return Item with all attributes in memory
+     * @throws IOException If fails
+     */
+    Preloaded loaded() throws IOException {
+        final Preloaded loaded;
+        if (this.stale.get()) {
+            final Table table = this.origin.frame().table();
+            final AmazonDynamoDB aws = table.region().aws();
+            try {
+                final Map<String, AttributeValue> attributes = aws.getItem(
+                    new GetItemRequest()
+                        .withTableName(table.name())
+                        .withKey(
+                            new Attributes().with(
+                                DyTalks.HASH, this.origin.get(DyTalks.HASH)
+                            )
+                        )
+                        .withConsistentRead(true)
+                ).getItem();
+                if (attributes == null) {
+                    throw new NoSuchElementException(
+                        String.format("Item %s is absent", this.origin)
+                    );
+                }
+                loaded = new Preloaded(this.origin, attributes);
+            } finally {
+                aws.shutdown();
+            }
+        } else {
+            loaded = this;
+        }
+        return loaded;
+    }
+
+    @Override
+    public Frame frame() {
+        return this.origin.frame();
+    }
+
+}
@@ -0,0 +1,986 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.local;
+
+import com.google.common.util.concurrent.Striped;
+import com.jcabi.log.Logger;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+import lombok.ToString;
+
+/**
+ * Append-only log of talks, in memory-mapped segment files.
+ *
+ * <p>Every change of a talk appends its full state to the last segment,
+ * as a record: size of the body (four bytes), CRC32 of the body (four
+ * bytes) and the body itself. All indexes are kept in memory and are
+ * rebuilt from the segments when the journal is opened. A record which
+ * is cut in the middle or doesn't match its CRC (the process crashed
+ * while writing it) ends the segment, and the rest of it is wiped.</p>
+ *
+ * <p>When the segments contain at least twice as many bytes as all live
+ * records, live records are copied to new segments and old segments are
+ * deleted, from the oldest one. The biggest number ever given to a talk
+ * is copied too, in a record of its own, so that the number of a deleted
+ * talk is never given again.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@ToString(of = "dir")
+@SuppressWarnings({ "PMD.TooManyMethods", "PMD.GodClass" })
+final class Journal implements Closeable {
+
+    /**
+     * Default size of a segment, in bytes.
+     */
+    private static final int SIZE = 1 << 26;
+
+    /**
+     * Size of the record header, in bytes.
+     */
+    private static final int HEADER = 8;
+
+    /**
+     * How many locks are shared by all talks.
+     */
+    private static final int STRIPES = 64;
+
+    /**
+     * Record of a talk.
+     */
+    private static final byte PUT = 1;
+
+    /**
+     * Record of a deletion.
+     */
+    private static final byte DELETE = 2;
+
+    /**
+     * Record of the biggest number ever given to a talk.
+     */
+    private static final byte TOP = 3;
+
+    /**
+     * Order of talks: by date of update, then by name.
+     */
+    private static final Comparator<Journal.Row> ORDER = Comparator
+        .comparingLong((Journal.Row row) -> row.updated)
+        .thenComparing(row -> row.name);
+
+    /**
+     * Directory with segments.
+     */
+    private final transient File dir;
+
+    /**
+     * Size of a segment.
+     */
+    private final transient int size;
+
+    /**
+     * Lock: writers and compaction exclude readers.
+     */
+    private final transient ReadWriteLock lock;
+
+    /**
+     * Locks of talks, by their names, see {@link #talk(String)}.
+     */
+    private final transient Striped<Lock> talks;
+
+    /**
+     * Segments, by their numbers.
+     */
+    private final transient TreeMap<Integer, Journal.Segment> segments;
+
+    /**
+     * Talks by name.
+     */
+    private final transient Map<String, Journal.Row> names;
+
+    /**
+     * Names of talks by number.
+     */
+    private final transient Map<Long, String> numbers;
+
+    /**
+     * Active talks.
+     */
+    private final transient NavigableSet<Journal.Row> active;
+
+    /**
+     * Archived talks.
+     */
+    private final transient NavigableSet<Journal.Row> archived;
+
+    /**
+     * Talks by repository.
+     */
+    private final transient Map<String, NavigableSet<Journal.Row>> repos;
+
+    /**
+     * Total bytes of live records.
+     */
+    private transient long bytes;
+
+    /**
+     * The biggest number ever given to a talk.
+     */
+    private transient long top;
+
+    /**
+     * Ctor.
+     * @param path Directory with segments
+     * @throws IOException If fails
+     */
+    Journal(final File path) throws IOException {
+        this(path, Journal.SIZE);
+    }
+
+    /**
+     * Ctor.
+     * @param path Directory with segments
+     * @param max Size of a segment
+     * @throws IOException If fails
+     */
+    Journal(final File path, final int max) throws IOException {
+        this.dir = path;
+        this.size = max;
+        this.lock = new ReentrantReadWriteLock();
+        this.talks = Striped.lock(Journal.STRIPES);
+        this.segments = new TreeMap<>();
+        this.names = new ConcurrentHashMap<>(0);
+        this.numbers = new ConcurrentHashMap<>(0);
+        this.active = new TreeSet<>(Journal.ORDER);
+        this.archived = new TreeSet<>(Journal.ORDER);
+        this.repos = new ConcurrentHashMap<>(0);
+        this.recover();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.lock.writeLock().lock();
+        try {
+            for (final Journal.Segment seg : this.segments.values()) {
+                seg.close();
+            }
+            this.segments.clear();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Lock of the talk, to be held while its XML is read, modified
+     * and saved back, so that concurrent changes don't overwrite
+     * each other.
+     * @param name Its name
+     * @return The lock
+     */
+    public Lock talk(final String name) {
+        return this.talks.get(name);
+    }
+
+    /**
+     * Talk exists?
+     * @param name Its name
+     * @return TRUE if it exists
+     */
+    public boolean exists(final String name) {
+        return this.names.containsKey(name);
+    }
+
+    /**
+     * Talk exists?
+     * @param number Its number
+     * @return TRUE if it exists
+     */
+    public boolean exists(final long number) {
+        return this.numbers.containsKey(number);
+    }
+
+    /**
+     * Name of the talk by its number.
+     * @param number The number
+     * @return Its name
+     */
+    public String name(final long number) {
+        final String name = this.numbers.get(number);
+        if (name == null) {
+            throw new NoSuchElementException(
+                String.format("Talk #%d not found", number)
+            );
+        }
+        return name;
+    }
+
+    /**
+     * Number of the talk.
+     * @param name Its name
+     * @return Its number
+     */
+    public long number(final String name) {
+        return this.row(name).number;
+    }
+
+    /**
+     * When the talk was updated.
+     * @param name Its name
+     * @return Time in milliseconds
+     */
+    public long updated(final String name) {
+        return this.row(name).updated;
+    }
+
+    /**
+     * XML of the talk, as it was saved.
+     * @param name Its name
+     * @return Encoded XML
+     * @throws IOException If fails
+     */
+    public byte[] xml(final String name) throws IOException {
+        this.lock.readLock().lock();
+        try {
+            return Journal.parse(this.body(this.row(name))).xml;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Create a new talk.
+     * @param repo Repository it's in
+     * @param name Its name
+     * @param xml Encoded XML, where number will be formatted in
+     * @return Its number
+     * @throws IOException If fails
+     */
+    public long create(final String repo, final String name,
+        final XmlOf xml) throws IOException {
+        this.lock.writeLock().lock();
+        try {
+            if (this.exists(name)) {
+                throw new IllegalArgumentException(
+                    String.format("Talk \"%s\" already exists", name)
+                );
+            }
+            final long number = this.top + 1L;
+            this.append(
+                new Journal.Row(
+                    name, number, repo, true,
+                    System.currentTimeMillis(), xml.apply(number)
+                )
+            );
+            return number;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Save new XML of the talk.
+     * @param name Its name
+     * @param xml Encoded XML
+     * @throws IOException If fails
+     */
+    public void save(final String name, final byte[] xml) throws IOException {
+        this.lock.writeLock().lock();
+        try {
+            final Journal.Row row = this.row(name);
+            this.append(
+                new Journal.Row(
+                    name, row.number, row.repo, row.live,
+                    System.currentTimeMillis(), xml
+                )
+            );
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Make the talk active or archived.
+     * @param name Its name
+     * @param yes TRUE if active
+     * @throws IOException If fails
+     */
+    public void active(final String name, final boolean yes)
+        throws IOException {
+        this.lock.writeLock().lock();
+        try {
+            final Journal.Row row = this.row(name);
+            this.append(
+                new Journal.Row(
+                    name, row.number, row.repo, yes,
+                    System.currentTimeMillis(),
+                    Journal.parse(this.body(row)).xml
+                )
+            );
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Delete the talk.
+     * @param name Its name
+     * @throws IOException If fails
+     */
+    public void delete(final String name) throws IOException {
+        this.lock.writeLock().lock();
+        try {
+            this.row(name);
+            this.append(new Journal.Row(name));
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Names of active talks, the least recently updated first.
+     * @return Names
+     */
+    public List<String> active() {
+        this.lock.readLock().lock();
+        try {
+            return Journal.names(this.active);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Names of archived talks, the most recently updated first.
+     * @return Names
+     */
+    public List<String> archived() {
+        this.lock.readLock().lock();
+        try {
+            return Journal.names(this.archived.descendingSet());
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Names of talks of the repository, updated before the given time,
+     * the most recently updated first.
+     * @param repo The repository
+     * @param before Time in milliseconds
+     * @return Names
+     */
+    public List<String> siblings(final String repo, final long before) {
+        this.lock.readLock().lock();
+        try {
+            final NavigableSet<Journal.Row> rows = this.repos.get(repo);
+            final List<String> list;
+            if (rows == null) {
+                list = new ArrayList<>(0);
+            } else {
+                list = Journal.names(
+                    rows.headSet(new Journal.Row("", before), false)
+                        .descendingSet()
+                );
+            }
+            return list;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Read all segments and rebuild indexes.
+     * @throws IOException If fails
+     */
+    private void recover() throws IOException {
+        if (this.dir.mkdirs()) {
+            Logger.info(this, "Directory %s created", this.dir);
+        }
+        final File[] files = this.dir.listFiles(
+            (folder, name) -> name.endsWith(Journal.Segment.SUFFIX)
+        );
+        final TreeMap<Integer, File> sorted = new TreeMap<>();
+        if (files != null) {
+            for (final File file : files) {
+                sorted.put(Journal.Segment.number(file), file);
+            }
+        }
+        for (final Map.Entry<Integer, File> ent : sorted.entrySet()) {
+            final Journal.Segment seg = new Journal.Segment(
+                ent.getValue(), ent.getKey(), this.size
+            );
+            this.segments.put(ent.getKey(), seg);
+            int pos = 0;
+            while (true) {
+                final byte[] body = seg.record(pos);
+                if (body.length == 0) {
+                    break;
+                }
+                if (body[0] == Journal.TOP) {
+                    this.top = Math.max(
+                        this.top, ByteBuffer.wrap(body).getLong(1)
+                    );
+                } else {
+                    this.index(
+                        Journal.parse(body).at(seg.num, pos, body.length)
+                    );
+                }
+                pos += Journal.HEADER + body.length;
+            }
+            seg.wipe(pos);
+        }
+        if (this.segments.isEmpty()) {
+            this.segments.put(
+                1, new Journal.Segment(this.dir, 1, this.size)
+            );
+        }
+        Logger.info(
+            this, "%d talks recovered from %d segment(s) in %s",
+            this.names.size(), this.segments.size(), this.dir
+        );
+    }
+
+    /**
+     * Append a record to the last segment and index it.
+     * @param row The record
+     * @throws IOException If fails
+     */
+    private void append(final Journal.Row row) throws IOException {
+        final byte[] body = row.body();
+        if (body.length + Journal.HEADER > this.size) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Talk \"%s\" is too big (%d bytes), segment is %d bytes",
+                    row.name, body.length, this.size
+                )
+            );
+        }
+        Journal.Segment seg = this.segments.lastEntry().getValue();
+        if (!seg.fits(body.length)) {
+            seg = this.roll();
+        }
+        this.index(row.at(seg.num, seg.append(body), body.length));
+        if (this.segments.size() > 2 && this.total() > this.bytes << 1) {
+            this.compact();
+        }
+    }
+
+    /**
+     * Start a new segment.
+     * @return The segment
+     * @throws IOException If fails
+     */
+    private Journal.Segment roll() throws IOException {
+        final int num = this.segments.lastKey() + 1;
+        final Journal.Segment seg = new Journal.Segment(
+            this.dir, num, this.size
+        );
+        this.segments.put(num, seg);
+        return seg;
+    }
+
+    /**
+     * Copy all live records to new segments and delete the old ones.
+     * @throws IOException If fails
+     */
+    private void compact() throws IOException {
+        final Collection<Journal.Segment> old = new ArrayList<>(
+            this.segments.values()
+        );
+        final List<Journal.Row> rows = new ArrayList<>(this.names.values());
+        rows.sort(
+            Comparator.comparingInt((Journal.Row row) -> row.segment)
+                .thenComparingInt(row -> row.offset)
+        );
+        Journal.Segment seg = this.roll();
+        seg.append(
+            ByteBuffer.allocate(Byte.BYTES + Long.BYTES)
+                .put(Journal.TOP).putLong(this.top).array()
+        );
+        for (final Journal.Row row : rows) {
+            final byte[] body = this.body(row);
+            if (!seg.fits(body.length)) {
+                seg = this.roll();
+            }
+            this.index(row.at(seg.num, seg.append(body), body.length));
+        }
+        for (final Journal.Segment done : old) {
+            this.segments.remove(done.num);
+            done.close();
+            Files.delete(done.file.toPath());
+        }
+        Logger.info(
+            this, "%d talks compacted from %d into %d segment(s) in %s",
+            rows.size(), old.size(), this.segments.size(), this.dir
+        );
+    }
+
+    /**
+     * Update indexes with a record, just appended or recovered.
+     * @param row The record
+     */
+    private void index(final Journal.Row row) {
+        final Journal.Row before = this.names.remove(row.name);
+        if (before != null) {
+            this.active.remove(before);
+            this.archived.remove(before);
+            this.repos.get(before.repo).remove(before);
+            this.numbers.remove(before.number);
+            this.bytes -= Journal.HEADER + before.length;
+        }
+        if (!row.deleted()) {
+            this.names.put(row.name, row);
+            this.numbers.put(row.number, row.name);
+            if (row.live) {
+                this.active.add(row);
+            } else {
+                this.archived.add(row);
+            }
+            this.repos.computeIfAbsent(
+                row.repo, repo -> new TreeSet<>(Journal.ORDER)
+            ).add(row);
+            this.bytes += Journal.HEADER + row.length;
+            this.top = Math.max(this.top, row.number);
+        }
+    }
+
+    /**
+     * Total bytes in all segments.
+     * @return Bytes
+     */
+    private long total() {
+        long total = 0L;
+        for (final Journal.Segment seg : this.segments.values()) {
+            total += seg.end;
+        }
+        return total;
+    }
+
+    /**
+     * Row of the talk.
+     * @param name Its name
+     * @return The row
+     */
+    private Journal.Row row(final String name) {
+        final Journal.Row row = this.names.get(name);
+        if (row == null) {
+            throw new NoSuchElementException(
+                String.format("Talk \"%s\" not found", name)
+            );
+        }
+        return row;
+    }
+
+    /**
+     * Body of the record.
+     * @param row The row
+     * @return Body
+     */
+    private byte[] body(final Journal.Row row) {
+        return this.segments.get(row.segment).read(
+            row.offset + Journal.HEADER, row.length
+        );
+    }
+
+    /**
+     * Names of the rows.
+     * @param rows The rows
+     * @return Names
+     */
+    private static List<String> names(final Collection<Journal.Row> rows) {
+        final List<String> list = new ArrayList<>(rows.size());
+        for (final Journal.Row row : rows) {
+            list.add(row.name);
+        }
+        return list;
+    }
+
+    /**
+     * Parse body of the record.
+     * @param body The body
+     * @return Row, without its position
+     * @throws IOException If fails
+     */
+    private static Journal.Row parse(final byte[] body) throws IOException {
+        final DataInputStream input = new DataInputStream(
+            new ByteArrayInputStream(body)
+        );
+        final byte kind = input.readByte();
+        final String name = input.readUTF();
+        final Journal.Row row;
+        if (kind == Journal.DELETE) {
+            row = new Journal.Row(name);
+        } else {
+            final long number = input.readLong();
+            final String repo = input.readUTF();
+            final boolean live = input.readBoolean();
+            final long updated = input.readLong();
+            final byte[] xml = new byte[input.readInt()];
+            input.readFully(xml);
+            row = new Journal.Row(name, number, repo, live, updated, xml);
+        }
+        return row;
+    }
+
+    /**
+     * Encoded XML of a new talk, by its number.
+     */
+    @FunctionalInterface
+    interface XmlOf {
+        /**
+         * Make XML.
+         * @param number Number of the talk
+         * @return Encoded XML
+         * @throws IOException If fails
+         */
+        byte[] apply(long number) throws IOException;
+    }
+
+    /**
+     * Record of a talk and its position in the journal.
+     */
+    @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+    private static final class Row {
+        /**
+         * Name of the talk.
+         */
+        private final String name;
+        /**
+         * Its number, zero if deleted.
+         */
+        private final long number;
+        /**
+         * Its repository.
+         */
+        private final String repo;
+        /**
+         * Is it active?
+         */
+        private final boolean live;
+        /**
+         * When updated.
+         */
+        private final long updated;
+        /**
+         * Encoded XML, empty if it's not loaded.
+         */
+        private final byte[] xml;
+        /**
+         * Number of the segment.
+         */
+        private final int segment;
+        /**
+         * Offset of the record in the segment.
+         */
+        private final int offset;
+        /**
+         * Length of the body of the record.
+         */
+        private final int length;
+        /**
+         * Ctor of a deletion.
+         * @param label Name of the talk
+         */
+        Row(final String label) {
+            this(label, 0L);
+        }
+        /**
+         * Ctor of a search key.
+         * @param label Name of the talk
+         * @param time When updated
+         */
+        Row(final String label, final long time) {
+            this(label, 0L, "", false, time, new byte[0]);
+        }
+        /**
+         * Ctor.
+         * @param label Name of the talk
+         * @param num Its number
+         * @param rpo Its repository
+         * @param act Is it active
+         * @param time When updated
+         * @param body Encoded XML
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        Row(final String label, final long num, final String rpo,
+            final boolean act, final long time, final byte[] body) {
+            this(label, num, rpo, act, time, body, 0, 0, 0);
+        }
+        /**
+         * Ctor.
+         * @param label Name of the talk
+         * @param num Its number
+         * @param rpo Its repository
+         * @param act Is it active
+         * @param time When updated
+         * @param body Encoded XML
+         * @param seg Number of the segment
+         * @param pos Offset of the record in the segment
+         * @param len Length of the body of the record
+         * @checkstyle ParameterNumberCheck (5 lines)
+         */
+        Row(final String label, final long num, final String rpo,
+            final boolean act, final long time, final byte[] body,
+            final int seg, final int pos, final int len) {
+            this.name = label;
+            this.number = num;
+            this.repo = rpo;
+            this.live = act;
+            this.updated = time;
+            this.xml = body;
+            this.segment = seg;
+            this.offset = pos;
+            this.length = len;
+        }
+        /**
+         * The same row, at this position, without XML in memory.
+         * @param seg Number of the segment
+         * @param pos Offset in the segment
+         * @param len Length of the body
+         * @return New row
+         */
+        Journal.Row at(final int seg, final int pos, final int len) {
+            return new Journal.Row(
+                this.name, this.number, this.repo, this.live, this.updated,
+                new byte[0], seg, pos, len
+            );
+        }
+        /**
+         * Is it a deletion?
+         * @return TRUE if deleted
+         */
+        boolean deleted() {
+            return this.number == 0L;
+        }
+        /**
+         * Body of the record.
+         * @return Bytes
+         * @throws IOException If fails
+         */
+        byte[] body() throws IOException {
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (DataOutputStream output = new DataOutputStream(baos)) {
+                if (this.deleted()) {
+                    output.writeByte(Journal.DELETE);
+                    output.writeUTF(this.name);
+                } else {
+                    output.writeByte(Journal.PUT);
+                    output.writeUTF(this.name);
+                    output.writeLong(this.number);
+                    output.writeUTF(this.repo);
+                    output.writeBoolean(this.live);
+                    output.writeLong(this.updated);
+                    output.writeInt(this.xml.length);
+                    output.write(this.xml);
+                }
+            }
+            return baos.toByteArray();
+        }
+    }
+
+    /**
+     * Memory-mapped segment file.
+     */
+    private static final class Segment implements Closeable {
+        /**
+         * Suffix of file names.
+         */
+        private static final String SUFFIX = ".seg";
+        /**
+         * The file.
+         */
+        private final File file;
+        /**
+         * Its number.
+         */
+        private final int num;
+        /**
+         * The channel.
+         */
+        private final FileChannel channel;
+        /**
+         * Mapped content.
+         */
+        private final MappedByteBuffer buffer;
+        /**
+         * End of data.
+         */
+        private int end;
+        /**
+         * Ctor.
+         * @param path Directory or the file
+         * @param number Its number
+         * @param bytes Size of it
+         * @throws IOException If fails
+         */
+        Segment(final File path, final int number, final int bytes)
+            throws IOException {
+            if (path.isDirectory()) {
+                this.file = new File(
+                    path, String.format("%08d%s", number, Segment.SUFFIX)
+                );
+            } else {
+                this.file = path;
+            }
+            this.num = number;
+            this.channel = FileChannel.open(
+                this.file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE
+            );
+            this.buffer = this.channel.map(
+                FileChannel.MapMode.READ_WRITE, 0L, bytes
+            );
+        }
+        @Override
+        public void close() throws IOException {
+            this.buffer.force();
+            this.channel.close();
+        }
+        /**
+         * Number of the segment by its file.
+         * @param file The file
+         * @return Number
+         */
+        static int number(final File file) {
+            final String name = file.getName();
+            return Integer.parseInt(
+                name.substring(0, name.length() - Segment.SUFFIX.length())
+            );
+        }
+        /**
+         * Body of a valid record at this position.
+         * @param pos Position
+         * @return Body or empty array if there is no valid record
+         */
+        byte[] record(final int pos) {
+            byte[] body = new byte[0];
+            if (pos + Journal.HEADER <= this.buffer.capacity()) {
+                final int len = this.buffer.getInt(pos);
+                if (len > 0
+                    && len <= this.buffer.capacity() - pos - Journal.HEADER) {
+                    final byte[] data = this.read(pos + Journal.HEADER, len);
+                    if (Segment.crc(data) == this.buffer.getInt(pos + 4)) {
+                        body = data;
+                    }
+                }
+            }
+            return body;
+        }
+        /**
+         * Record will fit?
+         * @param len Length of the body
+         * @return TRUE if it fits
+         */
+        boolean fits(final int len) {
+            return this.end + Journal.HEADER + len <= this.buffer.capacity();
+        }
+        /**
+         * Append a record.
+         * @param body Body of the record
+         * @return Its offset
+         */
+        int append(final byte[] body) {
+            final int pos = this.end;
+            this.buffer.put(pos + Journal.HEADER, body);
+            this.buffer.putInt(pos + 4, Segment.crc(body));
+            this.buffer.putInt(pos, body.length);
+            this.buffer.force(pos, Journal.HEADER + body.length);
+            this.end = pos + Journal.HEADER + body.length;
+            return pos;
+        }
+        /**
+         * Read bytes.
+         * @param pos Position
+         * @param len How many
+         * @return Bytes
+         */
+        byte[] read(final int pos, final int len) {
+            final byte[] data = new byte[len];
+            this.buffer.get(pos, data);
+            return data;
+        }
+        /**
+         * Wipe everything after the end of valid records.
+         * @param pos End of valid records
+         */
+        void wipe(final int pos) {
+            this.end = pos;
+            if (pos + Journal.HEADER <= this.buffer.capacity()
+                && this.buffer.getInt(pos) != 0) {
+                Logger.warn(
+                    this, "Broken record at %d in %s, wiped",
+                    pos, this.file
+                );
+                final byte[] zeros = new byte[this.buffer.capacity() - pos];
+                this.buffer.put(pos, zeros);
+                this.buffer.force();
+            }
+        }
+        /**
+         * CRC32 of bytes.
+         * @param data Bytes
+         * @return CRC
+         */
+        private static int crc(final byte[] data) {
+            final CRC32 crc = new CRC32();
+            crc.update(data);
+            return (int) crc.getValue();
+        }
+    }
+
+}
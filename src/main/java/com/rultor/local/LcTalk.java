@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.local;
+
+import com.jcabi.xml.StrictXML;
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import com.jcabi.xml.XSLDocument;
+import com.rultor.spi.Codec;
+import com.rultor.spi.Talk;
+import java.io.IOException;
+import java.util.Date;
+import java.util.concurrent.locks.Lock;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.cactoos.list.ListOf;
+import org.w3c.dom.Node;
+import org.xembly.Directive;
+import org.xembly.ImpossibleModificationException;
+import org.xembly.Xembler;
+
+/**
+ * Talk in a local {@link Journal}.
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@ToString(of = "name")
+@EqualsAndHashCode(of = { "journal", "name" })
+final class LcTalk implements Talk {
+
+    /**
+     * The journal.
+     */
+    private final transient Journal journal;
+
+    /**
+     * Name of the talk.
+     */
+    private final transient String name;
+
+    /**
+     * Codec of the XML.
+     */
+    private final transient Codec codec;
+
+    /**
+     * Ctor.
+     * @param jrnl The journal
+     * @param label Name of the talk
+     * @param cdc Codec of the XML
+     */
+    LcTalk(final Journal jrnl, final String label, final Codec cdc) {
+        this.journal = jrnl;
+        this.name = label;
+        this.codec = cdc;
+    }
+
+    @Override
+    public Long number() {
+        return this.journal.number(this.name);
+    }
+
+    @Override
+    public String name() {
+        return this.name;
+    }
+
+    @Override
+    public Date updated() {
+        return new Date(this.journal.updated(this.name));
+    }
+
+    @Override
+    public XML read() throws IOException {
+        return Talk.UPGRADE.transform(
+            new XMLDocument(this.codec.decode(this.journal.xml(this.name)))
+        );
+    }
+
+    @Override
+    public void modify(final Iterable<Directive> dirs) throws IOException {
+        if (!new ListOf<>(dirs).isEmpty()) {
+            final Lock lock = this.journal.talk(this.name);
+            lock.lock();
+            try {
+                this.apply(dirs);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public void active(final boolean yes) throws IOException {
+        this.journal.active(this.name, yes);
+    }
+
+    /**
+     * Read, modify and save the XML, while the talk is locked.
+     * @param dirs Directives
+     * @throws IOException If fails
+     */
+    private void apply(final Iterable<Directive> dirs) throws IOException {
+        final XML xml = this.read();
+        final Node node = xml.node();
+        try {
+            new Xembler(dirs).apply(node);
+        } catch (final ImpossibleModificationException ex) {
+            throw new IllegalStateException(
+                String.format(
+                    "failed to apply %s to %s",
+                    dirs.toString(), xml
+                ),
+                ex
+            );
+        }
+        if (!node.isEqualNode(xml.node())) {
+            this.journal.save(
+                this.name,
+                this.codec.encode(
+                    XSLDocument.STRIP.transform(
+                        new StrictXML(new XMLDocument(node), Talk.SCHEMA)
+                    ).toString()
+                )
+            );
+        }
+    }
+
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.local;
+
+import com.jcabi.aspects.Tv;
+import com.jcabi.log.Logger;
+import com.rultor.spi.Archive;
+import com.rultor.spi.Codec;
+import com.rultor.spi.Talk;
+import com.rultor.spi.Talks;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.NoSuchElementException;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.cactoos.iterable.Filtered;
+import org.cactoos.iterable.HeadOf;
+import org.cactoos.iterable.Mapped;
+
+/**
+ * Talks in a local directory, for installations without AWS.
+ *
+ * <p>All talks are stored in a {@link Journal}, which is opened
+ * (and recovered, if the process was killed) in the constructor.
+ * Archives of talks are files in the {@code archive} subdirectory,
+ * see {@link Archive.InFile}.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@ToString
+@EqualsAndHashCode(of = "journal")
+@SuppressWarnings("PMD.TooManyMethods")
+public final class LcTalks implements Talks, Closeable {
+
+    /**
+     * The journal.
+     */
+    private final transient Journal journal;
+
+    /**
+     * Codec of talk XML.
+     */
+    private final transient Codec codec;
+
+    /**
+     * Directory with archives of talks.
+     */
+    private final transient File archives;
+
+    /**
+     * Ctor.
+     * @param dir Directory with the journal
+     * @throws IOException If fails
+     */
+    public LcTalks(final File dir) throws IOException {
+        this(new Journal(dir), Codec.DEFAULT, new File(dir, "archive"));
+    }
+
+    /**
+     * Ctor.
+     * @param jrnl The journal
+     * @param cdc Codec of talk XML
+     * @param arcs Directory with archives of talks
+     */
+    LcTalks(final Journal jrnl, final Codec cdc, final File arcs) {
+        this.journal = jrnl;
+        this.codec = cdc;
+        this.archives = arcs;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.journal.close();
+    }
+
+    @Override
+    public boolean exists(final long number) {
+        return this.journal.exists(number);
+    }
+
+    @Override
+    public Talk get(final long number) {
+        return new LcTalk(
+            this.journal, this.journal.name(number), this.codec
+        );
+    }
+
+    @Override
+    public boolean exists(final String name) {
+        return this.journal.exists(name);
+    }
+
+    @Override
+    public Talk get(final String name) {
+        if (!this.journal.exists(name)) {
+            throw new NoSuchElementException(
+                String.format("Talk \"%s\" not found", name)
+            );
+        }
+        return new LcTalk(this.journal, name, this.codec);
+    }
+
+    @Override
+    public void delete(final String name) {
+        try {
+            if (this.journal.exists(name)) {
+                Files.deleteIfExists(this.file(name).toPath());
+            }
+            this.journal.delete(name);
+        } catch (final IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Override
+    public void create(final String repo, final String name)
+        throws IOException {
+        final long number = this.journal.create(
+            repo, name,
+            num -> this.codec.encode(
+                String.format("<talk name='%s' number='%d'/>", name, num)
+            )
+        );
+        Logger.info(this, "talk '%s' created as #%d", name, number);
+    }
+
+    @Override
+    public Iterable<Talk> active() {
+        return new Mapped<>(
+            name -> new LcTalk(this.journal, name, this.codec),
+            this.journal.active()
+        );
+    }
+
+    @Override
+    public Iterable<Talk> recent() {
+        return new HeadOf<>(
+            Tv.FIVE,
+            new Filtered<>(
+                talk -> !talk.read().nodes("/talk[@public='true']").isEmpty(),
+                new Mapped<>(
+                    name -> new LcTalk(this.journal, name, this.codec),
+                    this.journal.archived()
+                )
+            )
+        );
+    }
+
+    @Override
+    public Iterable<Talk> siblings(final String repo, final Date since) {
+        return new HeadOf<>(
+            Tv.TWENTY,
+            new Mapped<>(
+                name -> new LcTalk(this.journal, name, this.codec),
+                this.journal.siblings(repo, since.getTime())
+            )
+        );
+    }
+
+    @Override
+    public Archive archive(final String name) {
+        return new Archive.InFile(this.file(name));
+    }
+
+    /**
+     * File with the archive of the talk.
+     * @param name Name of the talk
+     * @return File
+     */
+    private File file(final String name) {
+        return new File(
+            this.archives,
+            String.format("%d.xml", this.journal.number(name))
+        );
+    }
+
+}
@@ -0,0 +1,294 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.profiles;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.json.JsonObject;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.apache.commons.codec.binary.Base64InputStream;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CharSequenceInputStream;
+import org.cactoos.Input;
+import org.cactoos.Scalar;
+import org.cactoos.scalar.IoChecked;
+
+/**
+ * Assets of repositories, stored on local disk by their blob SHA.
+ *
+ * <p>A blob is fetched by its SHA only if its file is not on disk yet,
+ * and is streamed straight into that file, once. Then it is read from
+ * that file by a stream, which is opened only when it is read for the
+ * first time and is closed at its end. Permissions to use assets of
+ * a repo are checked once per TTL.</p>
+ *
+ * <p>Assets are often secrets, that's why the directory is readable
+ * only by the owner of the process, and only a limited number of the
+ * most recently used blobs stay there. A blob is touched before its
+ * stream is returned, and blobs touched during the last cycle of the
+ * routine are never deleted, since their streams may be still not
+ * opened.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@ToString(of = "dir")
+@EqualsAndHashCode(of = "dir")
+final class Assets {
+
+    /**
+     * How many permissions to keep.
+     */
+    private static final long MAX = 1000L;
+
+    /**
+     * How many blobs to keep on disk.
+     */
+    private static final int BLOBS = 256;
+
+    /**
+     * For how long a touched blob is not deleted, in milliseconds: longer
+     * than a cycle of the routine may take.
+     */
+    private static final long GRACE = TimeUnit.MINUTES.toMillis(10L);
+
+    /**
+     * Directory with blobs.
+     */
+    private final transient File dir;
+
+    /**
+     * Permissions already checked, by keys.
+     */
+    private final transient Cache<List<Object>, Boolean> permits;
+
+    /**
+     * How many blobs to keep on disk.
+     */
+    private final transient int max;
+
+    /**
+     * Ctor.
+     * @param home Directory with blobs
+     * @param msec For how long a permission is not checked again
+     */
+    Assets(final File home, final long msec) {
+        this(home, msec, Assets.BLOBS);
+    }
+
+    /**
+     * Ctor.
+     * @param home Directory with blobs
+     * @param msec For how long a permission is not checked again
+     * @param blobs How many blobs to keep on disk
+     */
+    Assets(final File home, final long msec, final int blobs) {
+        this.dir = home;
+        this.max = blobs;
+        this.permits = CacheBuilder.newBuilder()
+            .maximumSize(Assets.MAX)
+            .expireAfterWrite(msec, TimeUnit.MILLISECONDS)
+            .build();
+    }
+
+    /**
+     * Check the permission, unless it was checked recently.
+     * @param key Who uses what
+     * @param check The check, which throws if it's not permitted
+     * @throws IOException If fails
+     */
+    public void permit(final List<Object> key, final Scalar<?> check)
+        throws IOException {
+        if (this.permits.getIfPresent(key) == null) {
+            new IoChecked<>(check).value();
+            this.permits.put(key, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Get the blob, from the disk or from the JSON of the content.
+     * @param json JSON of the content, with its "sha" and "content"
+     * @return Stream with the decoded blob
+     * @throws IOException If fails
+     */
+    public InputStream blob(final JsonObject json) throws IOException {
+        return this.blob(
+            json.getString("sha"),
+            () -> new Base64InputStream(
+                new CharSequenceInputStream(
+                    json.getString("content"), StandardCharsets.US_ASCII
+                )
+            )
+        );
+    }
+
+    /**
+     * Get the blob, from the disk or from its source.
+     * @param sha SHA of the blob
+     * @param source Its content, read only if it's not on disk yet
+     * @return Stream with the blob
+     * @throws IOException If fails
+     */
+    public InputStream blob(final String sha, final Input source)
+        throws IOException {
+        final File file = new File(this.dir, sha);
+        if (!file.setLastModified(System.currentTimeMillis())) {
+            this.mkdir();
+            final Path temp = Files.createTempFile(
+                this.dir.toPath(), "blob", ".tmp"
+            );
+            try (
+                InputStream input = new IoChecked<>(source::stream).value();
+                OutputStream output = Files.newOutputStream(temp)
+            ) {
+                IOUtils.copy(input, output);
+            }
+            Files.move(
+                temp, file.toPath(),
+                StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING
+            );
+            this.trim();
+        }
+        return new Assets.Lazy(file);
+    }
+
+    /**
+     * Make the directory, readable only by the owner, if it's absent.
+     * @throws IOException If fails
+     */
+    private void mkdir() throws IOException {
+        if (!this.dir.exists()) {
+            Files.createDirectories(this.dir.toPath());
+        }
+        if (FileSystems.getDefault().supportedFileAttributeViews()
+            .contains("posix")) {
+            Files.setPosixFilePermissions(
+                this.dir.toPath(), PosixFilePermissions.fromString("rwx------")
+            );
+        }
+    }
+
+    /**
+     * Delete the least recently used blobs, if there are too many,
+     * except those touched recently.
+     */
+    private void trim() {
+        final File[] files = this.dir.listFiles(
+            file -> !file.getName().endsWith(".tmp")
+        );
+        if (files != null && files.length > this.max) {
+            final long edge = System.currentTimeMillis() - Assets.GRACE;
+            Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+            for (int idx = 0; idx < files.length - this.max; ++idx) {
+                if (files[idx].lastModified() < edge) {
+                    FileUtils.deleteQuietly(files[idx]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stream of a file, opened on first read and closed at its end.
+     */
+    private static final class Lazy extends InputStream {
+        /**
+         * The file.
+         */
+        private final File file;
+        /**
+         * Stream of it, NULL if not opened yet, empty if closed.
+         */
+        private InputStream stream;
+        /**
+         * Ctor.
+         * @param src The file
+         */
+        Lazy(final File src) {
+            super();
+            this.file = src;
+        }
+        @Override
+        public int read() throws IOException {
+            final int data = this.opened().read();
+            if (data < 0) {
+                this.close();
+            }
+            return data;
+        }
+        @Override
+        public int read(final byte[] buf, final int off, final int len)
+            throws IOException {
+            final int size = this.opened().read(buf, off, len);
+            if (size < 0) {
+                this.close();
+            }
+            return size;
+        }
+        @Override
+        public void close() throws IOException {
+            if (this.stream != null) {
+                this.stream.close();
+            }
+            this.stream = InputStream.nullInputStream();
+        }
+        /**
+         * Open the stream, if not yet.
+         * @return The stream
+         * @throws IOException If fails
+         */
+        private InputStream opened() throws IOException {
+            if (this.stream == null) {
+                this.stream = Files.newInputStream(this.file.toPath());
+            }
+            return this.stream;
+        }
+    }
+
+}
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.profiles;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.jcabi.github.Repo;
+import com.jcabi.xml.XML;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.json.JsonObject;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.apache.commons.codec.binary.Base64;
+import org.cactoos.Func;
+import org.cactoos.func.IoCheckedFunc;
+
+/**
+ * Parsed configuration files of repositories, by repo, branch and
+ * SHA of the file.
+ *
+ * <p>The file is not fetched from GitHub again during the TTL.
+ * After the TTL it is fetched and compared by its blob SHA:
+ * if it didn't change, the parsed XML is used again, without
+ * decoding, validating and parsing the YAML.</p>
+ *
+ * <p>The class is thread-safe.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@ToString(of = "ttl")
+@EqualsAndHashCode(of = "cache")
+final class Configs {
+
+    /**
+     * How many configs to keep.
+     */
+    private static final long MAX = 1000L;
+
+    /**
+     * Parsed files, by repos and branches.
+     */
+    private final transient Cache<List<Object>, Configs.Blob> cache;
+
+    /**
+     * For how long a file is not fetched again, in milliseconds.
+     */
+    private final transient long ttl;
+
+    /**
+     * Ctor.
+     * @param msec For how long a file is not fetched again, in milliseconds
+     */
+    Configs(final long msec) {
+        this.ttl = msec;
+        this.cache = CacheBuilder.newBuilder()
+            .maximumSize(Configs.MAX)
+            .expireAfterAccess(1L, TimeUnit.DAYS)
+            .build();
+    }
+
+    /**
+     * Get the file, parsed.
+     * @param repo The repo
+     * @param branch The branch
+     * @param path Path of the file
+     * @param parse How to parse its content, which is empty if the
+     *  file is absent
+     * @return XML
+     * @throws IOException If fails
+     * @checkstyle ParameterNumberCheck (5 lines)
+     */
+    public XML get(final Repo repo, final String branch, final String path,
+        final Func<String, XML> parse) throws IOException {
+        final List<Object> key = Arrays.asList(repo, branch, path);
+        final long now = System.currentTimeMillis();
+        final Configs.Blob before = this.cache.getIfPresent(key);
+        final XML xml;
+        if (before != null && now - before.checked < this.ttl) {
+            xml = before.xml;
+        } else {
+            final String sha;
+            final String text;
+            if (repo.contents().exists(path, branch)) {
+                final JsonObject json = repo.contents().get(path, branch).json();
+                sha = json.getString("sha");
+                text = new String(
+                    Base64.decodeBase64(json.getString("content")),
+                    StandardCharsets.UTF_8
+                );
+            } else {
+                sha = "";
+                text = "";
+            }
+            if (before != null && before.sha.equals(sha)) {
+                xml = before.xml;
+            } else {
+                xml = new IoCheckedFunc<>(parse).apply(text);
+            }
+            this.cache.put(key, new Configs.Blob(sha, xml, now));
+        }
+        return xml;
+    }
+
+    /**
+     * Parsed file.
+     */
+    private static final class Blob {
+        /**
+         * SHA of the file, empty if absent.
+         */
+        private final String sha;
+        /**
+         * Parsed content.
+         */
+        private final XML xml;
+        /**
+         * When it was fetched from GitHub.
+         */
+        private final long checked;
+        /**
+         * Ctor.
+         * @param hash SHA of the file
+         * @param doc Parsed content
+         * @param time When it was fetched
+         */
+        Blob(final String hash, final XML doc, final long time) {
+            this.sha = hash;
+            this.xml = doc;
+            this.checked = time;
+        }
+    }
+
+}
@@ -30,25 +30,34 @@
 package com.rultor.profiles;
 
 import com.jcabi.aspects.Immutable;
-import com.jcabi.github.Content;
 import com.jcabi.github.Coordinates;
 import com.jcabi.github.Repo;
 import com.jcabi.github.RepoCommit;
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.response.JsonResponse;
 import com.jcabi.xml.XML;
 import com.rultor.spi.Profile;
-import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.HttpURLConnection;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonStructure;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import org.apache.commons.codec.binary.Base64;
@@ -83,6 +92,23 @@ final class GithubProfile implements Profile {
      */
     private static final String FILE = ".rultor.yml";
 
+    /**
+     * Parsed .rultor.yml files of all repos, fetched at most once
+     * a minute, that is once per cycle of the routine.
+     */
+    private static final Configs CONFIGS = new Configs(
+        TimeUnit.MINUTES.toMillis(1L)
+    );
+
+    /**
+     * Assets of all repos, on local disk, with permissions to use
+     * them checked at most once a minute.
+     */
+    private static final Assets ASSETS = new Assets(
+        new File(System.getProperty("java.io.tmpdir"), "rultor-assets"),
+        TimeUnit.MINUTES.toMillis(1L)
+    );
+
     /**
      * Path pattern.
      */
@@ -126,7 +152,10 @@ final class GithubProfile implements Profile {
 
     @Override
     public XML read() throws IOException {
-        return new YamlXML(this.yml()).get();
+        return GithubProfile.CONFIGS.get(
+            this.repo, this.branch, GithubProfile.FILE,
+            yml -> new YamlXML(this.validated(yml)).get()
+        );
     }
 
     @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
@@ -135,11 +164,12 @@ final class GithubProfile implements Profile {
         final XML xml = this.read();
         final List<XML> nodes = xml.nodes("/p/entry[@key='assets']/entry");
         final List<Entry<String, InputStream>> entries = new LinkedList<>();
+        final Map<String, JsonObject> configs = new HashMap<>(0);
         for (final XML node : nodes) {
             entries.add(
                 new MapEntry<>(
                     node.xpath("@key").get(0),
-                    this.asset(node.xpath("text()").get(0))
+                    this.asset(node.xpath("text()").get(0), configs)
                 )
             );
         }
@@ -149,10 +179,12 @@ final class GithubProfile implements Profile {
     /**
      * Convert address to input stream.
      * @param path Path of the asset, e.g. "yegor/rultor#pom.xml"
+     * @param configs JSON of .rultor.yml files of repos already seen
      * @return Stream with content
      * @throws IOException If fails
      */
-    private InputStream asset(final String path) throws IOException {
+    private InputStream asset(final String path,
+        final Map<String, JsonObject> configs) throws IOException {
         final Matcher matcher = GithubProfile.PATH.matcher(path);
         if (!matcher.matches()) {
             throw new Profile.ConfigException(
@@ -162,6 +194,32 @@ final class GithubProfile implements Profile {
         final Repo rpo = this.repo.github().repos().get(
             new Coordinates.Simple(matcher.group(1))
         );
+        final String coords = rpo.coordinates().toString()
+            .toLowerCase(Locale.ENGLISH);
+        if (!configs.containsKey(coords)) {
+            configs.put(coords, this.config(rpo));
+        }
+        final JsonObject config = configs.get(coords);
+        GithubProfile.ASSETS.permit(
+            Arrays.asList(
+                this.repo.coordinates().toString().toLowerCase(Locale.ENGLISH),
+                this.branch, coords, config.getString("sha")
+            ),
+            () -> {
+                this.checkFriends(rpo, config);
+                return true;
+            }
+        );
+        return this.buildAssetStream(rpo, matcher.group(2));
+    }
+
+    /**
+     * Fetch .rultor.yml of the repo with assets.
+     * @param rpo The repo
+     * @return JSON of the file, with its "sha" and "content"
+     * @throws IOException If fails
+     */
+    private JsonObject config(final Repo rpo) throws IOException {
         if (!rpo.contents().exists(GithubProfile.FILE, this.branch)) {
             throw new Profile.ConfigException(
                 String.format(
@@ -171,17 +229,27 @@ final class GithubProfile implements Profile {
                 )
             );
         }
+        return rpo.contents().get(GithubProfile.FILE, this.branch).json();
+    }
+
+    /**
+     * Check that the repo allows us to use its assets.
+     * @param rpo The repo
+     * @param config JSON of its .rultor.yml
+     * @throws IOException If fails
+     */
+    private void checkFriends(final Repo rpo, final JsonObject config)
+        throws IOException {
+        final XML yml = new YamlXML(
+            new String(
+                Base64.decodeBase64(config.getString("content")),
+                StandardCharsets.UTF_8
+            )
+        ).get();
         final Collection<String> friends = new ListOf<>(
             new Mapped<>(
                 input -> input.toLowerCase(Locale.ENGLISH),
-                new YamlXML(
-                    new String(
-                        new Content.Smart(
-                            rpo.contents().get(GithubProfile.FILE)
-                        ).decoded(),
-                        StandardCharsets.UTF_8
-                    )
-                ).get().xpath("/p/entry[@key='friends']/item/text()")
+                yml.xpath("/p/entry[@key='friends']/item/text()")
             )
         );
         final String coords = this.repo.coordinates()
@@ -196,29 +264,23 @@ final class GithubProfile implements Profile {
                 )
             );
         }
-        this.checkTrustees(rpo);
-        return this.buildAssetStream(rpo, matcher.group(2));
+        this.checkTrustees(rpo, yml);
     }
 
     /**
      * Check that everything is OK with trustees.
      * @param rpo The repo
+     * @param yml Its ".rultor.yml", already parsed
      * @throws IOException If fails
      */
     @SuppressWarnings("unchecked")
-    private void checkTrustees(final Repo rpo) throws IOException {
+    private void checkTrustees(final Repo rpo, final XML yml)
+        throws IOException {
         final Collection<String> trustees =
             new ListOf<>(
                 new Mapped<>(
                     input -> input.toLowerCase(Locale.ENGLISH),
-                    new YamlXML(
-                        new String(
-                            new Content.Smart(
-                                rpo.contents().get(GithubProfile.FILE)
-                            ).decoded(),
-                            StandardCharsets.UTF_8
-                        )
-                    ).get().xpath("/p/entry[@key='trustees']/item/text()")
+                    yml.xpath("/p/entry[@key='trustees']/item/text()")
                 )
             );
         if (!trustees.isEmpty()) {
@@ -265,48 +327,87 @@ final class GithubProfile implements Profile {
     /**
      * Build the InputStream for the given filename in the given Repository,
      * dealing with errors.
+     *
+     * <p>The SHA of the blob is taken from the listing of its directory,
+     * which has no content, and the content is fetched raw only if
+     * the blob is not on disk yet. If the listing doesn't have the file,
+     * the content is fetched with its SHA, as JSON.</p>
+     *
      * @param rpo Repository where the file is.
      * @param filename Name of the file.
-     * @return An InputStream with the Base64 contents of the file.
+     * @return An InputStream with the decoded contents of the file.
      * @throws IOException If something goes wrong.
      */
     private InputStream buildAssetStream(final Repo rpo, final String filename)
         throws IOException {
-        if (!rpo.contents().exists(filename, this.branch)) {
-            throw new Profile.ConfigException(
-                String.format(
-                    "%s on %s does not exist.",
-                    filename, this.branch
-                )
+        final JsonObject listed = this.listed(rpo, filename);
+        final InputStream stream;
+        if (listed == null) {
+            if (!rpo.contents().exists(filename, this.branch)) {
+                throw new Profile.ConfigException(
+                    String.format(
+                        "%s on %s does not exist.",
+                        filename, this.branch
+                    )
+                );
+            }
+            stream = GithubProfile.ASSETS.blob(
+                rpo.contents().get(filename, this.branch).json()
+            );
+        } else {
+            stream = GithubProfile.ASSETS.blob(
+                listed.getString("sha"),
+                () -> rpo.contents().get(filename, this.branch).raw()
             );
         }
-        return new ByteArrayInputStream(
-            Base64.decodeBase64(
-                new Content.Smart(
-                    rpo.contents().get(filename)
-                ).content()
-            )
-        );
+        return stream;
     }
 
     /**
-     * Get .rultor.yml file.
-     * @return Its content
+     * Find the file in the listing of its directory.
+     * @param rpo Repository where the file is
+     * @param filename Name of the file
+     * @return JSON of the file, without its content, or NULL if
+     *  it is not listed
      * @throws IOException If fails
      */
-    private String yml() throws IOException {
-        final String yml;
-        if (this.repo.contents()
-            .exists(GithubProfile.FILE, this.branch)) {
-            yml = new String(
-                new Content.Smart(
-                    this.repo.contents().get(GithubProfile.FILE)
-                ).decoded(),
-                StandardCharsets.UTF_8
-            );
-        } else {
-            yml = "";
+    private JsonObject listed(final Repo rpo, final String filename)
+        throws IOException {
+        final Response response = rpo.github().entry().uri()
+            .path("/repos")
+            .path(rpo.coordinates().user())
+            .path(rpo.coordinates().repo())
+            .path("contents")
+            .path(filename.substring(0, Math.max(0, filename.lastIndexOf('/'))))
+            .queryParam("ref", this.branch)
+            .back()
+            .method(Request.GET)
+            .fetch();
+        JsonObject found = null;
+        if (response.status() == HttpURLConnection.HTTP_OK) {
+            final JsonStructure json = response.as(JsonResponse.class)
+                .json().read();
+            if (json instanceof JsonArray) {
+                for (final JsonObject item
+                    : ((JsonArray) json).getValuesAs(JsonObject.class)) {
+                    if (filename.equals(item.getString("path", ""))
+                        && "file".equals(item.getString("type", ""))) {
+                        found = item;
+                        break;
+                    }
+                }
+            }
         }
+        return found;
+    }
+
+    /**
+     * Validate .rultor.yml file.
+     * @param yml Its content, empty if it is absent
+     * @return The same content
+     * @throws IOException If it is not valid
+     */
+    private String validated(final String yml) throws IOException {
         final List<String> msg = this.validate(yml);
         if (!msg.isEmpty()) {
             throw new Profile.ConfigException(
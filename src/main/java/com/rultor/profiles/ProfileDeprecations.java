@@ -31,11 +31,10 @@ package com.rultor.profiles;
 
 import com.jcabi.ssh.Shell;
 import com.jcabi.ssh.Ssh;
-import com.jcabi.xml.XML;
 import com.rultor.spi.Profile;
+import com.rultor.spi.Settings;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.List;
 import org.apache.commons.io.input.NullInputStream;
 import org.apache.commons.lang3.StringUtils;
 
@@ -85,7 +84,7 @@ public final class ProfileDeprecations {
      */
     public void print(final Shell shell) throws IOException {
         try {
-            if (!ProfileDeprecations.empty(this.profile.read())) {
+            if (!ProfileDeprecations.empty(Settings.of(this.profile))) {
                 ProfileDeprecations.output(ProfileDeprecations.CONTENT, shell);
             }
         } catch (final Profile.ConfigException ex) {
@@ -100,7 +99,7 @@ public final class ProfileDeprecations {
      *  profile
      */
     public boolean empty() throws IOException {
-        return ProfileDeprecations.empty(this.profile.read());
+        return ProfileDeprecations.empty(Settings.of(this.profile));
     }
 
     /**
@@ -121,25 +120,13 @@ public final class ProfileDeprecations {
 
     /**
      * Indicates whether there is a deprecation notice or not.
-     * @param prof The XML representation of the profile to test
+     * @param prof The parsed profile to test
      * @return True if there is no deprecation notice, false otherwise
      */
-    private static boolean empty(final XML prof) {
-        final List<XML> images = prof.nodes(
-            "/p/entry[@key='docker']/entry[@key='image']"
-        );
-        final String def = "yegor256/rultor-image";
-        boolean empty = true;
-        if (images.isEmpty()) {
-            empty = false;
-        } else {
-            for (final XML image : images) {
-                if (def.equals(image.node().getTextContent())) {
-                    empty = false;
-                    break;
-                }
-            }
-        }
-        return empty;
+    private static boolean empty(final Settings prof) {
+        return prof.has("docker", "image")
+            && !"yegor256/rultor-image".equals(
+                prof.get("docker", "image").text()
+            );
     }
 }
@@ -29,23 +29,32 @@
  */
 package com.rultor.profiles;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.jcabi.aspects.Immutable;
 import com.jcabi.xml.XML;
 import com.jcabi.xml.XMLDocument;
 import com.rultor.spi.Profile;
 import java.util.List;
 import java.util.Map;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
-import org.xembly.Directive;
-import org.xembly.Directives;
-import org.xembly.Xembler;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 import org.yaml.snakeyaml.Yaml;
 import org.yaml.snakeyaml.error.YAMLException;
 
 /**
  * YAML into XML.
  *
+ * <p>The DOM is built right from the objects SnakeYAML returns, without
+ * rendering it to a string and parsing it back. Documents already built
+ * are kept in memory by SHA-256 of the YAML, so the same ".rultor.yml"
+ * read by a few profiles is converted only once.</p>
+ *
  * @author Yegor Bugayenko (yegor256@gmail.com)
  * @version $Id$
  * @since 1.0
@@ -55,6 +64,19 @@ import org.yaml.snakeyaml.error.YAMLException;
 @EqualsAndHashCode(of = "yaml")
 final class YamlXML {
 
+    /**
+     * Documents already built, by SHA-256 of their YAML.
+     */
+    private static final Cache<String, XML> BUILT = CacheBuilder.newBuilder()
+        .maximumSize(256L)
+        .build();
+
+    /**
+     * DOM factory, not thread-safe.
+     */
+    private static final DocumentBuilderFactory DOMS =
+        DocumentBuilderFactory.newInstance();
+
     /**
      * Yaml.
      */
@@ -73,44 +95,93 @@ final class YamlXML {
      * @return XML
      */
     public XML get() {
-        final Yaml parser = new Yaml();
-        final Directives dirs = new Directives().add("p");
+        final String sha = DigestUtils.sha256Hex(this.yaml);
+        XML xml = YamlXML.BUILT.getIfPresent(sha);
+        if (xml == null) {
+            xml = this.dom();
+            YamlXML.BUILT.put(sha, xml);
+        }
+        return xml;
+    }
+
+    /**
+     * Build XML, without the cache.
+     * @return XML
+     */
+    XML dom() {
+        final Document doc;
+        synchronized (YamlXML.DOMS) {
+            try {
+                doc = YamlXML.DOMS.newDocumentBuilder().newDocument();
+            } catch (final ParserConfigurationException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+        final Element root = doc.createElement("p");
+        doc.appendChild(root);
         if (!this.yaml.isEmpty()) {
+            final Object obj;
             try {
-                dirs.append(YamlXML.dirs(parser.load(this.yaml)));
+                obj = new Yaml().load(this.yaml);
             } catch (final YAMLException ex) {
                 throw new Profile.ConfigException(ex);
             }
+            YamlXML.append(root, obj);
         }
-        return new XMLDocument(new Xembler(dirs).xmlQuietly());
+        return new XMLDocument(doc);
     }
 
     /**
-     * Convert something to dirs.
+     * Append something to the element.
+     * @param parent The element
      * @param obj Object
-     * @return Dirs
      */
     @SuppressWarnings("unchecked")
-    private static Iterable<Directive> dirs(final Object obj) {
-        final Directives dirs = new Directives();
+    private static void append(final Element parent, final Object obj) {
+        final Document doc = parent.getOwnerDocument();
         if (obj instanceof Map) {
-            for (final Map.Entry<String, Object> ent
-                : ((Map<String, Object>) obj).entrySet()) {
-                dirs.add("entry")
-                    .attr("key", ent.getKey())
-                    .append(YamlXML.dirs(ent.getValue()))
-                    .up();
+            for (final Map.Entry<Object, Object> ent
+                : ((Map<Object, Object>) obj).entrySet()) {
+                final Element entry = doc.createElement("entry");
+                entry.setAttribute(
+                    "key", YamlXML.legal(String.valueOf(ent.getKey()))
+                );
+                YamlXML.append(entry, ent.getValue());
+                parent.appendChild(entry);
             }
         } else if (obj instanceof List) {
             for (final Object item : (Iterable<Object>) obj) {
-                dirs.add("item").append(YamlXML.dirs(item)).up();
+                final Element elm = doc.createElement("item");
+                YamlXML.append(elm, item);
+                parent.appendChild(elm);
+            }
+        } else if (obj != null) {
+            final String text = YamlXML.legal(obj.toString());
+            if (!text.isEmpty()) {
+                parent.appendChild(doc.createTextNode(text));
+            }
+        }
+    }
+
+    /**
+     * Make sure the text can be stored in XML.
+     * @param text The text
+     * @return The same text
+     */
+    private static String legal(final String text) {
+        for (int idx = 0; idx < text.length(); ++idx) {
+            final char chr = text.charAt(idx);
+            if (chr < ' ' && chr != '\t' && chr != '\n' && chr != '\r'
+                || chr == '\uFFFE' || chr == '\uFFFF') {
+                throw new Profile.ConfigException(
+                    String.format(
+                        "Character #%02X is not allowed in XML: \"%s\"",
+                        (int) chr, text
+                    )
+                );
             }
-        } else if (obj == null) {
-            dirs.set("");
-        } else {
-            dirs.set(obj.toString());
         }
-        return dirs;
+        return text;
     }
 
 }
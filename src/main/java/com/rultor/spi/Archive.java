@@ -0,0 +1,221 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.spi;
+
+import com.jcabi.aspects.Immutable;
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import org.apache.commons.text.StringEscapeUtils;
+import org.cactoos.iterable.Mapped;
+
+/**
+ * Archive of build logs of a talk, stored outside of its XML.
+ *
+ * <p>Every log is an XML element, exactly as it was in
+ * {@code /talk/archive} of the talk, for example:
+ * {@code <log id='a1b2c3' title='merge: 0 (SUCCESS)'>s3://...</log>}.
+ * Only the latest logs stay in the talk, older ones are moved
+ * here, see {@link Talks#archive(String)}.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ * @checkstyle ClassDataAbstractionCouplingCheck (500 lines)
+ */
+@Immutable
+public interface Archive {
+
+    /**
+     * Archive that is always empty.
+     */
+    Archive EMPTY = new Archive() {
+        @Override
+        public void add(final Iterable<XML> logs) {
+            throw new UnsupportedOperationException(
+                "This archive can't store logs"
+            );
+        }
+        @Override
+        public Iterable<XML> logs() {
+            return Collections.emptyList();
+        }
+        @Override
+        public List<XML> find(final String id) {
+            return Collections.emptyList();
+        }
+    };
+
+    /**
+     * Add logs, oldest first, ignoring the ones already here.
+     * @param logs The logs
+     * @throws IOException If fails
+     */
+    void add(Iterable<XML> logs) throws IOException;
+
+    /**
+     * All logs, newest first, loaded lazily, page by page.
+     * @return Logs
+     */
+    Iterable<XML> logs();
+
+    /**
+     * Find a log by its ID.
+     * @param id The ID of the log
+     * @return The log or an empty list, if it's not here
+     * @throws IOException If fails
+     */
+    List<XML> find(String id) throws IOException;
+
+    /**
+     * Archive in a local file, one log per line.
+     *
+     * <p>Logs are only appended to the end of the file, which is
+     * read entirely when they are listed.</p>
+     */
+    @Immutable
+    final class InFile implements Archive {
+        /**
+         * The file.
+         */
+        private final transient String path;
+        /**
+         * Ctor.
+         * @param file The file
+         */
+        public InFile(final File file) {
+            this.path = file.getAbsolutePath();
+        }
+        @Override
+        public void add(final Iterable<XML> logs) throws IOException {
+            final Set<String> ids = new HashSet<>(0);
+            for (final XML log : this.lines()) {
+                ids.add(log.xpath("@id").get(0));
+            }
+            final StringBuilder text = new StringBuilder(0);
+            for (final XML log : logs) {
+                if (ids.add(log.xpath("@id").get(0))) {
+                    text.append(Archive.InFile.line(log)).append('\n');
+                }
+            }
+            if (text.length() > 0) {
+                final File file = new File(this.path);
+                file.getParentFile().mkdirs();
+                Files.write(
+                    file.toPath(),
+                    text.toString().getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND
+                );
+            }
+        }
+        @Override
+        public Iterable<XML> logs() {
+            return () -> {
+                try {
+                    final List<XML> logs = this.lines();
+                    Collections.reverse(logs);
+                    return logs.iterator();
+                } catch (final IOException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            };
+        }
+        @Override
+        public List<XML> find(final String id) throws IOException {
+            final List<XML> found = new LinkedList<>();
+            for (final XML log : this.lines()) {
+                if (log.xpath("@id").get(0).equals(id)) {
+                    found.add(log);
+                    break;
+                }
+            }
+            return found;
+        }
+        /**
+         * All logs in the file, oldest first.
+         * @return Logs
+         * @throws IOException If fails
+         */
+        private List<XML> lines() throws IOException {
+            final List<XML> logs = new LinkedList<>();
+            final File file = new File(this.path);
+            if (file.exists()) {
+                for (final XML log : new Mapped<>(
+                    line -> new XMLDocument(line).nodes("/log").get(0),
+                    Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)
+                )) {
+                    logs.add(log);
+                }
+            }
+            return logs;
+        }
+        /**
+         * Print the log in one line.
+         * @param log The log
+         * @return XML of it, without line breaks
+         */
+        private static String line(final XML log) {
+            final List<String> index = log.xpath("@index");
+            final String attr;
+            if (index.isEmpty()) {
+                attr = "";
+            } else {
+                attr = String.format(" index=\"%s\"", index.get(0));
+            }
+            return String.format(
+                "<log id=\"%s\" title=\"%s\"%s>%s</log>",
+                Archive.InFile.escape(log.xpath("@id").get(0)),
+                Archive.InFile.escape(log.xpath("@title").get(0)),
+                attr,
+                Archive.InFile.escape(log.xpath("text()").get(0))
+            );
+        }
+        /**
+         * Escape the text for XML, including line breaks.
+         * @param text The text
+         * @return Escaped text
+         */
+        private static String escape(final String text) {
+            return StringEscapeUtils.escapeXml11(text)
+                .replace("\n", "&#10;")
+                .replace("\r", "&#13;");
+        }
+    }
+
+}
@@ -0,0 +1,246 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.spi;
+
+import com.jcabi.aspects.Immutable;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.cactoos.bytes.BytesOf;
+import org.cactoos.bytes.UncheckedBytes;
+import org.cactoos.io.ResourceOf;
+
+/**
+ * Compression of talk XML, as it's stored by {@link Talks}.
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@Immutable
+public interface Codec {
+
+    /**
+     * Default codec: writes with the talk dictionary, reads everything.
+     */
+    Codec DEFAULT = new Codec.Detected(
+        new Codec.Dictionary(
+            new UncheckedBytes(
+                new BytesOf(new ResourceOf("com/rultor/spi/talk.dict"))
+            ).asBytes()
+        )
+    );
+
+    /**
+     * Compress.
+     * @param xml The XML content
+     * @return Compressed content
+     * @throws IOException If fails
+     */
+    byte[] encode(String xml) throws IOException;
+
+    /**
+     * Decompress.
+     * @param bytes Compressed content
+     * @return The XML content
+     * @throws IOException If fails
+     */
+    String decode(byte[] bytes) throws IOException;
+
+    /**
+     * GZIP, without a header byte (the GZIP magic number plays its role).
+     *
+     * <p>This is how talks were stored before version 2.0.</p>
+     */
+    @Immutable
+    @ToString
+    @EqualsAndHashCode
+    final class Gzip implements Codec {
+        /**
+         * First byte of any GZIP stream.
+         */
+        public static final byte HEADER = (byte) GZIPInputStream.GZIP_MAGIC;
+
+        @Override
+        public byte[] encode(final String xml) throws IOException {
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            try (OutputStream output = new GZIPOutputStream(baos)) {
+                output.write(xml.getBytes(StandardCharsets.UTF_8));
+            }
+            return baos.toByteArray();
+        }
+
+        @Override
+        public String decode(final byte[] bytes) throws IOException {
+            try (InputStream input = new GZIPInputStream(
+                new ByteArrayInputStream(bytes)
+            )) {
+                return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    /**
+     * Deflate with a preset dictionary, trained on talk XML.
+     *
+     * <p>The first byte is {@link #HEADER}, the rest is a ZLIB stream.
+     * Since talks compressed this way can be decompressed only with
+     * exactly the same dictionary, the dictionary must never change.
+     * A new dictionary needs a new header byte.</p>
+     */
+    @Immutable
+    @ToString(of = {})
+    @EqualsAndHashCode
+    final class Dictionary implements Codec {
+        /**
+         * Header byte.
+         */
+        public static final byte HEADER = 1;
+
+        /**
+         * Size of the buffer.
+         */
+        private static final int BUFFER = 8192;
+
+        /**
+         * The dictionary.
+         */
+        @Immutable.Array
+        private final transient byte[] dict;
+
+        /**
+         * Ctor.
+         * @param bytes The dictionary
+         */
+        public Dictionary(final byte[] bytes) {
+            this.dict = Arrays.copyOf(bytes, bytes.length);
+        }
+
+        @Override
+        public byte[] encode(final String xml) {
+            final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try {
+                deflater.setDictionary(this.dict);
+                deflater.setInput(xml.getBytes(StandardCharsets.UTF_8));
+                deflater.finish();
+                final ByteArrayOutputStream baos = new ByteArrayOutputStream(
+                    Dictionary.BUFFER
+                );
+                baos.write(Dictionary.HEADER);
+                final byte[] buf = new byte[Dictionary.BUFFER];
+                while (!deflater.finished()) {
+                    baos.write(buf, 0, deflater.deflate(buf));
+                }
+                return baos.toByteArray();
+            } finally {
+                deflater.end();
+            }
+        }
+
+        @Override
+        public String decode(final byte[] bytes) throws IOException {
+            if (bytes.length == 0 || bytes[0] != Dictionary.HEADER) {
+                throw new IOException("Not compressed with the dictionary");
+            }
+            final Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(bytes, 1, bytes.length - 1);
+                final ByteArrayOutputStream baos = new ByteArrayOutputStream(
+                    bytes.length << 2
+                );
+                final byte[] buf = new byte[Dictionary.BUFFER];
+                while (!inflater.finished()) {
+                    final int len = inflater.inflate(buf);
+                    if (len == 0 && inflater.needsDictionary()) {
+                        inflater.setDictionary(this.dict);
+                    } else if (len == 0 && inflater.needsInput()) {
+                        throw new IOException("Truncated ZLIB stream");
+                    }
+                    baos.write(buf, 0, len);
+                }
+                return new String(baos.toByteArray(), StandardCharsets.UTF_8);
+            } catch (final DataFormatException ex) {
+                throw new IOException(ex);
+            } finally {
+                inflater.end();
+            }
+        }
+    }
+
+    /**
+     * Codec that writes with the dictionary and detects the format
+     * of what it reads, by the header byte.
+     */
+    @Immutable
+    @ToString
+    @EqualsAndHashCode
+    final class Detected implements Codec {
+        /**
+         * The codec to write with.
+         */
+        private final transient Codec.Dictionary dictionary;
+
+        /**
+         * Ctor.
+         * @param dict The codec to write with
+         */
+        public Detected(final Codec.Dictionary dict) {
+            this.dictionary = dict;
+        }
+
+        @Override
+        public byte[] encode(final String xml) throws IOException {
+            return this.dictionary.encode(xml);
+        }
+
+        @Override
+        public String decode(final byte[] bytes) throws IOException {
+            final String xml;
+            if (bytes.length > 0 && bytes[0] == Codec.Dictionary.HEADER) {
+                xml = this.dictionary.decode(bytes);
+            } else {
+                xml = new Codec.Gzip().decode(bytes);
+            }
+            return xml;
+        }
+    }
+
+}
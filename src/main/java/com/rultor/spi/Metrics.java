@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.spi;
+
+import com.jcabi.aspects.Immutable;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.ToString;
+
+/**
+ * Runtime counters, visible on the web front.
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@Immutable
+public interface Metrics {
+
+    /**
+     * Empty, which ignores everything.
+     */
+    Metrics EMPTY = new Metrics() {
+        @Override
+        public void add(final String name, final long delta) {
+            // nothing
+        }
+        @Override
+        public Map<String, Long> all() {
+            return Collections.emptyMap();
+        }
+    };
+
+    /**
+     * Add a value to the counter.
+     * @param name Name of the counter
+     * @param delta How much to add
+     */
+    void add(String name, long delta);
+
+    /**
+     * Get all counters.
+     * @return Counters, by name, sorted
+     */
+    Map<String, Long> all();
+
+    /**
+     * Simple, in memory.
+     */
+    @ToString
+    final class Simple implements Metrics {
+        /**
+         * Counters.
+         */
+        private final transient ConcurrentMap<String, LongAdder> counters =
+            new ConcurrentHashMap<>(0);
+        @Override
+        public void add(final String name, final long delta) {
+            this.counters.computeIfAbsent(name, key -> new LongAdder())
+                .add(delta);
+        }
+        @Override
+        public Map<String, Long> all() {
+            final Map<String, Long> map = new TreeMap<>();
+            for (final Map.Entry<String, LongAdder> ent
+                : this.counters.entrySet()) {
+                map.put(ent.getKey(), ent.getValue().sum());
+            }
+            return Collections.unmodifiableMap(map);
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.spi;
+
+import com.jcabi.aspects.Immutable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Nodes of a cluster, which process active talks together.
+ *
+ * <p>Every node holds a lease, which it renews on every
+ * {@link #alive()}, from a background thread, no matter how long
+ * its cycle takes. A node that didn't renew its lease for a while
+ * is considered dead, and its talks go to other nodes.</p>
+ *
+ * <p>Leases only tell what talks a node should take. While the ring
+ * of nodes changes, two of them may both think they own the same
+ * talk, that's why a node claims every talk with {@link #claim(String)}
+ * right before processing it, and runs the work of the leader only
+ * when {@link #lead()} says so. Both are atomic, only one node
+ * at a time wins.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@Immutable
+public interface Nodes {
+
+    /**
+     * Cluster of one node.
+     */
+    Nodes SINGLE = new Nodes() {
+        @Override
+        public String self() {
+            return "single";
+        }
+        @Override
+        public List<String> alive() {
+            return Collections.singletonList(this.self());
+        }
+        @Override
+        public boolean claim(final String talk) {
+            return true;
+        }
+        @Override
+        public boolean lead() {
+            return true;
+        }
+        @Override
+        public void leave() {
+            // nothing to release
+        }
+    };
+
+    /**
+     * Name of this node.
+     * @return Name
+     */
+    String self();
+
+    /**
+     * Renew the lease of this node and find all nodes alive.
+     * @return Names of all nodes with live leases, including this one,
+     *  in alphabetical order
+     * @throws IOException If fails
+     */
+    List<String> alive() throws IOException;
+
+    /**
+     * Claim the talk for this node, or renew the claim, if it's not
+     * claimed by any other node, or their claim has expired.
+     * @param talk Name of the talk
+     * @return TRUE if the talk is ours until the claim expires
+     * @throws IOException If fails
+     */
+    boolean claim(String talk) throws IOException;
+
+    /**
+     * Take the leadership of the cluster, or renew it, if there is no
+     * other leader, or its leadership has expired.
+     * @return TRUE if this node is the leader until it expires
+     * @throws IOException If fails
+     */
+    boolean lead() throws IOException;
+
+    /**
+     * Release the lease of this node, to let others take its talks.
+     * @throws IOException If fails
+     */
+    void leave() throws IOException;
+
+}
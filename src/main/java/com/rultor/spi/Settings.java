@@ -0,0 +1,357 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.spi;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.jcabi.xml.XML;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * Parsed section of a profile.
+ *
+ * <p>This is the same tree that {@link Profile#read()} returns in XML,
+ * walked only once: every {@code <entry>} becomes a child section, every
+ * {@code <item>} becomes a line in {@link #items()}, and the text of
+ * the element becomes {@link #text()}. Sections are immutable, so a
+ * single tree may be shared between all agents that read the profile
+ * while it is still in memory.</p>
+ *
+ * <p>The keys that agents read are available through typed accessors,
+ * like {@link #image()}, {@link #env()}, {@link #decrypt()},
+ * {@link #architects()} and {@link #script()}, which know their defaults
+ * and all forms they may be written in. Other keys are reachable by
+ * {@link #get(String...)}.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public final class Settings {
+
+    /**
+     * Empty section.
+     */
+    public static final Settings EMPTY = new Settings(
+        "", Collections.emptyList(), Collections.emptyMap()
+    );
+
+    /**
+     * Docker image, if it's not configured.
+     */
+    private static final String IMAGE = "yegor256/rultor-image";
+
+    /**
+     * Sections already parsed, by XML documents they were parsed from.
+     */
+    private static final Cache<XML, Settings> PARSED = CacheBuilder
+        .newBuilder()
+        .weakKeys()
+        .build();
+
+    /**
+     * Text of the element.
+     */
+    private final transient String txt;
+
+    /**
+     * Texts of items.
+     */
+    private final transient List<String> lines;
+
+    /**
+     * Child sections, by keys, in document order.
+     */
+    private final transient Map<String, Settings> kids;
+
+    /**
+     * Ctor.
+     * @param xml XML element with entries and items
+     */
+    public Settings(final XML xml) {
+        this(Settings.element(xml.node()));
+    }
+
+    /**
+     * Ctor.
+     * @param elm DOM element with entries and items
+     */
+    private Settings(final Element elm) {
+        final StringBuilder text = new StringBuilder(0);
+        final List<String> items = new LinkedList<>();
+        final Map<String, Settings> entries = new LinkedHashMap<>(0);
+        final NodeList children = elm.getChildNodes();
+        for (int idx = 0; idx < children.getLength(); ++idx) {
+            final Node child = children.item(idx);
+            if (child.getNodeType() == Node.TEXT_NODE
+                || child.getNodeType() == Node.CDATA_SECTION_NODE) {
+                text.append(child.getNodeValue());
+            } else if (child.getNodeType() == Node.ELEMENT_NODE) {
+                final Element kid = (Element) child;
+                if ("entry".equals(kid.getTagName())) {
+                    entries.put(kid.getAttribute("key"), new Settings(kid));
+                } else if ("item".equals(kid.getTagName())) {
+                    final String item = new Settings(kid).text();
+                    if (!item.isEmpty()) {
+                        items.add(item);
+                    }
+                }
+            }
+        }
+        this.txt = text.toString();
+        this.lines = Collections.unmodifiableList(items);
+        this.kids = Collections.unmodifiableMap(entries);
+    }
+
+    /**
+     * Ctor.
+     * @param text Text
+     * @param items Items
+     * @param entries Entries
+     */
+    private Settings(final String text, final List<String> items,
+        final Map<String, Settings> entries) {
+        this.txt = text;
+        this.lines = items;
+        this.kids = entries;
+    }
+
+    /**
+     * Parse the profile, or take the tree already parsed from the same
+     * XML document.
+     * @param profile The profile
+     * @return Root section
+     * @throws IOException If fails
+     */
+    public static Settings of(final Profile profile) throws IOException {
+        final XML xml = profile.read();
+        try {
+            return Settings.PARSED.get(xml, () -> new Settings(xml));
+        } catch (final ExecutionException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Get a section by a path of keys.
+     * @param keys Keys, from this section down
+     * @return Section found or {@link #EMPTY} if absent
+     */
+    public Settings get(final String... keys) {
+        Settings section = this;
+        for (final String key : keys) {
+            section = section.kids.getOrDefault(key, Settings.EMPTY);
+        }
+        return section;
+    }
+
+    /**
+     * Does a section exist, by a path of keys.
+     * @param keys Keys, from this section down
+     * @return TRUE if it exists
+     */
+    public boolean has(final String... keys) {
+        Settings section = this;
+        boolean has = true;
+        for (final String key : keys) {
+            if (!section.kids.containsKey(key)) {
+                has = false;
+                break;
+            }
+            section = section.kids.get(key);
+        }
+        return has;
+    }
+
+    /**
+     * Text of the section.
+     * @return Text, empty if none
+     */
+    public String text() {
+        return this.txt;
+    }
+
+    /**
+     * Text of the section or the default one, if it's empty.
+     * @param def Default
+     * @return Text
+     */
+    public String text(final String def) {
+        final String text;
+        if (this.txt.isEmpty()) {
+            text = def;
+        } else {
+            text = this.txt;
+        }
+        return text;
+    }
+
+    /**
+     * Texts of all items, in document order.
+     * @return Items
+     */
+    public List<String> items() {
+        return this.lines;
+    }
+
+    /**
+     * Child sections, by keys, in document order.
+     * @return Entries
+     */
+    public Map<String, Settings> entries() {
+        return this.kids;
+    }
+
+    /**
+     * Docker image to run commands in, from "docker/image".
+     * @return Image name
+     */
+    public String image() {
+        return this.get("docker", "image").text(Settings.IMAGE);
+    }
+
+    /**
+     * Do commands run as root in Docker, from "docker/as_root".
+     * @return TRUE if they do
+     */
+    public boolean asRoot() {
+        return Boolean.TRUE.toString().equals(
+            this.get("docker", "as_root").text()
+        );
+    }
+
+    /**
+     * Environment variables of this section, from its "env", as
+     * NAME=value, whether they are written as a list, as a map or
+     * as lines of text.
+     * @return Variables, in document order
+     */
+    public List<String> env() {
+        final Settings env = this.get("env");
+        final List<String> vars = new LinkedList<>();
+        if (!env.items().isEmpty()) {
+            vars.addAll(env.items());
+        } else if (!env.entries().isEmpty()) {
+            for (final Map.Entry<String, Settings> ent
+                : env.entries().entrySet()) {
+                vars.add(
+                    String.format("%s=%s", ent.getKey(), ent.getValue().text())
+                );
+            }
+        } else {
+            vars.addAll(env.rows());
+        }
+        return vars;
+    }
+
+    /**
+     * Files to decrypt, from "decrypt", by names of decrypted files.
+     * @return Sections with paths of encrypted files
+     */
+    public Map<String, Settings> decrypt() {
+        return this.get("decrypt").entries();
+    }
+
+    /**
+     * Logins of architects, from "architect".
+     * @return Logins, as they are written
+     */
+    public List<String> architects() {
+        return this.get("architect").items();
+    }
+
+    /**
+     * Script of this command section, like "merge", "release" or
+     * "deploy", from its "script".
+     * @return Commands, one by one
+     */
+    public List<String> script() {
+        return this.get("script").commands();
+    }
+
+    /**
+     * Commands of this section, written either as a list or as lines
+     * of text, like "install" or "script".
+     * @return Commands, trimmed
+     */
+    public List<String> commands() {
+        final List<String> cmds;
+        if (this.lines.isEmpty()) {
+            cmds = this.rows();
+        } else {
+            cmds = new LinkedList<>();
+            for (final String item : this.lines) {
+                cmds.add(item.trim());
+            }
+        }
+        return cmds;
+    }
+
+    /**
+     * Non-empty lines of the text, trimmed.
+     * @return Lines
+     */
+    private List<String> rows() {
+        final List<String> found = new LinkedList<>();
+        for (final String line : this.txt.split("\n")) {
+            if (!line.isEmpty()) {
+                found.add(line.trim());
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Get the element to parse.
+     * @param node DOM node
+     * @return Element
+     */
+    private static Element element(final Node node) {
+        final Element elm;
+        if (node instanceof Document) {
+            elm = ((Document) node).getDocumentElement();
+        } else {
+            elm = (Element) node;
+        }
+        return elm;
+    }
+
+}
@@ -30,6 +30,7 @@
 package com.rultor.spi;
 
 import com.jcabi.aspects.Immutable;
+import com.jcabi.xml.Sources;
 import com.jcabi.xml.StrictXML;
 import com.jcabi.xml.XML;
 import com.jcabi.xml.XMLDocument;
@@ -43,10 +44,12 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Date;
+import lombok.EqualsAndHashCode;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.w3c.dom.Node;
 import org.xembly.Directive;
+import org.xembly.Directives;
 import org.xembly.ImpossibleModificationException;
 import org.xembly.Xembler;
 
@@ -74,18 +77,27 @@ public interface Talk {
     );
 
     /**
-     * Upgrade XSL.
+     * Version of the schema, which must be changed every time a new
+     * XSL is added to {@link #UPGRADE}.
+     * @since 2.0
      */
-    XSL UPGRADE = new XSLChain(
-        Arrays.asList(
-            XSLDocument.make(
-                Talk.class.getResourceAsStream(
-                    "upgrade/001-talks.xsl"
-                )
-            ),
-            XSLDocument.make(
-                Talk.class.getResourceAsStream(
-                    "upgrade/002-public-attribute.xsl"
+    String VERSION = "3";
+
+    /**
+     * Upgrade XSL, which doesn't touch documents of the current version.
+     */
+    XSL UPGRADE = new Talk.Upgrade(
+        new XSLChain(
+            Arrays.asList(
+                XSLDocument.make(
+                    Talk.class.getResourceAsStream(
+                        "upgrade/001-talks.xsl"
+                    )
+                ),
+                XSLDocument.make(
+                    Talk.class.getResourceAsStream(
+                        "upgrade/002-public-attribute.xsl"
+                    )
                 )
             )
         )
@@ -134,6 +146,67 @@ public interface Talk {
      */
     void active(boolean yes) throws IOException;
 
+    /**
+     * Upgrade of legacy documents to the current {@link #VERSION}.
+     *
+     * <p>Documents which are already marked with the current version
+     * are returned as they are, without any transformation.</p>
+     *
+     * @since 2.0
+     */
+    @Immutable
+    @EqualsAndHashCode(of = "origin")
+    final class Upgrade implements XSL {
+        /**
+         * XPath of a document of the current version.
+         */
+        private static final String CURRENT = String.format(
+            "/talk[@schema='%s']", Talk.VERSION
+        );
+        /**
+         * Original XSL.
+         */
+        private final transient XSL origin;
+        /**
+         * Ctor.
+         * @param xsl Original XSL with all upgrades
+         */
+        public Upgrade(final XSL xsl) {
+            this.origin = xsl;
+        }
+        @Override
+        public XML transform(final XML xml) {
+            final XML result;
+            if (xml.nodes(Talk.Upgrade.CURRENT).isEmpty()) {
+                final Node node = this.origin.transform(xml).node();
+                try {
+                    new Xembler(
+                        new Directives().xpath("/talk")
+                            .attr("schema", Talk.VERSION)
+                    ).apply(node);
+                } catch (final ImpossibleModificationException ex) {
+                    throw new IllegalStateException(ex);
+                }
+                result = new XMLDocument(node);
+            } else {
+                result = xml;
+            }
+            return result;
+        }
+        @Override
+        public String applyTo(final XML xml) {
+            return this.transform(xml).toString();
+        }
+        @Override
+        public XSL with(final Sources src) {
+            return new Talk.Upgrade(this.origin.with(src));
+        }
+        @Override
+        public XSL with(final String name, final Object value) {
+            return new Talk.Upgrade(this.origin.with(name, value));
+        }
+    }
+
     /**
      * In file.
      */
@@ -122,6 +122,14 @@ public interface Talks {
      */
     Iterable<Talk> siblings(String repo, Date since);
 
+    /**
+     * Archive of old build logs of a talk.
+     * @param name The name of the talk
+     * @return Archive
+     * @since 2.0
+     */
+    Archive archive(String name);
+
     /**
      * In directory.
      */
@@ -179,6 +187,7 @@ public interface Talks {
         @Override
         public void delete(final String name) {
             FileUtils.deleteQuietly(new File(new File(this.path), name));
+            FileUtils.deleteQuietly(this.logs(name));
         }
         @Override
         public void create(final String repo, final String name)
@@ -232,5 +241,18 @@ public interface Talks {
         public Iterable<Talk> siblings(final String repo, final Date since) {
             return this.active();
         }
+        @Override
+        public Archive archive(final String name) {
+            return new Archive.InFile(this.logs(name));
+        }
+        /**
+         * File with the archive of the talk, in a sub-directory, where
+         * {@link #active()} doesn't look.
+         * @param name The name of the talk
+         * @return The file
+         */
+        private File logs(final String name) {
+            return new File(new File(this.path, "archive"), name);
+        }
     }
 }
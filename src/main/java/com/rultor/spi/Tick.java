@@ -30,6 +30,9 @@
 package com.rultor.spi;
 
 import com.jcabi.aspects.Immutable;
+import com.jcabi.immutable.ArrayMap;
+import java.util.Collections;
+import java.util.Map;
 
 /**
  * Tick.
@@ -56,6 +59,16 @@ public final class Tick {
      */
     private final transient int talks;
 
+    /**
+     * Maximum number of workers busy at the same time.
+     */
+    private final transient int workers;
+
+    /**
+     * Milliseconds spent on each talk, by talk name.
+     */
+    private final transient ArrayMap<String, Long> latencies;
+
     /**
      * Ctor.
      * @param date When
@@ -64,9 +77,26 @@ public final class Tick {
      */
     public Tick(final long date, final long duration,
         final int total) {
+        this(date, duration, total, 0, Collections.emptyMap());
+    }
+
+    /**
+     * Ctor.
+     * @param date When
+     * @param duration Duration in msec
+     * @param total Total processed or negative if failed
+     * @param busy Maximum number of workers busy at the same time
+     * @param latency Milliseconds spent on each talk, by talk name
+     * @checkstyle ParameterNumberCheck (4 lines)
+     * @since 2.0
+     */
+    public Tick(final long date, final long duration,
+        final int total, final int busy, final Map<String, Long> latency) {
         this.when = date;
         this.msec = duration;
         this.talks = total;
+        this.workers = busy;
+        this.latencies = new ArrayMap<>(latency);
     }
 
     /**
@@ -93,4 +123,22 @@ public final class Tick {
         return this.talks;
     }
 
+    /**
+     * Maximum number of workers that were busy at the same time.
+     * @return Number of workers
+     * @since 2.0
+     */
+    public int busy() {
+        return this.workers;
+    }
+
+    /**
+     * Milliseconds spent on each talk processed.
+     * @return Map of talk names to milliseconds
+     * @since 2.0
+     */
+    public Map<String, Long> latency() {
+        return this.latencies;
+    }
+
 }
@@ -31,6 +31,7 @@ package com.rultor.web;
 
 import com.jcabi.manifests.Manifests;
 import com.rultor.Toggles;
+import com.rultor.spi.Metrics;
 import com.rultor.spi.Pulse;
 import com.rultor.spi.Talks;
 import java.nio.charset.Charset;
@@ -71,7 +72,7 @@ public final class TkApp extends TkWrap {
      */
     public TkApp(final Talks talks, final Pulse pulse,
         final Toggles toggles) {
-        super(TkApp.make(talks, pulse, toggles));
+        this(talks, pulse, toggles, Metrics.EMPTY);
     }
 
     /**
@@ -79,10 +80,26 @@ public final class TkApp extends TkWrap {
      * @param talks Talks
      * @param pulse Pulse
      * @param toggles Toggles
+     * @param metrics Metrics
+     * @since 2.0
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    public TkApp(final Talks talks, final Pulse pulse,
+        final Toggles toggles, final Metrics metrics) {
+        super(TkApp.make(talks, pulse, toggles, metrics));
+    }
+
+    /**
+     * Ctor.
+     * @param talks Talks
+     * @param pulse Pulse
+     * @param toggles Toggles
+     * @param metrics Metrics
      * @return Takes
+     * @checkstyle ParameterNumberCheck (4 lines)
      */
     private static Take make(final Talks talks,
-        final Pulse pulse, final Toggles toggles) {
+        final Pulse pulse, final Toggles toggles, final Metrics metrics) {
         if (!"UTF-8".equals(Charset.defaultCharset().name())) {
             throw new IllegalStateException(
                 String.format(
@@ -98,7 +115,9 @@ public final class TkApp extends TkWrap {
                             new TkAppFallback(
                                 new TkAppAuth(
                                     new TkForward(
-                                        TkApp.regex(talks, pulse, toggles)
+                                        TkApp.regex(
+                                            talks, pulse, toggles, metrics
+                                        )
                                     )
                                 )
                             )
@@ -116,14 +135,16 @@ public final class TkApp extends TkWrap {
      * @param talks Talks
      * @param pulse Pulse
      * @param toggles Toggles
+     * @param metrics Metrics
      * @return Takes
+     * @checkstyle ParameterNumberCheck (4 lines)
      */
     private static Take regex(final Talks talks,
-        final Pulse pulse, final Toggles toggles) {
+        final Pulse pulse, final Toggles toggles, final Metrics metrics) {
         return new TkFork(
             new FkRegex("/robots.txt", ""),
             new FkRegex("/ticks", new TkTicks(pulse)),
-            new FkRegex("/status", new TkStatus(pulse)),
+            new FkRegex("/status", new TkStatus(pulse, metrics)),
             new FkRegex("/s/.*", new TkRedirect()),
             new FkRegex("/sitemap", new TkSitemap(talks)),
             new FkRegex(
@@ -140,7 +140,12 @@ final class TkDaemon implements TkRegex {
                             ),
                         StandardCharsets.UTF_8
                     ),
-                    TkDaemon.escape(new Tail(talk.read(), hash).read()),
+                    TkDaemon.escape(
+                        new Tail(
+                            talk.read(), hash,
+                            this.talks.archive(talk.name())
+                        ).read()
+                    ),
                     this.getClass().getResourceAsStream("daemon/tail.html")
                 )
             )
@@ -35,7 +35,9 @@ import com.rultor.agents.daemons.Home;
 import com.rultor.spi.Talk;
 import com.rultor.spi.Talks;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.logging.Level;
 import org.cactoos.iterable.HeadOf;
@@ -154,6 +156,10 @@ final class TkSiblings implements TkRegex {
 
     /**
      * Convert talk to directives.
+     *
+     * <p>Logs moved out of the talk are shown before the ones still
+     * in it, but only the latest page of them.</p>
+     *
      * @param talk The talk to convert
      * @return Directives
      * @throws IOException If fails
@@ -161,6 +167,17 @@ final class TkSiblings implements TkRegex {
     private Iterable<Directive> dirs(final Talk talk) throws IOException {
         final XML xml = talk.read();
         final Directives dirs = new Directives().add("talk").add("archive");
+        final List<XML> archived = new LinkedList<>(
+            new ListOf<>(
+                new HeadOf<>(
+                    Tv.TWENTY, this.talks.archive(talk.name()).logs()
+                )
+            )
+        );
+        Collections.reverse(archived);
+        for (final XML log : archived) {
+            dirs.append(TkSiblings.log(xml, log));
+        }
         for (final XML log : xml.nodes("/talk/archive/log")) {
             dirs.append(TkSiblings.log(xml, log));
         }
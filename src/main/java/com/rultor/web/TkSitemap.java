@@ -29,6 +29,7 @@
  */
 package com.rultor.web;
 
+import com.jcabi.aspects.Cacheable;
 import com.jcabi.aspects.Tv;
 import com.jcabi.xml.XML;
 import com.rultor.Time;
@@ -36,6 +37,7 @@ import com.rultor.agents.daemons.Home;
 import com.rultor.spi.Talk;
 import com.rultor.spi.Talks;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 import org.apache.commons.text.StringEscapeUtils;
 import org.takes.Request;
 import org.takes.Response;
@@ -75,9 +77,14 @@ final class TkSitemap implements Take {
 
     /**
      * XML.
+     *
+     * <p>It walks every recent talk and its archive, that's why the
+     * result is cached for an hour instead of being built per request.
+     *
      * @return XML
      * @throws IOException If fails
      */
+    @Cacheable(lifetime = 1, unit = TimeUnit.HOURS)
     private String xml() throws IOException {
         final StringBuilder doc = new StringBuilder(Tv.THOUSAND).append(
             "<urlset xmlns='http://www.sitemaps.org/schemas/sitemap/0.9'>"
@@ -87,6 +94,11 @@ final class TkSitemap implements Take {
             for (final String hash : xml.xpath("/talk/archive/log/@id")) {
                 doc.append(TkSitemap.toXML(talk, xml, hash));
             }
+            for (final XML log : this.talks.archive(talk.name()).logs()) {
+                doc.append(
+                    TkSitemap.toXML(talk, xml, log.xpath("@id").get(0))
+                );
+            }
         }
         return doc.append("</urlset>").toString();
     }
@@ -31,10 +31,12 @@ package com.rultor.web;
 
 import com.jcabi.aspects.Tv;
 import com.jcabi.log.Logger;
+import com.rultor.spi.Metrics;
 import com.rultor.spi.Pulse;
 import com.rultor.spi.Tick;
 import java.net.HttpURLConnection;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import org.cactoos.list.ListOf;
 import org.takes.Request;
@@ -63,12 +65,27 @@ final class TkStatus implements Take {
      */
     private final transient Pulse pulse;
 
+    /**
+     * Metrics.
+     */
+    private final transient Metrics metrics;
+
     /**
      * Ctor.
      * @param pls Pulse
      */
     TkStatus(final Pulse pls) {
+        this(pls, Metrics.EMPTY);
+    }
+
+    /**
+     * Ctor.
+     * @param pls Pulse
+     * @param mtx Metrics
+     */
+    TkStatus(final Pulse pls, final Metrics mtx) {
         this.pulse = pls;
+        this.metrics = mtx;
         this.start = System.currentTimeMillis();
     }
 
@@ -112,6 +129,15 @@ final class TkStatus implements Take {
                 );
             }
         }
+        if (!this.metrics.all().isEmpty()) {
+            msg.append("\n");
+        }
+        for (final Map.Entry<String, Long> ent
+            : this.metrics.all().entrySet()) {
+            msg.append(
+                String.format("\n%s: %d", ent.getKey(), ent.getValue())
+            );
+        }
         for (final Throwable error : this.pulse.error()) {
             msg.append(Logger.format("\n\n%[exception]s", error));
         }
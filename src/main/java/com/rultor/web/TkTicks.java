@@ -132,6 +132,7 @@ final class TkTicks implements Take {
                 .attr("total", Integer.toString(tick.total()))
                 .attr("start", Long.toString(tick.start() - now))
                 .attr("msec", Long.toString(tick.duration()))
+                .attr("busy", Integer.toString(tick.busy()))
                 .up();
         }
         return new XMLDocument(new Xembler(dirs).xmlQuietly());
@@ -0,0 +1,162 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor;
+
+import com.rultor.spi.Talk;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link Scheduler}.
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+public final class SchedulerTest {
+
+    /**
+     * Scheduler can put release requests before merges.
+     * @throws Exception If fails
+     */
+    @Test
+    public void putsReleasesFirst() throws Exception {
+        final Talk merge = SchedulerTest.talk("a", "merge");
+        final Talk release = SchedulerTest.talk("b", "release");
+        final Scheduler scheduler = new Scheduler(1L);
+        scheduler.done(merge, merge.read());
+        scheduler.done(release, release.read());
+        MatcherAssert.assertThat(
+            scheduler.order(Arrays.asList(merge, release)),
+            Matchers.contains(release, merge)
+        );
+    }
+
+    /**
+     * Scheduler can put talks that waited too long first.
+     * @throws Exception If fails
+     */
+    @Test
+    public void putsStarvingTalksFirst() throws Exception {
+        final Talk fresh = SchedulerTest.talk("c", "deploy");
+        final Talk starving = SchedulerTest.talk("d", "merge");
+        final Scheduler scheduler = new Scheduler(1L);
+        scheduler.done(fresh, fresh.read());
+        MatcherAssert.assertThat(
+            scheduler.order(Arrays.asList(fresh, starving)),
+            Matchers.contains(starving, fresh)
+        );
+    }
+
+    /**
+     * Scheduler can postpone talks that wait for their daemons.
+     * @throws Exception If fails
+     */
+    @Test
+    public void postponesWaitingTalks() throws Exception {
+        final Talk talk = Mockito.mock(
+            Talk.class,
+            AdditionalAnswers.delegatesTo(
+                new Talk.InFile(
+                    "<talk name='e' number='1' later='false'>",
+                    "<daemon id='abc'><title>x</title><script>y</script>",
+                    "<started>2022-10-10T10:10:10Z</started></daemon></talk>"
+                )
+            )
+        );
+        Mockito.doReturn(new Date(1L)).when(talk).updated();
+        final Scheduler scheduler = new Scheduler(1L);
+        scheduler.done(talk, talk.read());
+        MatcherAssert.assertThat(
+            scheduler.order(Collections.singleton(talk)),
+            Matchers.emptyIterable()
+        );
+        Mockito.verify(talk, Mockito.times(1)).read();
+        Mockito.doReturn(new Date(2L)).when(talk).updated();
+        MatcherAssert.assertThat(
+            scheduler.order(Collections.singleton(talk)),
+            Matchers.contains(talk)
+        );
+    }
+
+    /**
+     * Scheduler can visit a talk again soon, if its agents failed.
+     * @throws Exception If fails
+     */
+    @Test
+    public void retriesFailedTalks() throws Exception {
+        final Talk talk = new Talk.InFile(
+            "<talk name='f' number='1' later='false'>",
+            "<daemon id='abc'><title>x</title><script>y</script>",
+            "<started>2022-10-10T10:10:10Z</started></daemon></talk>"
+        );
+        final Scheduler scheduler = new Scheduler(1L);
+        scheduler.done(talk, null);
+        MatcherAssert.assertThat(
+            scheduler.order(Collections.singleton(talk)),
+            Matchers.contains(talk)
+        );
+    }
+
+    /**
+     * Scheduler can calculate a deadline of a cycle.
+     */
+    @Test
+    public void calculatesDeadline() {
+        MatcherAssert.assertThat(
+            new Scheduler(10L).deadline(5L),
+            Matchers.equalTo(15L)
+        );
+    }
+
+    /**
+     * Make a talk with a request.
+     * @param name Name of the talk
+     * @param type Type of the request
+     * @return Talk
+     * @throws IOException If fails
+     */
+    private static Talk talk(final String name, final String type)
+        throws IOException {
+        return new Talk.InFile(
+            String.format("<talk name='%s' number='1' later='false'>", name),
+            "<request id='a1b2c3'>",
+            String.format("<type>%s</type><args/>", type),
+            "</request></talk>"
+        );
+    }
+
+}
@@ -0,0 +1,405 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor;
+
+import com.rultor.spi.Nodes;
+import com.rultor.spi.Talk;
+import com.rultor.spi.Talks;
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Test case for {@link Sharded}.
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+public final class ShardedTest {
+
+    /**
+     * How many talks are active.
+     */
+    private static final int TOTAL = 60;
+
+    /**
+     * Sharded can give every active talk to exactly one node.
+     * @throws Exception If fails
+     */
+    @Test
+    public void givesEveryTalkToOneNode() throws Exception {
+        final Talks talks = ShardedTest.talks();
+        final ShardedTest.Leases leases = new ShardedTest.Leases();
+        final List<Nodes> cluster = new ArrayList<>(0);
+        for (final String name : new String[] {"a", "b", "c"}) {
+            cluster.add(leases.node(name));
+        }
+        for (final Nodes node : cluster) {
+            node.alive();
+        }
+        final List<String> processed = new ArrayList<>(0);
+        int leaders = 0;
+        for (final Nodes node : cluster) {
+            final Ring ring = new Ring(node.alive());
+            final Collection<String> mine = ShardedTest.names(
+                new Sharded(talks, ring, node.self())
+            );
+            MatcherAssert.assertThat(mine, Matchers.not(Matchers.empty()));
+            processed.addAll(mine);
+            if (node.lead()) {
+                ++leaders;
+            }
+        }
+        MatcherAssert.assertThat(
+            processed, Matchers.hasSize(ShardedTest.TOTAL)
+        );
+        MatcherAssert.assertThat(
+            new HashSet<>(processed), Matchers.hasSize(ShardedTest.TOTAL)
+        );
+        MatcherAssert.assertThat(leaders, Matchers.equalTo(1));
+    }
+
+    /**
+     * Sharded can move talks of a dead node to other nodes.
+     * @throws Exception If fails
+     */
+    @Test
+    public void rebalancesWhenLeaseExpires() throws Exception {
+        final Talks talks = ShardedTest.talks();
+        final ShardedTest.Leases leases = new ShardedTest.Leases();
+        final Nodes first = leases.node("x");
+        final Nodes second = leases.node("y");
+        leases.node("z").alive();
+        first.alive();
+        final Collection<String> before = ShardedTest.names(
+            new Sharded(talks, new Ring(second.alive()), second.self())
+        );
+        leases.expire();
+        first.alive();
+        final List<String> alive = second.alive();
+        MatcherAssert.assertThat(alive, Matchers.contains("x", "y"));
+        final Collection<String> after = ShardedTest.names(
+            new Sharded(talks, new Ring(alive), second.self())
+        );
+        MatcherAssert.assertThat(after, Matchers.hasItems(
+            before.toArray(new String[0])
+        ));
+        final Collection<String> all = new HashSet<>(after);
+        all.addAll(
+            ShardedTest.names(
+                new Sharded(talks, new Ring(alive), first.self())
+            )
+        );
+        MatcherAssert.assertThat(all, Matchers.hasSize(ShardedTest.TOTAL));
+    }
+
+    /**
+     * Sharded can keep talks of a node whose cycle takes longer than
+     * its lease, while its heartbeat is alive.
+     * @throws Exception If fails
+     */
+    @Test
+    public void keepsTalksOfBusyNode() throws Exception {
+        final Talks talks = ShardedTest.talks();
+        final ShardedTest.Leases leases = new ShardedTest.Leases();
+        final Nodes first = leases.node("a");
+        final Nodes third = leases.node("c");
+        first.alive();
+        third.alive();
+        try (Heartbeat busy = new Heartbeat(leases.node("b"), 1L)) {
+            final Collection<String> before = ShardedTest.names(
+                new Sharded(talks, busy.beat(), "b")
+            );
+            leases.expire();
+            third.alive();
+            final long start = System.currentTimeMillis();
+            List<String> alive = first.alive();
+            while (!alive.contains("b")
+                && System.currentTimeMillis() - start < 5000L) {
+                TimeUnit.MILLISECONDS.sleep(1L);
+                alive = first.alive();
+            }
+            MatcherAssert.assertThat(alive, Matchers.contains("a", "b", "c"));
+            final Collection<String> others = ShardedTest.names(
+                new Sharded(talks, new Ring(alive), first.self())
+            );
+            others.addAll(
+                ShardedTest.names(
+                    new Sharded(talks, new Ring(alive), third.self())
+                )
+            );
+            MatcherAssert.assertThat(
+                others,
+                Matchers.everyItem(
+                    Matchers.not(Matchers.is(Matchers.in(before)))
+                )
+            );
+            for (final String name : before) {
+                MatcherAssert.assertThat(busy.owns(name), Matchers.is(true));
+            }
+        }
+    }
+
+    /**
+     * Heartbeat can tell that a talk moved to another node.
+     * @throws Exception If fails
+     */
+    @Test
+    public void dropsTalksOfAnotherNode() throws Exception {
+        final Talks talks = ShardedTest.talks();
+        final ShardedTest.Leases leases = new ShardedTest.Leases();
+        try (Heartbeat heartbeat = new Heartbeat(leases.node("y"), 1000L)) {
+            final Collection<String> mine = ShardedTest.names(
+                new Sharded(talks, heartbeat.beat(), "y")
+            );
+            MatcherAssert.assertThat(mine, Matchers.hasSize(ShardedTest.TOTAL));
+            leases.node("x").alive();
+            heartbeat.beat();
+            int owned = 0;
+            for (final String name : mine) {
+                if (heartbeat.owns(name)) {
+                    ++owned;
+                }
+            }
+            MatcherAssert.assertThat(
+                owned, Matchers.lessThan(ShardedTest.TOTAL)
+            );
+        }
+    }
+
+    /**
+     * Nodes can't take a talk that moved to them on the ring, while
+     * its previous owner still holds the claim on it.
+     * @throws Exception If fails
+     */
+    @Test
+    public void waitsForClaimOfPreviousOwner() throws Exception {
+        final Talks talks = ShardedTest.talks();
+        final ShardedTest.Leases leases = new ShardedTest.Leases();
+        final Nodes first = leases.node("x");
+        final Collection<String> before = ShardedTest.names(
+            new Sharded(talks, new Ring(first.alive()), first.self())
+        );
+        for (final String name : before) {
+            MatcherAssert.assertThat(first.claim(name), Matchers.is(true));
+        }
+        final Nodes second = leases.node("y");
+        final Ring ring = new Ring(second.alive());
+        final Collection<String> moved = ShardedTest.names(
+            new Sharded(talks, ring, second.self())
+        );
+        MatcherAssert.assertThat(moved, Matchers.not(Matchers.empty()));
+        for (final String name : moved) {
+            MatcherAssert.assertThat(second.claim(name), Matchers.is(false));
+        }
+        leases.expire();
+        for (final String name : moved) {
+            MatcherAssert.assertThat(second.claim(name), Matchers.is(true));
+            MatcherAssert.assertThat(first.claim(name), Matchers.is(false));
+        }
+        for (final String name : ShardedTest.names(
+            new Sharded(talks, ring, first.self())
+        )) {
+            MatcherAssert.assertThat(first.claim(name), Matchers.is(true));
+        }
+    }
+
+    /**
+     * Nodes can elect one leader, and elect another one only after
+     * the leadership of the first one expires.
+     * @throws Exception If fails
+     */
+    @Test
+    public void electsOneLeaderAtATime() throws Exception {
+        final ShardedTest.Leases leases = new ShardedTest.Leases();
+        final Nodes first = leases.node("a");
+        final Nodes second = leases.node("b");
+        MatcherAssert.assertThat(second.lead(), Matchers.is(true));
+        MatcherAssert.assertThat(first.lead(), Matchers.is(false));
+        MatcherAssert.assertThat(second.lead(), Matchers.is(true));
+        leases.expire();
+        MatcherAssert.assertThat(first.lead(), Matchers.is(true));
+        MatcherAssert.assertThat(second.lead(), Matchers.is(false));
+    }
+
+    /**
+     * Make active talks.
+     * @return Talks
+     * @throws IOException If fails
+     */
+    private static Talks talks() throws IOException {
+        final List<Talk> active = new ArrayList<>(ShardedTest.TOTAL);
+        for (int idx = 0; idx < ShardedTest.TOTAL; ++idx) {
+            active.add(
+                new Talk.InFile(
+                    String.format(
+                        "<talk name='a/b#%d' number='%1$d' later='false'/>",
+                        idx
+                    )
+                )
+            );
+        }
+        final Talks talks = Mockito.mock(Talks.class);
+        Mockito.when(talks.active()).thenReturn(active);
+        return talks;
+    }
+
+    /**
+     * Names of active talks.
+     * @param talks Talks
+     * @return Names
+     * @throws IOException If fails
+     */
+    private static Collection<String> names(final Talks talks)
+        throws IOException {
+        final Collection<String> names = new ArrayList<>(0);
+        for (final Talk talk : talks.active()) {
+            names.add(talk.name());
+        }
+        return names;
+    }
+
+    /**
+     * Leases in memory, instead of a DynamoDB table.
+     */
+    private static final class Leases {
+        /**
+         * Name of the item of the leader.
+         */
+        private static final String LEADER = "leader";
+        /**
+         * How long a lease or a claim lives.
+         */
+        private static final long TTL = 10L;
+        /**
+         * Current time.
+         */
+        private final AtomicLong clock = new AtomicLong();
+        /**
+         * When leases expire, by node names.
+         */
+        private final Map<String, Long> expires = new ConcurrentHashMap<>(0);
+        /**
+         * Who holds the items of talks and of the leader, and until when.
+         */
+        private final Map<String, Map.Entry<String, Long>> holders =
+            new ConcurrentHashMap<>(0);
+        /**
+         * Make a node.
+         * @param name Its name
+         * @return Node
+         */
+        public Nodes node(final String name) {
+            final ShardedTest.Leases leases = this;
+            return new Nodes() {
+                @Override
+                public String self() {
+                    return name;
+                }
+                @Override
+                public List<String> alive() {
+                    return leases.renew(name);
+                }
+                @Override
+                public boolean claim(final String talk) {
+                    return leases.take(talk, name);
+                }
+                @Override
+                public boolean lead() {
+                    return leases.take(ShardedTest.Leases.LEADER, name);
+                }
+                @Override
+                public void leave() {
+                    leases.expires.remove(name);
+                }
+            };
+        }
+        /**
+         * Let all leases expire.
+         */
+        public void expire() {
+            this.clock.addAndGet(ShardedTest.Leases.TTL);
+        }
+        /**
+         * Renew the lease of the node.
+         * @param name Name of the node
+         * @return Names of all nodes alive
+         */
+        private List<String> renew(final String name) {
+            final long now = this.clock.get();
+            this.expires.put(name, now + ShardedTest.Leases.TTL);
+            final List<String> alive = new ArrayList<>(0);
+            for (final Map.Entry<String, Long> ent
+                : this.expires.entrySet()) {
+                if (ent.getValue() > now) {
+                    alive.add(ent.getKey());
+                }
+            }
+            Collections.sort(alive);
+            return alive;
+        }
+        /**
+         * Take the item for the node, if nobody else holds it.
+         * @param item Name of the item
+         * @param node Name of the node
+         * @return TRUE if taken
+         */
+        private synchronized boolean take(final String item,
+            final String node) {
+            final long now = this.clock.get();
+            final Map.Entry<String, Long> holder = this.holders.get(item);
+            final boolean free = holder == null
+                || holder.getKey().equals(node)
+                || holder.getValue() <= now;
+            if (free) {
+                this.holders.put(
+                    item,
+                    new AbstractMap.SimpleEntry<>(
+                        node, now + ShardedTest.Leases.TTL
+                    )
+                );
+            }
+            return free;
+        }
+    }
+
+}
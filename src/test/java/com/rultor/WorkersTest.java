@@ -0,0 +1,135 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Workers}.
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+public final class WorkersTest {
+
+    /**
+     * Workers can run tasks in parallel.
+     * @throws Exception If fails
+     */
+    @Test
+    public void runsTasksInParallel() throws Exception {
+        final CountDownLatch all = new CountDownLatch(3);
+        final Map<String, Callable<Long>> tasks = new LinkedHashMap<>(0);
+        for (final String name : new String[] {"a", "b", "c"}) {
+            tasks.put(
+                name,
+                () -> {
+                    all.countDown();
+                    all.await();
+                    return 1L;
+                }
+            );
+        }
+        try (Workers workers = new Workers(3, TimeUnit.SECONDS.toMillis(5L))) {
+            MatcherAssert.assertThat(
+                workers.run(tasks),
+                Matchers.allOf(
+                    Matchers.hasEntry("a", 1L),
+                    Matchers.hasEntry("b", 1L),
+                    Matchers.hasEntry("c", 1L)
+                )
+            );
+        }
+    }
+
+    /**
+     * Workers can give up on a stuck task and keep working.
+     * @throws Exception If fails
+     */
+    @Test
+    public void givesUpOnStuckTask() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        try (Workers workers = new Workers(1, 200L)) {
+            MatcherAssert.assertThat(
+                workers.run(
+                    Collections.singletonMap(
+                        "stuck",
+                        () -> {
+                            while (release.getCount() > 0L) {
+                                try {
+                                    release.await();
+                                } catch (final InterruptedException ex) {
+                                    continue;
+                                }
+                            }
+                            return 1L;
+                        }
+                    )
+                ),
+                Matchers.hasEntry("stuck", -1L)
+            );
+            final Map<String, Callable<Long>> next = new LinkedHashMap<>(0);
+            next.put("stuck", () -> 2L);
+            next.put("fresh", () -> 3L);
+            MatcherAssert.assertThat(
+                workers.run(next),
+                Matchers.allOf(
+                    Matchers.not(Matchers.hasKey("stuck")),
+                    Matchers.hasEntry("fresh", 3L)
+                )
+            );
+        } finally {
+            release.countDown();
+        }
+    }
+
+    /**
+     * Workers can skip tasks that return nothing.
+     * @throws Exception If fails
+     */
+    @Test
+    public void skipsEmptyResults() throws Exception {
+        try (Workers workers = new Workers(1, 1000L)) {
+            MatcherAssert.assertThat(
+                workers.run(Collections.singletonMap("x", () -> null)),
+                Matchers.anEmptyMap()
+            );
+        }
+    }
+
+}
@@ -35,6 +35,7 @@ import com.jcabi.github.Github;
 import com.jcabi.github.mock.MkGithub;
 import com.rultor.spi.Profile;
 import com.rultor.spi.Talk;
+import com.rultor.spi.Talks;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -56,7 +57,7 @@ public final class AgentsTest {
         final Github github = new MkGithub();
         final Sttc sttc = new MkSttc();
         final Profile profile = new Profile.Fixed();
-        new Agents(github, sttc).agent(talk, profile).execute(talk);
+        new Agents(github, sttc, new Talks.InDir()).agent(talk, profile).execute(talk);
     }
 
 }
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.agents;
+
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.util.concurrent.atomic.AtomicReference;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Node;
+
+/**
+ * Test case for {@link Dom}.
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+public final class DomTest {
+
+    /**
+     * Dom can clone a document only once.
+     */
+    @Test
+    public void clonesDocumentOnce() {
+        final XML xml = new XMLDocument("<talk><request/></talk>");
+        MatcherAssert.assertThat(
+            Dom.of(xml),
+            Matchers.sameInstance(Dom.of(xml))
+        );
+        MatcherAssert.assertThat(
+            Dom.of(new XMLDocument("<talk/>")),
+            Matchers.not(Matchers.sameInstance(Dom.of(xml)))
+        );
+    }
+
+    /**
+     * Dom can give each thread its own copy of a document.
+     * @throws Exception If fails
+     */
+    @Test
+    public void clonesDocumentPerThread() throws Exception {
+        final XML xml = new XMLDocument("<talk/>");
+        final AtomicReference<Node> other = new AtomicReference<>();
+        final Thread thread = new Thread(() -> other.set(Dom.of(xml)));
+        thread.start();
+        thread.join();
+        MatcherAssert.assertThat(
+            other.get(),
+            Matchers.not(Matchers.sameInstance(Dom.of(xml)))
+        );
+    }
+
+}
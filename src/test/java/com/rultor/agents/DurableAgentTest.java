@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.agents;
+
+import com.jcabi.matchers.XhtmlMatchers;
+import com.rultor.spi.Agent;
+import com.rultor.spi.Metrics;
+import com.rultor.spi.Talk;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.xembly.Directives;
+
+/**
+ * Tests for {@link DurableAgent}.
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+public final class DurableAgentTest {
+
+    /**
+     * DurableAgent can save pending modifications before it runs.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void savesPendingModificationsFirst() throws Exception {
+        final Talk talk = new Talk.InFile();
+        final Metrics.Simple metrics = new Metrics.Simple();
+        new TransactionalAgent(
+            new Agent.Iterative(
+                tlk -> tlk.modify(
+                    new Directives().xpath("/talk").attr("later", "true")
+                ),
+                tlk -> tlk.modify(
+                    new Directives().xpath("/talk").attr("public", "false")
+                ),
+                new DurableAgent(
+                    tlk -> MatcherAssert.assertThat(
+                        talk.read(),
+                        XhtmlMatchers.hasXPaths(
+                            "/talk[@later='true']", "/talk[@public='false']"
+                        )
+                    )
+                )
+            ),
+            metrics
+        ).execute(talk);
+        MatcherAssert.assertThat(
+            metrics.all(),
+            Matchers.allOf(
+                Matchers.hasEntry("talk-writes-merged", 2L),
+                Matchers.hasEntry("talk-writes-flushed", 1L)
+            )
+        );
+    }
+
+    /**
+     * DurableAgent can save the record of a side effect right after
+     * the agent, before the run ends.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void savesSideEffectsRightAway() throws Exception {
+        final Talk talk = new Talk.InFile();
+        final Metrics.Simple metrics = new Metrics.Simple();
+        new TransactionalAgent(
+            new Agent.Iterative(
+                new DurableAgent(
+                    tlk -> tlk.modify(
+                        new Directives().xpath("/talk").attr("later", "true")
+                    )
+                ),
+                tlk -> MatcherAssert.assertThat(
+                    talk.read(),
+                    XhtmlMatchers.hasXPath("/talk[@later='true']")
+                )
+            ),
+            metrics
+        ).execute(talk);
+        MatcherAssert.assertThat(
+            metrics.all(),
+            Matchers.hasEntry("talk-writes-flushed", 1L)
+        );
+    }
+
+}
@@ -0,0 +1,282 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.agents;
+
+import co.stateful.mock.MkSttc;
+import com.jcabi.github.mock.MkGithub;
+import com.jcabi.immutable.Array;
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import com.rultor.spi.Agent;
+import com.rultor.spi.Profile;
+import com.rultor.spi.Talk;
+import com.rultor.spi.Talks;
+import java.lang.reflect.Field;
+import java.util.LinkedList;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.xembly.Directives;
+
+/**
+ * Tests for {@link Routing}.
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+public final class RoutingTest {
+
+    /**
+     * Routing can run only agents that fit the phase.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void runsOnlyFittingAgents() throws Exception {
+        final Talk talk = new Talk.InFile();
+        talk.modify(
+            new Directives().xpath("/talk")
+                .add("request").attr("id", "a1b2c3").add("type")
+                .set("merge").up().add("args")
+        );
+        final Agent idle = Mockito.mock(Agent.class);
+        final Agent requested = Mockito.mock(Agent.class);
+        new Routing(
+            new Phased(idle, Phase.IDLE),
+            new Phased(requested, Phase.REQUESTED)
+        ).execute(talk);
+        Mockito.verify(idle, Mockito.never()).execute(talk);
+        Mockito.verify(requested).execute(talk);
+    }
+
+    /**
+     * Routing can reclassify the talk once an agent moved it further.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void followsTalkToNextPhase() throws Exception {
+        final Talk talk = new Talk.InFile();
+        final Agent next = Mockito.mock(Agent.class);
+        new Routing(
+            new Phased(
+                tlk -> tlk.modify(
+                    new Directives().xpath("/talk")
+                        .add("request").attr("id", "f1e2d3").add("type")
+                        .set("deploy").up().add("args")
+                ),
+                Phase.IDLE
+            ),
+            new Phased(next, Phase.REQUESTED)
+        ).execute(talk);
+        Mockito.verify(next).execute(talk);
+    }
+
+    /**
+     * Routing table can't skip an agent whose preconditions hold.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void routesEveryApplicableAgent() throws Exception {
+        final Talk talk = new Talk.InFile();
+        final Array<Phased> agents = RoutingTest.children(
+            new Agents(new MkGithub(), new MkSttc(), new Talks.InDir())
+                .agent(talk, new Profile.Fixed())
+        );
+        MatcherAssert.assertThat(
+            agents, Matchers.not(Matchers.emptyIterable())
+        );
+        for (final XML xml : RoutingTest.talks()) {
+            final Talk fixture = Mockito.mock(Talk.class);
+            Mockito.doReturn(xml).when(fixture).read();
+            final Phase phase = Phase.of(xml);
+            for (final Phased agent : agents) {
+                if (new Required(RoutingTest.xpaths(agent)).isIt(fixture)) {
+                    MatcherAssert.assertThat(
+                        String.format("%s in %s: %s", agent, phase, xml),
+                        agent.fits(phase),
+                        Matchers.is(true)
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * All routed agents of the chain.
+     * @param agent The chain
+     * @return Agents
+     * @throws Exception If fails
+     */
+    @SuppressWarnings("unchecked")
+    private static Array<Phased> children(final Agent agent)
+        throws Exception {
+        final Array<Agent> chain = (Array<Agent>) RoutingTest.field(
+            RoutingTest.field(agent, "origin"), "children"
+        );
+        return (Array<Phased>) RoutingTest.field(chain.get(0), "children");
+    }
+
+    /**
+     * Preconditions of the agent.
+     * @param agent The agent
+     * @return XPaths that must match
+     * @throws Exception If fails
+     */
+    @SuppressWarnings("unchecked")
+    private static Array<String> xpaths(final Agent agent) throws Exception {
+        Object origin = agent;
+        while (!(origin instanceof AbstractAgent)
+            && RoutingTest.has(origin.getClass(), "origin")) {
+            origin = RoutingTest.field(origin, "origin");
+        }
+        final Array<String> paths;
+        if (origin instanceof AbstractAgent) {
+            paths = (Array<String>) RoutingTest.field(origin, "xpaths");
+        } else {
+            paths = (Array<String>) RoutingTest.field(origin, "PATHS");
+        }
+        return paths;
+    }
+
+    /**
+     * Talks in all possible states.
+     * @return Talks
+     */
+    private static Iterable<XML> talks() {
+        // @checkstyle LineLength (40 lines)
+        final String[] wires = {
+            "",
+            String.join(
+                "", "<wire><href>#</href><github-repo>a/b</github-repo>",
+                "<github-issue>1</github-issue></wire>"
+            ),
+        };
+        final String[] requests = {
+            "",
+            "<request id='a'><type>merge</type><args/></request>",
+            "<request id='a'><type>stop</type><args/></request>",
+            "<request id='a'><type>release</type><args/><success>true</success></request>",
+            "<request id='a'><type>merge</type><args/><success>false</success></request>",
+        };
+        final String[] daemons = {
+            "",
+            "<daemon id='d'><title>t</title><script>s</script></daemon>",
+            "<daemon id='d'><title>t</title><script>s</script><dir>/t</dir></daemon>",
+            "<daemon id='d'><title>t</title><script>s</script><dir>/t</dir><started>2000-01-01T00:00:00Z</started></daemon>",
+            "<daemon id='d'><title>t</title><script>s</script><dir>/t</dir><started>2000-01-01T00:00:00Z</started><ended>2000-01-01T01:00:00Z</ended><code>0</code></daemon>",
+            "<daemon id='d'><title>t</title><script>s</script><started>2000-01-01T00:00:00Z</started><ended>2000-01-01T01:00:00Z</ended><code>1</code></daemon>",
+        };
+        final String[] shells = {
+            "",
+            "<shell id='s'><host>h</host><port>22</port><login>l</login><key>k</key></shell>",
+        };
+        final String[] archives = {
+            "",
+            "<archive><log id='a' title='t'>s3://a</log></archive>",
+        };
+        final List<XML> talks = new LinkedList<>();
+        for (final String later : new String[] {"true", "false"}) {
+            for (final String wire : wires) {
+                for (final String request : requests) {
+                    for (final String daemon : daemons) {
+                        for (final String shell : shells) {
+                            for (final String archive : archives) {
+                                talks.add(
+                                    new XMLDocument(
+                                        String.format(
+                                            "<talk name='a' number='1' later='%s' public='true'>%s%s%s%s%s</talk>",
+                                            later, wire, request, daemon, shell, archive
+                                        )
+                                    )
+                                );
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return talks;
+    }
+
+    /**
+     * Value of a field.
+     * @param obj The object
+     * @param name Field name
+     * @return Value
+     * @throws Exception If fails
+     */
+    private static Object field(final Object obj, final String name)
+        throws Exception {
+        Class<?> type = obj.getClass();
+        while (!RoutingTest.declares(type, name)) {
+            type = type.getSuperclass();
+        }
+        final Field field = type.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(obj);
+    }
+
+    /**
+     * The class or any of its parents has this field?
+     * @param type The class
+     * @param name Field name
+     * @return TRUE if it has
+     */
+    private static boolean has(final Class<?> type, final String name) {
+        boolean has = false;
+        for (Class<?> cls = type; cls != null; cls = cls.getSuperclass()) {
+            if (RoutingTest.declares(cls, name)) {
+                has = true;
+                break;
+            }
+        }
+        return has;
+    }
+
+    /**
+     * The class declares this field?
+     * @param type The class
+     * @param name Field name
+     * @return TRUE if it does
+     */
+    private static boolean declares(final Class<?> type, final String name) {
+        boolean found = false;
+        for (final Field fld : type.getDeclaredFields()) {
+            if (fld.getName().equals(name)) {
+                found = true;
+                break;
+            }
+        }
+        return found;
+    }
+
+}
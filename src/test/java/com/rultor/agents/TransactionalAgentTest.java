@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.agents;
+
+import com.jcabi.matchers.XhtmlMatchers;
+import com.rultor.spi.Agent;
+import com.rultor.spi.Talk;
+import java.io.IOException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.xembly.Directives;
+
+/**
+ * Tests for {@link TransactionalAgent}.
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+public final class TransactionalAgentTest {
+
+    /**
+     * TransactionalAgent can save all modifications in one write.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void savesModificationsOnce() throws Exception {
+        final Talk talk = Mockito.mock(
+            Talk.class, AdditionalAnswers.delegatesTo(new Talk.InFile())
+        );
+        new TransactionalAgent(
+            new Agent.Iterative(
+                tlk -> tlk.modify(
+                    new Directives().xpath("/talk").add("wire")
+                        .add("href").set("#")
+                ),
+                tlk -> tlk.modify(
+                    new Directives().xpath("/talk/wire")
+                        .add("github-seen").set("5")
+                )
+            )
+        ).execute(talk);
+        Mockito.verify(talk, Mockito.times(1))
+            .modify(ArgumentMatchers.any());
+        MatcherAssert.assertThat(
+            talk.read(),
+            XhtmlMatchers.hasXPath("/talk/wire[href='#' and github-seen=5]")
+        );
+    }
+
+    /**
+     * TransactionalAgent can save modifications even if an agent fails.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void savesModificationsOnFailure() throws Exception {
+        final Talk talk = new Talk.InFile();
+        Assertions.assertThrows(
+            IOException.class,
+            () -> new TransactionalAgent(
+                new Agent.Iterative(
+                    tlk -> tlk.modify(
+                        new Directives().xpath("/talk")
+                            .attr("later", "true")
+                    ),
+                    tlk -> {
+                        throw new IOException("intended");
+                    }
+                )
+            ).execute(talk)
+        );
+        MatcherAssert.assertThat(
+            talk.read(),
+            XhtmlMatchers.hasXPath("/talk[@later='true']")
+        );
+    }
+
+    /**
+     * TransactionalAgent can throw the failure of the agent, not the
+     * failure of saving after it.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void keepsFailureOfAgent() throws Exception {
+        final Talk talk = Mockito.mock(
+            Talk.class, AdditionalAnswers.delegatesTo(new Talk.InFile())
+        );
+        Mockito.doThrow(new IOException("save"))
+            .when(talk).modify(ArgumentMatchers.any());
+        final IOException thrown = Assertions.assertThrows(
+            IOException.class,
+            () -> new TransactionalAgent(
+                new Agent.Iterative(
+                    tlk -> tlk.modify(
+                        new Directives().xpath("/talk")
+                            .attr("later", "true")
+                    ),
+                    tlk -> {
+                        throw new IOException("agent");
+                    }
+                )
+            ).execute(talk)
+        );
+        MatcherAssert.assertThat(
+            thrown.getMessage(), Matchers.equalTo("agent")
+        );
+        MatcherAssert.assertThat(
+            thrown.getSuppressed()[0].getMessage(), Matchers.equalTo("save")
+        );
+    }
+
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.agents;
+
+import com.jcabi.matchers.XhtmlMatchers;
+import com.rultor.local.LcTalks;
+import com.rultor.spi.Talk;
+import com.rultor.spi.Talks;
+import java.io.File;
+import org.cactoos.list.ListOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.xembly.Directives;
+
+/**
+ * Tests for {@link TrimsArchive}.
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+public final class TrimsArchiveTest {
+
+    /**
+     * TrimsArchive can move old logs to the archive.
+     * @param dir Temporary directory
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void movesOldLogs(@TempDir final File dir) throws Exception {
+        final String name = "a/b#1";
+        try (LcTalks talks = new LcTalks(dir)) {
+            talks.create("a/b", name);
+            final Talk talk = talks.get(name);
+            final Directives dirs = new Directives().xpath("/talk")
+                .add("archive");
+            for (int idx = 1; idx <= 3; ++idx) {
+                dirs.add("log")
+                    .attr("id", String.format("%08x", idx))
+                    .attr("title", "merge")
+                    .attr("index", Integer.toString(idx))
+                    .set(String.format("s3://test/%d.txt", idx))
+                    .up();
+            }
+            talk.modify(dirs);
+            new TrimsArchive(talks, 1).execute(talk);
+            MatcherAssert.assertThat(
+                talk.read(),
+                XhtmlMatchers.hasXPaths(
+                    "/talk/archive[count(log)=1]",
+                    "/talk/archive/log[@id='00000003']"
+                )
+            );
+            MatcherAssert.assertThat(
+                new ListOf<>(talks.archive(name).logs()),
+                Matchers.contains(
+                    XhtmlMatchers.hasXPath("/log[@id='00000002']"),
+                    XhtmlMatchers.hasXPath("/log[@id='00000001']")
+                )
+            );
+        }
+    }
+
+    /**
+     * TrimsArchive can move old logs to the archive of talks in
+     * a directory.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void movesOldLogsInDirectory() throws Exception {
+        final String name = "talk";
+        final Talks talks = new Talks.InDir();
+        talks.create("c/d", name);
+        final Directives dirs = new Directives().xpath("/talk")
+            .add("archive");
+        for (int idx = 1; idx <= 2; ++idx) {
+            dirs.add("log")
+                .attr("id", String.format("%08x", idx))
+                .attr("title", "deploy")
+                .set(String.format("s3://test/%d.txt", idx))
+                .up();
+        }
+        talks.get(name).modify(dirs);
+        new TrimsArchive(talks, 1).execute(talks.get(name));
+        MatcherAssert.assertThat(
+            talks.get(name).read(),
+            XhtmlMatchers.hasXPath("/talk/archive[count(log)=1]")
+        );
+        MatcherAssert.assertThat(
+            talks.archive(name).find("00000001"),
+            Matchers.hasSize(1)
+        );
+        MatcherAssert.assertThat(
+            new ListOf<>(talks.active()),
+            Matchers.hasSize(1)
+        );
+    }
+
+}
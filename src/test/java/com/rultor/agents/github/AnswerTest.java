@@ -58,9 +58,9 @@ public final class AnswerTest {
     public void postsGithubComment() throws Exception {
         final Issue issue = AnswerTest.issue();
         issue.comments().post("hey, do it");
-        new Answer(new Comment.Smart(issue.comments().get(1))).post(
-            true, "hey you\u0000"
-        );
+        new Answer(
+            new Comment.Smart(issue.comments().get(1)), new Tails()
+        ).post(true, "hey you\u0000");
         MatcherAssert.assertThat(
             new Comment.Smart(issue.comments().get(2)).body(),
             Matchers.containsString("> hey, do it\n\n")
@@ -80,7 +80,7 @@ public final class AnswerTest {
         final Comment.Smart comment = new Comment.Smart(
             issue.comments().get(1)
         );
-        final Answer answer = new Answer(comment);
+        final Answer answer = new Answer(comment, new Tails());
         for (int idx = 0; idx < Tv.TEN; ++idx) {
             answer.post(true, "oops");
         }
@@ -62,7 +62,7 @@ public final class CommentsTagTest {
         final Repo repo = new MkGithub().randomRepo();
         final Issue issue = repo.issues().create("", "");
         final Agent agent = new CommentsTag(
-            repo.github()
+            repo.github(), new Tails()
         );
         final String tag = "v1.0";
         final Talk talk = CommentsTagTest.talk(issue, tag);
@@ -81,7 +81,7 @@ public final class CommentsTagTest {
     public void duplicatesRelease() throws Exception {
         final Repo repo = new MkGithub().randomRepo();
         final Issue issue = repo.issues().create("", "");
-        final Agent agent = new CommentsTag(repo.github());
+        final Agent agent = new CommentsTag(repo.github(), new Tails());
         final String tag = "v5.0";
         repo.releases().create(tag);
         final Talk talk = CommentsTagTest.talk(issue, tag);
@@ -100,7 +100,7 @@ public final class CommentsTagTest {
     public void createsReleaseMessage() throws Exception {
         final Repo repo = new MkGithub().randomRepo();
         final Issue issue = repo.issues().create("", "");
-        final Agent agent = new CommentsTag(repo.github());
+        final Agent agent = new CommentsTag(repo.github(), new Tails());
         final String tag = "v1.5";
         final Talk talk = CommentsTagTest.talk(issue, tag);
         agent.execute(talk);
@@ -88,7 +88,7 @@ public final class ReleaseBinariesTest {
         new LengthOf(new TeeInput(content, bin)).value();
         final Talk talk = ReleaseBinariesTest
             .talk(repo.issues().create("", ""), tag, dir);
-        new CommentsTag(repo.github()).execute(talk);
+        new CommentsTag(repo.github(), new Tails()).execute(talk);
         new ReleaseBinaries(
             repo.github(),
             new Profile.Fixed(
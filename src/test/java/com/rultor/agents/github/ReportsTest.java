@@ -77,7 +77,7 @@ public final class ReportsTest {
         final Talk talk = ReportsTest.example(
             repo, repo.issues().create("", "")
         );
-        final Agent agent = new Reports(repo.github());
+        final Agent agent = new Reports(repo.github(), new Tails());
         agent.execute(talk);
         MatcherAssert.assertThat(
             talk.read(),
@@ -97,7 +97,7 @@ public final class ReportsTest {
         final Talk talk = ReportsTest.example(
             repo, repo.issues().create("Bug", stop)
         );
-        final Agent agent = new Reports(repo.github());
+        final Agent agent = new Reports(repo.github(), new Tails());
         agent.execute(talk);
         MatcherAssert.assertThat(
             talk.read(),
@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.agents.github;
+
+import com.jcabi.github.Issue;
+import com.jcabi.github.mock.MkGithub;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for ${@link Tails}.
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+public final class TailsTest {
+
+    /**
+     * Tails can count comments once and then move the tail forward.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void movesTailWithoutReadingComments() throws Exception {
+        final Issue issue = new MkGithub().randomRepo()
+            .issues().create("", "");
+        issue.comments().post("first");
+        issue.comments().post("second");
+        final Tails tails = new Tails(1L);
+        MatcherAssert.assertThat(
+            tails.mine(issue, "jeff"),
+            Matchers.equalTo(2)
+        );
+        tails.seen(issue, 3, false);
+        tails.posted(issue, 4);
+        tails.posted(issue, 4);
+        MatcherAssert.assertThat(
+            tails.mine(issue, "jeff"),
+            Matchers.equalTo(1)
+        );
+        MatcherAssert.assertThat(
+            tails.recount(issue, "jeff"),
+            Matchers.equalTo(2)
+        );
+    }
+
+    /**
+     * Tails can ignore comments of an issue that is not counted yet.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void countsIssueSeenBefore() throws Exception {
+        final Issue issue = new MkGithub().randomRepo()
+            .issues().create("", "");
+        issue.comments().post("one");
+        issue.comments().post("two");
+        final Tails tails = new Tails(1L);
+        tails.seen(issue, 2, false);
+        tails.posted(issue, 2);
+        MatcherAssert.assertThat(
+            tails.mine(issue, "jeff"),
+            Matchers.equalTo(2)
+        );
+    }
+
+    /**
+     * Tails can count comments again, when a tail expires.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void recountsExpiredTails() throws Exception {
+        final Issue issue = new MkGithub().randomRepo()
+            .issues().create("", "");
+        issue.comments().post("alpha");
+        final Tails tails = new Tails(1L, 0L);
+        MatcherAssert.assertThat(
+            tails.mine(issue, "jeff"),
+            Matchers.equalTo(1)
+        );
+        issue.comments().post("beta");
+        MatcherAssert.assertThat(
+            tails.mine(issue, "jeff"),
+            Matchers.equalTo(2)
+        );
+    }
+
+    /**
+     * Tails can ask Github for our login only once.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void remembersOwnLogin() throws Exception {
+        final MkGithub github = new MkGithub("jeff");
+        final Tails tails = new Tails();
+        tails.self(github);
+        MatcherAssert.assertThat(
+            tails.self(github.relogin("walter")),
+            Matchers.equalTo("jeff")
+        );
+    }
+
+}
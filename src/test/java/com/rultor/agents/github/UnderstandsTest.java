@@ -72,12 +72,12 @@ public final class UnderstandsTest {
         issue.comments().post("@jeff hello");
         issue.comments().post("@jeff deploy");
         final Agent agent = new Understands(
-            repo.github(),
+            repo.github(), new Tails(),
             new QnWithAuthor(
                 new QnFirstOf(
                     Arrays.asList(
-                        new QnIfContains("hello", new QnHello()),
-                        new QnIfContains("deploy", new QnDeploy())
+                        new QnIfContains("hello", new QnHello(new Tails())),
+                        new QnIfContains("deploy", new QnDeploy(new Tails()))
                     )
                 )
             )
@@ -96,6 +96,32 @@ public final class UnderstandsTest {
         );
     }
 
+    /**
+     * Understands can remember when the last seen comment was created.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void remembersTimeOfLastSeenComment() throws Exception {
+        final Repo repo = new MkGithub().randomRepo();
+        final Issue issue = repo.issues().create("", "");
+        issue.comments().post("@jeff hello");
+        final Agent agent = new Understands(
+            repo.github(), new Tails(),
+            new QnIfContains("hello", new QnHello(new Tails()))
+        );
+        final Talk talk = UnderstandsTest.talk(issue);
+        agent.execute(talk);
+        issue.comments().post("@jeff hello again");
+        agent.execute(talk);
+        MatcherAssert.assertThat(
+            talk.read(),
+            XhtmlMatchers.hasXPaths(
+                "/talk/wire[github-seen='2']",
+                "/talk/wire/github-seen-at"
+            )
+        );
+    }
+
     /**
      * Understands can ignore LATER req.
      * @throws Exception In case of error.
@@ -106,7 +132,7 @@ public final class UnderstandsTest {
         final Issue issue = repo.issues().create("", "");
         issue.comments().post("@jeff hey you");
         final Agent agent = new Understands(
-            repo.github(),
+            repo.github(), new Tails(),
             new Question() {
                 @Override
                 public Req understand(final Comment.Smart cmt, final URI home) {
@@ -131,8 +157,8 @@ public final class UnderstandsTest {
         final Repo repo = new MkGithub().randomRepo();
         final Issue issue = repo.issues().create("test", "@test hello");
         final Agent agent = new Understands(
-            repo.github(),
-            new QnIfContains("hello", new QnHello())
+            repo.github(), new Tails(),
+            new QnIfContains("hello", new QnHello(new Tails()))
         );
         final Talk talk = UnderstandsTest.talk(issue);
         agent.execute(talk);
@@ -36,6 +36,7 @@ import com.jcabi.github.Issue;
 import com.jcabi.github.Repo;
 import com.jcabi.github.mock.MkGithub;
 import com.jcabi.matchers.XhtmlMatchers;
+import com.rultor.agents.github.Tails;
 import com.rultor.spi.Talk;
 import java.net.URI;
 import org.hamcrest.MatcherAssert;
@@ -68,7 +69,9 @@ public final class QnAloneTest {
         MatcherAssert.assertThat(
             new Xembler(
                 new Directives().add("request").append(
-                    new QnAlone(talk, locks, new QnDeploy()).understand(
+                    new QnAlone(
+                        talk, locks, new QnDeploy(new Tails())
+                    ).understand(
                         new Comment.Smart(issue.comments().get(1)), new URI("#")
                     ).dirs()
                 )
@@ -35,6 +35,7 @@ import com.jcabi.github.Repo;
 import com.jcabi.github.mock.MkGithub;
 import com.jcabi.xml.XMLDocument;
 import com.rultor.agents.github.Question;
+import com.rultor.agents.github.Tails;
 import com.rultor.spi.Profile;
 import java.net.URI;
 import org.apache.commons.lang3.StringUtils;
@@ -68,6 +69,7 @@ public final class QnAskedByTest {
         final QnAskedBy qab = new QnAskedBy(
             new Profile.Fixed(),
             "//test",
+            new Tails(),
             Mockito.mock(Question.class)
         );
         github.relogin("rultor");
@@ -113,6 +115,7 @@ public final class QnAskedByTest {
                 "/p/entry[@key='%s']/entry[@key='commanders']/item/text()",
                 action
             ),
+            new Tails(),
             question
         );
         final URI home = new URI("#1");
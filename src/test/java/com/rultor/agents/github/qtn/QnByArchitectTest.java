@@ -36,6 +36,7 @@ import com.jcabi.github.User;
 import com.jcabi.github.mock.MkGithub;
 import com.jcabi.xml.XMLDocument;
 import com.rultor.agents.github.Question;
+import com.rultor.agents.github.Tails;
 import com.rultor.spi.Profile;
 import java.net.URI;
 import java.util.Date;
@@ -72,7 +73,7 @@ public final class QnByArchitectTest {
             new Profile.Fixed(
                 new XMLDocument("<p><entry key='a'>johnny</entry></p>")
             ),
-            "/p/entry[@key='a']/text()", question
+            "/p/entry[@key='a']/text()", new Tails(), question
         ).understand(comment, home);
         Mockito.verify(question, Mockito.never()).understand(comment, home);
         MatcherAssert.assertThat(
@@ -105,7 +106,7 @@ public final class QnByArchitectTest {
                     )
                 )
             ),
-            "/p/entry[@key='b']/text()", question
+            "/p/entry[@key='b']/text()", new Tails(), question
         ).understand(comment, home);
         Mockito.verify(question).understand(comment, home);
     }
@@ -139,7 +140,7 @@ public final class QnByArchitectTest {
             new Profile.Fixed(
                 new XMLDocument("<p><entry key='c'>alfred</entry></p>")
             ),
-            "/p/entry[@key='c']/text()", question
+            "/p/entry[@key='c']/text()", new Tails(), question
         ).understand(comment, home);
         Mockito.verify(question).understand(comment, home);
     }
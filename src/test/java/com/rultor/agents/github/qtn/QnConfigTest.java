@@ -34,6 +34,7 @@ import com.jcabi.github.Issue;
 import com.jcabi.github.Repo;
 import com.jcabi.github.mock.MkGithub;
 import com.rultor.agents.github.Req;
+import com.rultor.agents.github.Tails;
 import com.rultor.spi.Profile;
 import java.net.URI;
 import org.hamcrest.MatcherAssert;
@@ -60,7 +61,7 @@ public final class QnConfigTest {
         issue.comments().post("hello");
         final Profile profile = new Profile.Fixed();
         MatcherAssert.assertThat(
-            new QnConfig(profile).understand(
+            new QnConfig(profile, new Tails()).understand(
                 new Comment.Smart(issue.comments().get(1)), new URI("#")
             ),
             Matchers.is(Req.DONE)
@@ -33,6 +33,7 @@ import com.jcabi.github.Comment;
 import com.jcabi.github.Issue;
 import com.jcabi.github.Repo;
 import com.jcabi.github.mock.MkGithub;
+import com.rultor.agents.github.Tails;
 import java.net.URI;
 import java.util.Date;
 import org.hamcrest.MatcherAssert;
@@ -57,7 +58,7 @@ public final class QnIfContainsTest {
         final Repo repo = new MkGithub().randomRepo();
         final Issue issue = repo.issues().create("", "");
         issue.comments().post("something");
-        new QnIfContains("hello", new QnHello()).understand(
+        new QnIfContains("hello", new QnHello(new Tails())).understand(
             new Comment.Smart(issue.comments().get(1)), new URI("#")
         ).dirs();
         MatcherAssert.assertThat(
@@ -75,7 +76,7 @@ public final class QnIfContainsTest {
         final Repo repo = new MkGithub().randomRepo();
         final Issue issue = repo.issues().create("", "");
         issue.comments().post("something else to MErge");
-        new QnIfContains("merge", new QnHello()).understand(
+        new QnIfContains("merge", new QnHello(new Tails())).understand(
             new Comment.Smart(issue.comments().get(1)), new URI("#test")
         ).dirs();
         MatcherAssert.assertThat(
@@ -35,6 +35,7 @@ import com.jcabi.github.Repo;
 import com.jcabi.github.mock.MkGithub;
 import com.rultor.agents.github.Question;
 import com.rultor.agents.github.Req;
+import com.rultor.agents.github.Tails;
 import java.net.URI;
 import java.util.Arrays;
 import org.hamcrest.MatcherAssert;
@@ -63,7 +64,7 @@ public final class QnLastOfTest {
             new QnLastOf(
                 Arrays.asList(
                     Question.EMPTY,
-                    new QnDeploy(),
+                    new QnDeploy(new Tails()),
                     Question.EMPTY
                 )
             ).understand(new Comment.Smart(comment), new URI("#")),
@@ -34,6 +34,7 @@ import com.jcabi.github.Issue;
 import com.jcabi.github.Repo;
 import com.jcabi.github.mock.MkGithub;
 import com.rultor.agents.github.Req;
+import com.rultor.agents.github.Tails;
 import java.net.URI;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
@@ -59,7 +60,7 @@ public final class QnLockTest {
         final Issue issue = repo.issues().create("", "");
         issue.comments().post("lock users=`@test1, test2`");
         MatcherAssert.assertThat(
-            new QnLock().understand(
+            new QnLock(new Tails()).understand(
                 new Comment.Smart(issue.comments().get(1)), new URI("#")
             ),
             Matchers.is(Req.DONE)
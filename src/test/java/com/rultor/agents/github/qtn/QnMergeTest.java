@@ -34,6 +34,7 @@ import com.jcabi.github.Issue;
 import com.jcabi.github.Repo;
 import com.jcabi.github.mock.MkGithub;
 import com.jcabi.matchers.XhtmlMatchers;
+import com.rultor.agents.github.Tails;
 import java.net.URI;
 import org.hamcrest.MatcherAssert;
 import org.junit.jupiter.api.Disabled;
@@ -67,7 +68,7 @@ public final class QnMergeTest {
         MatcherAssert.assertThat(
             new Xembler(
                 new Directives().add("request").append(
-                    new QnMerge().understand(
+                    new QnMerge(new Tails()).understand(
                         new Comment.Smart(issue.comments().get(1)), new URI("#")
                     ).dirs()
                 )
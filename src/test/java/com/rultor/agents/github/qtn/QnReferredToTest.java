@@ -35,6 +35,7 @@ import com.jcabi.github.Repo;
 import com.jcabi.github.mock.MkGithub;
 import com.jcabi.matchers.XhtmlMatchers;
 import com.rultor.agents.github.Req;
+import com.rultor.agents.github.Tails;
 import java.net.URI;
 import org.apache.commons.lang3.StringUtils;
 import org.hamcrest.MatcherAssert;
@@ -124,7 +125,9 @@ public final class QnReferredToTest {
         final String login = "xx";
         issue.comments().post(String.format("hello @%s deploy", login));
         MatcherAssert.assertThat(
-            new QnReferredTo(login, new QnDeploy()).understand(
+            new QnReferredTo(
+                login, new Tails(), new QnDeploy(new Tails())
+            ).understand(
                 new Comment.Smart(issue.comments().get(1)), new URI("#")
             ),
             Matchers.is(Req.DONE)
@@ -155,7 +158,9 @@ public final class QnReferredToTest {
         final Repo repo = new MkGithub().randomRepo();
         final Issue issue = repo.issues().create("", "");
         issue.comments().post(comment);
-        return new QnReferredTo(login, new QnDeploy()).understand(
+        return new QnReferredTo(
+            login, new Tails(), new QnDeploy(new Tails())
+        ).understand(
             new Comment.Smart(issue.comments().get(1)), new URI("#")
         );
     }
@@ -173,7 +178,9 @@ public final class QnReferredToTest {
         issue.comments().post(comment);
         return new Xembler(
             new Directives().add("request").append(
-                new QnReferredTo("xx", new QnDeploy()).understand(
+                new QnReferredTo(
+                    "xx", new Tails(), new QnDeploy(new Tails())
+                ).understand(
                     new Comment.Smart(issue.comments().get(1)), new URI("#")
                 ).dirs()
             )
@@ -35,6 +35,7 @@ import com.jcabi.github.Repo;
 import com.jcabi.github.mock.MkGithub;
 import com.jcabi.matchers.XhtmlMatchers;
 import com.rultor.agents.github.Req;
+import com.rultor.agents.github.Tails;
 import java.net.URI;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
@@ -65,7 +66,7 @@ public final class QnReleaseTest {
         MatcherAssert.assertThat(
             new Xembler(
                 new Directives().add("request").append(
-                    new QnRelease().understand(
+                    new QnRelease(new Tails()).understand(
                         new Comment.Smart(issue.comments().get(1)), new URI("#")
                     ).dirs()
                 )
@@ -93,7 +94,7 @@ public final class QnReleaseTest {
         MatcherAssert.assertThat(
             new Xembler(
                 new Directives().add("request").append(
-                    new QnRelease().understand(
+                    new QnRelease(new Tails()).understand(
                         new Comment.Smart(issue.comments().get(1)), new URI("#")
                     ).dirs()
                 )
@@ -118,7 +119,7 @@ public final class QnReleaseTest {
         repo.releases().create("1.7");
         issue.comments().post("release `1.6`");
         MatcherAssert.assertThat(
-            new QnRelease().understand(
+            new QnRelease(new Tails()).understand(
                 new Comment.Smart(issue.comments().get(1)), new URI("#")
             ),
             Matchers.is(Req.EMPTY)
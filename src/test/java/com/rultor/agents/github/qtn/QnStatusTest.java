@@ -34,6 +34,7 @@ import com.jcabi.github.Issue;
 import com.jcabi.github.Repo;
 import com.jcabi.github.mock.MkGithub;
 import com.rultor.agents.github.Req;
+import com.rultor.agents.github.Tails;
 import com.rultor.spi.Talk;
 import java.net.URI;
 import org.hamcrest.MatcherAssert;
@@ -69,7 +70,7 @@ public final class QnStatusTest {
             "</talk>"
         );
         MatcherAssert.assertThat(
-            new QnWithAuthor(new QnStatus(talk)).understand(
+            new QnWithAuthor(new QnStatus(talk, new Tails())).understand(
                 new Comment.Smart(issue.comments().get(1)),
                 new URI("#")
             ),
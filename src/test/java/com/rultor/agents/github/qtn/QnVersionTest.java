@@ -35,6 +35,7 @@ import com.jcabi.github.Repo;
 import com.jcabi.github.mock.MkGithub;
 import com.jcabi.manifests.Manifests;
 import com.rultor.agents.github.Req;
+import com.rultor.agents.github.Tails;
 import java.net.URI;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
@@ -61,7 +62,7 @@ public final class QnVersionTest {
         final Issue issue = repo.issues().create("", "");
         issue.comments().post("version");
         MatcherAssert.assertThat(
-            new QnVersion().understand(
+            new QnVersion(new Tails()).understand(
                 new Comment.Smart(issue.comments().get(1)), new URI("#")
             ),
             Matchers.is(Req.DONE)
@@ -82,7 +83,7 @@ public final class QnVersionTest {
         final Issue issue = repo.issues().create("", "");
         issue.comments().post("version");
         MatcherAssert.assertThat(
-            new QnVersion().understand(
+            new QnVersion(new Tails()).understand(
                 new Comment.Smart(issue.comments().get(1)), new URI("#")
             ),
             Matchers.is(Req.DONE)
@@ -36,6 +36,7 @@ import com.jcabi.github.mock.MkGithub;
 import com.jcabi.matchers.XhtmlMatchers;
 import com.rultor.agents.github.Question;
 import com.rultor.agents.github.Req;
+import com.rultor.agents.github.Tails;
 import java.net.URI;
 import org.hamcrest.MatcherAssert;
 import org.junit.jupiter.api.Test;
@@ -66,7 +67,7 @@ public final class QnWithAuthorTest {
             issue.comments().get(1)
         );
         final Question question = new QnWithAuthor(
-            new QnStop()
+            new QnStop(new Tails())
         );
         final Req req = question.understand(comment, new URI("#"));
         MatcherAssert.assertThat(
@@ -94,7 +95,7 @@ public final class QnWithAuthorTest {
         final Comment.Smart comment = new Comment.Smart(
             issue.comments().get(1)
         );
-        final Question question = new QnWithAuthor(new QnHello());
+        final Question question = new QnWithAuthor(new QnHello(new Tails()));
         final Req req = question.understand(comment, new URI("#url"));
         MatcherAssert.assertThat(
             new Xembler(
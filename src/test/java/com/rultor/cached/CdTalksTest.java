@@ -0,0 +1,173 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.cached;
+
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import com.rultor.spi.Codec;
+import com.rultor.spi.Metrics;
+import com.rultor.spi.Talk;
+import com.rultor.spi.Talks;
+import java.io.IOException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.xembly.Directives;
+
+/**
+ * Test case for {@link CdTalks}.
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+public final class CdTalksTest {
+
+    /**
+     * CdTalks can forget the XML of the modified talk only.
+     * @throws Exception If fails
+     */
+    @Test
+    public void forgetsModifiedTalkOnly() throws Exception {
+        final Talk first = CdTalksTest.talk("a/b#1");
+        final Talk second = CdTalksTest.talk("a/b#2");
+        final Talks origin = Mockito.mock(Talks.class);
+        Mockito.when(origin.get("a/b#1")).thenReturn(first);
+        Mockito.when(origin.get("a/b#2")).thenReturn(second);
+        final Metrics.Simple metrics = new Metrics.Simple();
+        final Talks talks = new CdTalks(origin, metrics);
+        talks.get("a/b#1").read();
+        talks.get("a/b#2").read();
+        talks.get("a/b#1").modify(
+            new Directives().xpath("/talk").attr("later", "true")
+        );
+        talks.get("a/b#1").read();
+        talks.get("a/b#2").read();
+        Mockito.verify(first, Mockito.times(2)).read();
+        Mockito.verify(second, Mockito.times(1)).read();
+        MatcherAssert.assertThat(
+            metrics.all(),
+            Matchers.allOf(
+                Matchers.hasEntry("cache-hits", 1L),
+                Matchers.hasEntry("cache-misses", 3L)
+            )
+        );
+    }
+
+    /**
+     * Xmls can evict documents heavier than the limit, in encoded bytes.
+     * @throws Exception If fails
+     */
+    @Test
+    public void evictsByEncodedLength() throws Exception {
+        final Metrics.Simple metrics = new Metrics.Simple();
+        final Talk talk = CdTalksTest.talk("c/d#1");
+        final Xmls xmls = new Xmls(
+            metrics, Codec.DEFAULT,
+            CdTalksTest.encoded(talk) - 1L, Long.MAX_VALUE
+        );
+        xmls.read("c/d#1", talk);
+        xmls.read("c/d#1", talk);
+        Mockito.verify(talk, Mockito.times(3)).read();
+        MatcherAssert.assertThat(
+            metrics.all(),
+            Matchers.hasEntry("cache-evictions", 2L)
+        );
+    }
+
+    /**
+     * Xmls can keep a document lighter than the limit, in encoded bytes.
+     * @throws Exception If fails
+     */
+    @Test
+    public void keepsDocumentLighterThanLimit() throws Exception {
+        final Metrics.Simple metrics = new Metrics.Simple();
+        final Talk talk = CdTalksTest.talk("c/d#2");
+        final Xmls xmls = new Xmls(
+            metrics, Codec.DEFAULT, 1L << 20, Long.MAX_VALUE
+        );
+        xmls.read("c/d#2", talk);
+        xmls.read("c/d#2", talk);
+        Mockito.verify(talk, Mockito.times(1)).read();
+        MatcherAssert.assertThat(
+            metrics.all(),
+            Matchers.hasEntry("cache-hits", 1L)
+        );
+    }
+
+    /**
+     * Xmls can't put back a document read before the talk was forgotten.
+     * @throws Exception If fails
+     */
+    @Test
+    public void skipsDocumentsReadBeforeForget() throws Exception {
+        final Xmls xmls = new Xmls(new Metrics.Simple());
+        final String name = "e/f#1";
+        final Talk talk = CdTalksTest.talk(name);
+        final XML stale = talk.read();
+        Mockito.when(talk.read()).thenAnswer(
+            inv -> {
+                xmls.forget(name);
+                return stale;
+            }
+        ).thenReturn(stale);
+        xmls.read(name, talk);
+        xmls.read(name, talk);
+        Mockito.verify(talk, Mockito.times(3)).read();
+    }
+
+    /**
+     * Make a talk.
+     * @param name Its name
+     * @return Talk
+     * @throws IOException If fails
+     */
+    private static Talk talk(final String name) throws IOException {
+        final Talk talk = Mockito.mock(Talk.class);
+        Mockito.when(talk.name()).thenReturn(name);
+        Mockito.when(talk.read()).thenReturn(
+            new XMLDocument(
+                String.format("<talk name='%s' number='1'/>", name)
+            )
+        );
+        return talk;
+    }
+
+    /**
+     * Length of the talk XML, encoded.
+     * @param talk The talk
+     * @return Length in bytes
+     * @throws IOException If fails
+     */
+    private static long encoded(final Talk talk) throws IOException {
+        return Codec.DEFAULT.encode(talk.read().toString()).length;
+    }
+
+}
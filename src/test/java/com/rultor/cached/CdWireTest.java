@@ -0,0 +1,260 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.cached;
+
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import com.jcabi.http.request.DefaultResponse;
+import com.jcabi.http.request.FakeRequest;
+import com.jcabi.immutable.Array;
+import com.rultor.spi.Metrics;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.cactoos.map.MapEntry;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link CdWire}.
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+public final class CdWireTest {
+
+    /**
+     * URI of an issue.
+     */
+    private static final String ISSUE =
+        "https://api.github.com/repos/a/b/issues/1";
+
+    /**
+     * CdWire can fetch a resource once per cycle, until it's modified.
+     * @param temp Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    public void fetchesOncePerCycle(@TempDir final Path temp)
+        throws Exception {
+        final AtomicInteger gets = new AtomicInteger();
+        final Metrics metrics = new Metrics.Simple();
+        final Wire wire = new CdWire(
+            CdWireTest.github(gets), temp.toFile(), metrics
+        );
+        CdWireTest.send(wire, Request.GET);
+        CdWireTest.send(wire, Request.GET);
+        MatcherAssert.assertThat(gets.get(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(
+            metrics.all(),
+            Matchers.hasEntry("github-hits:repos/issues", 1L)
+        );
+        CdWireTest.send(wire, Request.PATCH);
+        CdWireTest.send(wire, Request.GET);
+        MatcherAssert.assertThat(gets.get(), Matchers.equalTo(2));
+    }
+
+    /**
+     * CdWire can revalidate a stored resource with its ETag.
+     * @param temp Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    public void revalidatesWithEtag(@TempDir final Path temp)
+        throws Exception {
+        final AtomicInteger gets = new AtomicInteger();
+        final Metrics metrics = new Metrics.Simple();
+        final File dir = temp.toFile();
+        CdWireTest.send(
+            new CdWire(CdWireTest.github(gets), dir, metrics), Request.GET
+        );
+        MatcherAssert.assertThat(
+            CdWireTest.send(
+                new CdWire(CdWireTest.github(gets), dir, metrics),
+                Request.GET
+            ).body(),
+            Matchers.equalTo("{\"number\":1}")
+        );
+        MatcherAssert.assertThat(
+            metrics.all(),
+            Matchers.allOf(
+                Matchers.hasEntry("github-misses:repos/issues", 1L),
+                Matchers.hasEntry("github-revalidations:repos/issues", 1L)
+            )
+        );
+    }
+
+    /**
+     * CdWire can forget a resource when it's modified by POST or PATCH.
+     * @param temp Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    public void forgetsOnPostAndPatch(@TempDir final Path temp)
+        throws Exception {
+        final AtomicInteger gets = new AtomicInteger();
+        final Wire wire = new CdWire(
+            CdWireTest.github(gets), temp.toFile(), new Metrics.Simple()
+        );
+        CdWireTest.send(wire, Request.GET);
+        CdWireTest.send(
+            wire, "https://api.github.com/repos/a/b/issues/1/comments",
+            Request.POST
+        );
+        CdWireTest.send(wire, Request.GET);
+        MatcherAssert.assertThat(gets.get(), Matchers.equalTo(2));
+        CdWireTest.send(wire, Request.PATCH);
+        CdWireTest.send(wire, Request.GET);
+        MatcherAssert.assertThat(gets.get(), Matchers.equalTo(3));
+        CdWireTest.send(
+            wire, "https://api.github.com/repos/c/d/issues", Request.POST
+        );
+        CdWireTest.send(wire, Request.GET);
+        MatcherAssert.assertThat(gets.get(), Matchers.equalTo(3));
+    }
+
+    /**
+     * CdWire can ignore a response of GET, which was in flight
+     * while the resource was modified.
+     * @param temp Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    public void ignoresGetsRacingWithWrites(@TempDir final Path temp)
+        throws Exception {
+        final AtomicInteger gets = new AtomicInteger();
+        final AtomicReference<Wire> cached = new AtomicReference<>();
+        final Wire github = CdWireTest.github(gets);
+        cached.set(
+            new CdWire(
+                (req, home, method, headers, content, connect, read) -> {
+                    final Response rsp = github.send(
+                        req, home, method, headers, content, connect, read
+                    );
+                    if (Request.GET.equals(method) && gets.get() == 1) {
+                        CdWireTest.send(cached.get(), Request.PATCH);
+                    }
+                    return rsp;
+                },
+                temp.toFile(), new Metrics.Simple()
+            )
+        );
+        CdWireTest.send(cached.get(), Request.GET);
+        CdWireTest.send(cached.get(), Request.GET);
+        MatcherAssert.assertThat(gets.get(), Matchers.equalTo(2));
+    }
+
+    /**
+     * CdWire can keep only the most recently used responses on disk.
+     * @param temp Temporary directory
+     * @throws Exception If fails
+     */
+    @Test
+    public void keepsRecentResponsesOnDisk(@TempDir final Path temp)
+        throws Exception {
+        final File dir = temp.toFile();
+        final Wire wire = new CdWire(
+            CdWireTest.github(new AtomicInteger()), dir,
+            new Metrics.Simple(), 1
+        );
+        CdWireTest.send(wire, Request.GET);
+        CdWireTest.send(
+            wire, "https://api.github.com/repos/a/b/issues/2", Request.GET
+        );
+        MatcherAssert.assertThat(dir.list(), Matchers.arrayWithSize(1));
+    }
+
+    /**
+     * Send a request through the wire.
+     * @param wire The wire
+     * @param method HTTP method
+     * @return Response
+     * @throws IOException If fails
+     */
+    private static Response send(final Wire wire, final String method)
+        throws IOException {
+        return CdWireTest.send(wire, CdWireTest.ISSUE, method);
+    }
+
+    /**
+     * Send a request to the URI through the wire.
+     * @param wire The wire
+     * @param uri URI
+     * @param method HTTP method
+     * @return Response
+     * @throws IOException If fails
+     */
+    private static Response send(final Wire wire, final String uri,
+        final String method) throws IOException {
+        return wire.send(
+            new FakeRequest(), uri, method,
+            Collections.emptyList(), new ByteArrayInputStream(new byte[0]),
+            0, 0
+        );
+    }
+
+    /**
+     * Fake GitHub, which answers 304 to a request with the right ETag.
+     * @param gets Counter of GET requests
+     * @return Wire
+     */
+    private static Wire github(final AtomicInteger gets) {
+        return (req, home, method, headers, content, connect, read) -> {
+            if (Request.GET.equals(method)) {
+                gets.incrementAndGet();
+            }
+            int status = HttpURLConnection.HTTP_OK;
+            for (final Map.Entry<String, String> ent : headers) {
+                if ("If-None-Match".equals(ent.getKey())
+                    && "\"e1\"".equals(ent.getValue())) {
+                    status = HttpURLConnection.HTTP_NOT_MODIFIED;
+                }
+            }
+            return new DefaultResponse(
+                req, status, "",
+                new Array<Map.Entry<String, String>>(
+                    Collections.singleton(new MapEntry<>("ETag", "\"e1\""))
+                ),
+                "{\"number\":1}".getBytes(StandardCharsets.UTF_8)
+            );
+        };
+    }
+
+}
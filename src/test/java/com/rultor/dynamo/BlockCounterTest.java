@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.dynamo;
+
+import co.stateful.Counter;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link BlockCounter}.
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+public final class BlockCounterTest {
+
+    /**
+     * BlockCounter can hand out numbers from a reserved block.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void reservesBlocks() throws Exception {
+        final Counter origin = new BlockCounterTest.FakeCounter();
+        final Counter counter = new BlockCounter(origin, 10L);
+        MatcherAssert.assertThat(
+            counter.incrementAndGet(1L), Matchers.equalTo(1L)
+        );
+        MatcherAssert.assertThat(
+            counter.incrementAndGet(1L), Matchers.equalTo(2L)
+        );
+        MatcherAssert.assertThat(
+            origin.incrementAndGet(0L), Matchers.equalTo(10L)
+        );
+        MatcherAssert.assertThat(
+            counter.incrementAndGet(9L), Matchers.equalTo(19L)
+        );
+    }
+
+    /**
+     * BlockCounter can share the original counter with others.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void neverDuplicatesNumbers() throws Exception {
+        final Counter origin = new BlockCounterTest.FakeCounter();
+        final Counter first = new BlockCounter(origin, 7L);
+        final Counter second = new BlockCounter(origin, 5L);
+        final Set<Long> numbers = ConcurrentHashMap.newKeySet();
+        final ExecutorService svc = Executors.newFixedThreadPool(4);
+        for (int idx = 0; idx < 100; ++idx) {
+            final Counter counter;
+            if (idx % 2 == 0) {
+                counter = first;
+            } else {
+                counter = second;
+            }
+            svc.submit(
+                () -> numbers.add(counter.incrementAndGet(1L))
+            );
+        }
+        svc.shutdown();
+        MatcherAssert.assertThat(
+            svc.awaitTermination(1L, TimeUnit.MINUTES), Matchers.is(true)
+        );
+        MatcherAssert.assertThat(numbers, Matchers.hasSize(100));
+    }
+
+    /**
+     * Counter in memory.
+     */
+    private static final class FakeCounter implements Counter {
+        /**
+         * The value.
+         */
+        private final transient AtomicLong value = new AtomicLong();
+        @Override
+        public String name() {
+            return "fake";
+        }
+        @Override
+        public void set(final long val) {
+            this.value.set(val);
+        }
+        @Override
+        public long incrementAndGet(final long delta) {
+            return this.value.addAndGet(delta);
+        }
+    }
+
+}
@@ -0,0 +1,273 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.dynamo;
+
+import com.jcabi.dynamo.Attributes;
+import com.jcabi.matchers.XhtmlMatchers;
+import com.rultor.spi.Codec;
+import com.rultor.spi.Metrics;
+import com.rultor.spi.Talk;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.xembly.Directives;
+
+/**
+ * Tests for {@link DySourced}.
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+public final class DySourcedTest {
+
+    /**
+     * DySourced can append modifications as events.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void appendsEvents() throws Exception {
+        final FakeItem item = DySourcedTest.item();
+        final FakeEvents events = new FakeEvents();
+        final Talk talk = new DySourced(
+            new Preloaded(item), events, Metrics.EMPTY, Codec.DEFAULT, 10
+        );
+        talk.modify(new Directives().xpath("/talk").attr("public", "false"));
+        talk.modify(new Directives().xpath("/talk").attr("later", "true"));
+        MatcherAssert.assertThat(
+            talk.read(),
+            XhtmlMatchers.hasXPaths(
+                "/talk[@public='false']", "/talk[@later='true']"
+            )
+        );
+        MatcherAssert.assertThat(events.size(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(
+            item.has(DyTalks.ATTR_XML_ZIP),
+            Matchers.is(false)
+        );
+    }
+
+    /**
+     * DySourced can write a snapshot every N modifications.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void writesSnapshots() throws Exception {
+        final FakeItem item = DySourcedTest.item();
+        final FakeEvents events = new FakeEvents();
+        final Metrics.Simple metrics = new Metrics.Simple();
+        final Talk talk = new DySourced(
+            new Preloaded(item), events, metrics, Codec.DEFAULT, 2
+        );
+        talk.modify(new Directives().xpath("/talk").attr("public", "false"));
+        talk.modify(new Directives().xpath("/talk").attr("later", "true"));
+        MatcherAssert.assertThat(
+            item.get(DyTalks.ATTR_SEQ).getN(),
+            Matchers.equalTo("2")
+        );
+        talk.modify(new Directives().xpath("/talk").attr("public", "true"));
+        MatcherAssert.assertThat(
+            talk.read(),
+            XhtmlMatchers.hasXPaths(
+                "/talk[@public='true']", "/talk[@later='true']"
+            )
+        );
+        MatcherAssert.assertThat(events.after(2L).size(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(
+            metrics.all().get("dynamo-snapshots"),
+            Matchers.equalTo(1L)
+        );
+    }
+
+    /**
+     * DySourced can delete events covered by older snapshots.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void prunesOldEvents() throws Exception {
+        final FakeEvents events = new FakeEvents();
+        final Talk talk = new DySourced(
+            new Preloaded(DySourcedTest.item()), events,
+            Metrics.EMPTY, Codec.DEFAULT, 2
+        );
+        for (int idx = 0; idx < 4; ++idx) {
+            final String value = Boolean.toString(idx % 2 == 0);
+            talk.modify(new Directives().xpath("/talk").attr("later", value));
+        }
+        MatcherAssert.assertThat(events.after(0L).size(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(
+            talk.read(),
+            XhtmlMatchers.hasXPath("/talk[@later='false']")
+        );
+    }
+
+    /**
+     * DySourced can't add an event on top of a snapshot written by
+     * somebody else after the talk was read.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void retriesEventsRacingWithSnapshots() throws Exception {
+        final FakeItem item = DySourcedTest.item();
+        final FakeEvents events = new FakeEvents();
+        final Talk first = new DySourced(
+            new Preloaded(item), events, Metrics.EMPTY, Codec.DEFAULT, 2
+        );
+        first.modify(new Directives().xpath("/talk").attr("later", "true"));
+        final AtomicBoolean raced = new AtomicBoolean();
+        final Metrics.Simple metrics = new Metrics.Simple();
+        final Talk second = new DySourced(
+            new Preloaded(item),
+            new Events() {
+                @Override
+                public List<String> after(final long seq) throws IOException {
+                    final List<String> tail = events.after(seq);
+                    if (raced.compareAndSet(false, true)) {
+                        first.modify(
+                            new Directives().xpath("/talk")
+                                .attr("public", "false")
+                        );
+                    }
+                    return tail;
+                }
+                @Override
+                public boolean add(final long seq, final String script) {
+                    return events.add(seq, script);
+                }
+                @Override
+                public void prune(final long seq) {
+                    events.prune(seq);
+                }
+                @Override
+                public long latest() {
+                    return events.latest();
+                }
+            },
+            metrics, Codec.DEFAULT, 10
+        );
+        second.modify(new Directives().xpath("/talk").attr("later", "false"));
+        MatcherAssert.assertThat(
+            metrics.all(),
+            Matchers.hasEntry("dynamo-conflicts", 1L)
+        );
+        MatcherAssert.assertThat(
+            first.read(),
+            XhtmlMatchers.hasXPath("/talk[@public='false' and @later='false']")
+        );
+    }
+
+    /**
+     * DySourced can read a snapshot together with its sequence number,
+     * while somebody else writes a new snapshot.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void readsSnapshotWithItsSequence() throws Exception {
+        final FakeItem item = DySourcedTest.item();
+        final FakeEvents events = new FakeEvents();
+        final Talk first = new DySourced(
+            new Preloaded(item), events, Metrics.EMPTY, Codec.DEFAULT, 2
+        );
+        first.modify(
+            new Directives().xpath("/talk").add("wire").add("href").set("#")
+        );
+        final AtomicBoolean raced = new AtomicBoolean();
+        final Talk second = new DySourced(
+            new Preloaded(item),
+            new Events() {
+                @Override
+                public List<String> after(final long seq) throws IOException {
+                    final List<String> tail = events.after(seq);
+                    if (raced.compareAndSet(false, true)) {
+                        first.modify(
+                            new Directives().xpath("/talk")
+                                .attr("public", "false")
+                        );
+                    }
+                    return tail;
+                }
+                @Override
+                public boolean add(final long seq, final String script) {
+                    return events.add(seq, script);
+                }
+                @Override
+                public void prune(final long seq) {
+                    events.prune(seq);
+                }
+                @Override
+                public long latest() {
+                    return events.latest();
+                }
+            },
+            Metrics.EMPTY, Codec.DEFAULT, 2
+        );
+        MatcherAssert.assertThat(
+            second.read(),
+            XhtmlMatchers.hasXPath("/talk[count(wire)=1]")
+        );
+        MatcherAssert.assertThat(
+            item.get(DyTalks.ATTR_SEQ).getN(),
+            Matchers.equalTo("2")
+        );
+    }
+
+    /**
+     * DySourced can skip modifications that change nothing.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void skipsEmptyModifications() throws Exception {
+        final FakeEvents events = new FakeEvents();
+        final Talk talk = new DySourced(
+            new Preloaded(DySourcedTest.item()), events,
+            Metrics.EMPTY, Codec.DEFAULT, 2
+        );
+        talk.modify(new Directives().xpath("/talk").attr("later", "false"));
+        MatcherAssert.assertThat(events.size(), Matchers.equalTo(0));
+    }
+
+    /**
+     * Make an item of a new talk.
+     * @return Item
+     */
+    private static FakeItem item() {
+        return new FakeItem(
+            new Attributes()
+                .with(DyTalks.HASH, "a/b#1")
+                .with(DyTalks.ATTR_NUMBER, 1L)
+                .with(DyTalks.ATTR_UPDATED, System.currentTimeMillis())
+                .with(DyTalks.ATTR_XML, "<talk name='a/b#1' number='1'/>")
+        );
+    }
+
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.dynamo;
+
+import com.jcabi.dynamo.Attributes;
+import com.jcabi.matchers.XhtmlMatchers;
+import com.rultor.spi.Codec;
+import com.rultor.spi.Metrics;
+import com.rultor.spi.Talk;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.xembly.Directives;
+
+/**
+ * Tests for {@link DyTalk}.
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+public final class DyTalkTest {
+
+    /**
+     * DyTalk can apply directives again if somebody else wrote first.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void retriesOnConflict() throws Exception {
+        final Attributes loaded = new Attributes()
+            .with(DyTalks.HASH, "a/b#1")
+            .with(DyTalks.ATTR_NUMBER, 1L)
+            .with(DyTalks.ATTR_UPDATED, System.currentTimeMillis())
+            .with(DyTalks.ATTR_XML, "<talk name='a/b#1' number='1'/>");
+        final FakeItem item = new FakeItem(
+            loaded
+                .with(DyTalks.ATTR_VERSION, 1L)
+                .with(
+                    DyTalks.ATTR_XML,
+                    "<talk name='a/b#1' number='1' public='false'/>"
+                )
+        );
+        final Metrics.Simple metrics = new Metrics.Simple();
+        final Talk talk = new DyTalk(
+            new Preloaded(item, loaded), metrics, Codec.DEFAULT
+        );
+        talk.modify(new Directives().xpath("/talk").attr("later", "true"));
+        MatcherAssert.assertThat(
+            talk.read(),
+            XhtmlMatchers.hasXPaths(
+                "/talk[@public='false']", "/talk[@later='true']"
+            )
+        );
+        MatcherAssert.assertThat(
+            item.get(DyTalks.ATTR_VERSION).getN(),
+            Matchers.equalTo("2")
+        );
+        MatcherAssert.assertThat(
+            metrics.all().get("dynamo-conflicts"),
+            Matchers.equalTo(1L)
+        );
+    }
+
+}
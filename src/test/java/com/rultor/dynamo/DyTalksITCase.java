@@ -35,11 +35,17 @@ import com.jcabi.dynamo.Region;
 import com.jcabi.dynamo.retry.ReRegion;
 import com.jcabi.manifests.Manifests;
 import com.jcabi.matchers.XhtmlMatchers;
+import com.jcabi.xml.XMLDocument;
+import com.rultor.spi.Archive;
+import com.rultor.spi.Metrics;
+import com.rultor.spi.Nodes;
 import com.rultor.spi.Talk;
 import com.rultor.spi.Talks;
 import java.io.IOException;
 import java.util.Date;
 import java.util.concurrent.TimeUnit;
+import org.cactoos.iterable.Filtered;
+import org.cactoos.list.ListOf;
 import org.hamcrest.CustomMatcher;
 import org.hamcrest.Description;
 import org.hamcrest.MatcherAssert;
@@ -91,6 +97,129 @@ public final class DyTalksITCase {
         );
     }
 
+    /**
+     * DyTalks can skip writes which change nothing.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void skipsEmptyWrites() throws Exception {
+        final Metrics metrics = new Metrics.Simple();
+        final Talks talks = new DyTalks(
+            DyTalksITCase.dynamo(), new MkSttc().counters().get(""), metrics
+        );
+        final String name = "yegor256/rultor#1024";
+        talks.create("c/d", name);
+        final Talk talk = talks.get(name);
+        talk.modify(new Directives().xpath("/talk").attr("later", "true"));
+        talk.modify(new Directives().xpath("/talk").attr("later", "true"));
+        MatcherAssert.assertThat(
+            metrics.all(),
+            Matchers.allOf(
+                Matchers.hasEntry("dynamo-writes", 1L),
+                Matchers.hasEntry("dynamo-writes-avoided", 1L)
+            )
+        );
+    }
+
+    /**
+     * DyTalks can merge concurrent modifications of the same talk.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void mergesConcurrentWrites() throws Exception {
+        final Metrics metrics = new Metrics.Simple();
+        final Talks talks = new DyTalks(
+            DyTalksITCase.dynamo(), new MkSttc().counters().get(""), metrics
+        );
+        final String name = "yegor256/rultor#1025";
+        talks.create("c/d", name);
+        final Talk first = new Filtered<>(
+            talk -> talk.name().equals(name), talks.active()
+        ).iterator().next();
+        final Talk second = new Filtered<>(
+            talk -> talk.name().equals(name), talks.active()
+        ).iterator().next();
+        first.modify(new Directives().xpath("/talk").attr("later", "true"));
+        second.modify(new Directives().xpath("/talk").attr("public", "false"));
+        MatcherAssert.assertThat(
+            talks.get(name).read(),
+            XhtmlMatchers.hasXPaths(
+                "/talk[@later='true']", "/talk[@public='false']"
+            )
+        );
+        MatcherAssert.assertThat(
+            metrics.all(),
+            Matchers.hasEntry("dynamo-conflicts", 1L)
+        );
+    }
+
+    /**
+     * DyTalks can keep archives of talks.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void keepsArchives() throws Exception {
+        final Talks talks = new DyTalks(
+            DyTalksITCase.dynamo(), new MkSttc().counters().get("")
+        );
+        final String name = "yegor256/rultor#2048";
+        talks.create("e/f", name);
+        final Archive archive = talks.archive(name);
+        archive.add(
+            new XMLDocument(
+                String.join(
+                    "",
+                    "<archive><log id='a1' title='first'>s3://a</log>",
+                    "<log id='b2' title='second' index='7'>s3://b</log>",
+                    "</archive>"
+                )
+            ).nodes("/archive/log")
+        );
+        MatcherAssert.assertThat(
+            new ListOf<>(archive.logs()).get(0),
+            XhtmlMatchers.hasXPath("/log[@id='b2' and @index='7']")
+        );
+        MatcherAssert.assertThat(
+            archive.find("a1").get(0),
+            XhtmlMatchers.hasXPath("/log[@title='first' and .='s3://a']")
+        );
+        talks.delete(name);
+        MatcherAssert.assertThat(archive.logs(), Matchers.emptyIterable());
+    }
+
+    /**
+     * DyTalks can load all active talks in one batch.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void loadsActiveTalksInBatch() throws Exception {
+        final Metrics metrics = new Metrics.Simple();
+        final Talks talks = new DyTalks(
+            DyTalksITCase.dynamo(), new MkSttc().counters().get(""), metrics
+        );
+        final String name = "yegor256/rultor#2048";
+        talks.create("e/f", name);
+        talks.create("e/f", "yegor256/rultor#2049");
+        for (final Talk talk : talks.active()) {
+            if (talk.name().equals(name)) {
+                talk.modify(
+                    new Directives().xpath("/talk").attr("later", "true")
+                );
+                talk.modify(
+                    new Directives().xpath("/talk").attr("public", "true")
+                );
+            }
+        }
+        MatcherAssert.assertThat(
+            talks.get(name).read(),
+            XhtmlMatchers.hasXPath("/talk[@later='true' and @public='true']")
+        );
+        MatcherAssert.assertThat(
+            metrics.all(),
+            Matchers.hasEntry("dynamo-batch-reads", 1L)
+        );
+    }
+
     /**
      * DyTalks can list recent talks.
      * @throws Exception If some problem inside
@@ -200,6 +329,49 @@ public final class DyTalksITCase {
         );
     }
 
+    /**
+     * DyNodes can let only one node at a time claim a talk.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void claimsTalkOnce() throws Exception {
+        final Region region = DyTalksITCase.dynamo();
+        final String name = "yegor256/rultor#2048";
+        new DyTalks(region, new MkSttc().counters().get("")).create(
+            "e/f", name
+        );
+        final Nodes first = new DyNodes(region, "first", 1000L, 1000L);
+        final Nodes second = new DyNodes(region, "second", 1000L, 1000L);
+        MatcherAssert.assertThat(first.claim(name), Matchers.is(true));
+        MatcherAssert.assertThat(second.claim(name), Matchers.is(false));
+        MatcherAssert.assertThat(first.claim(name), Matchers.is(true));
+        MatcherAssert.assertThat(
+            second.claim("yegor256/rultor#absent"), Matchers.is(false)
+        );
+        TimeUnit.SECONDS.sleep(2L);
+        MatcherAssert.assertThat(second.claim(name), Matchers.is(true));
+        MatcherAssert.assertThat(first.claim(name), Matchers.is(false));
+    }
+
+    /**
+     * DyNodes can elect one leader and keep it out of the nodes alive.
+     * @throws Exception If some problem inside
+     */
+    @Test
+    public void electsOneLeader() throws Exception {
+        final Region region = DyTalksITCase.dynamo();
+        final Nodes first = new DyNodes(region, "alpha", 1000L);
+        final Nodes second = new DyNodes(region, "beta", 1000L);
+        MatcherAssert.assertThat(first.lead(), Matchers.is(true));
+        MatcherAssert.assertThat(second.lead(), Matchers.is(false));
+        MatcherAssert.assertThat(
+            second.alive(), Matchers.not(Matchers.hasItem("leader"))
+        );
+        TimeUnit.SECONDS.sleep(2L);
+        MatcherAssert.assertThat(second.lead(), Matchers.is(true));
+        MatcherAssert.assertThat(first.lead(), Matchers.is(false));
+    }
+
     /**
      * DynamoDB region for tests.
      * @return Region
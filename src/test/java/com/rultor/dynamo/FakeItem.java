@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.dynamo;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.AttributeValueUpdate;
+import com.amazonaws.services.dynamodbv2.model.ConditionalCheckFailedException;
+import com.amazonaws.services.dynamodbv2.model.ExpectedAttributeValue;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GetItemResult;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemResult;
+import com.jcabi.dynamo.Frame;
+import com.jcabi.dynamo.Item;
+import com.jcabi.dynamo.Region;
+import com.jcabi.dynamo.Table;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import org.mockito.Mockito;
+
+/**
+ * Item in memory.
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+final class FakeItem implements Item {
+
+    /**
+     * Attributes.
+     */
+    private final transient Map<String, AttributeValue> attrs;
+
+    /**
+     * Frame of a table, which can only update this item.
+     */
+    private final transient Frame frm;
+
+    /**
+     * Ctor.
+     * @param init Initial attributes
+     */
+    FakeItem(final Map<String, AttributeValue> init) {
+        this.attrs = new ConcurrentHashMap<>(init);
+        final AmazonDynamoDB aws = Mockito.mock(AmazonDynamoDB.class);
+        Mockito.when(aws.updateItem(Mockito.any(UpdateItemRequest.class)))
+            .thenAnswer(inv -> this.update(inv.getArgument(0)));
+        Mockito.when(aws.getItem(Mockito.any(GetItemRequest.class)))
+            .thenAnswer(inv -> this.load());
+        final Region region = Mockito.mock(Region.class);
+        Mockito.when(region.aws()).thenReturn(aws);
+        final Table table = Mockito.mock(Table.class);
+        Mockito.when(table.region()).thenReturn(region);
+        Mockito.when(table.name()).thenReturn("talks");
+        this.frm = Mockito.mock(Frame.class);
+        Mockito.when(this.frm.table()).thenReturn(table);
+    }
+
+    @Override
+    public AttributeValue get(final String name) {
+        final AttributeValue value = this.attrs.get(name);
+        if (value == null) {
+            throw new NoSuchElementException(name);
+        }
+        return value;
+    }
+
+    @Override
+    public boolean has(final String name) {
+        return this.attrs.containsKey(name);
+    }
+
+    @Override
+    public Map<String, AttributeValue> put(final String name,
+        final AttributeValueUpdate value) {
+        return this.put(Collections.singletonMap(name, value));
+    }
+
+    @Override
+    public Map<String, AttributeValue> put(
+        final Map<String, AttributeValueUpdate> updates) {
+        for (final Map.Entry<String, AttributeValueUpdate> ent
+            : updates.entrySet()) {
+            this.attrs.put(ent.getKey(), ent.getValue().getValue());
+        }
+        return Collections.unmodifiableMap(this.attrs);
+    }
+
+    @Override
+    public Frame frame() {
+        return this.frm;
+    }
+
+    /**
+     * Read all attributes at once.
+     * @return Result
+     */
+    private synchronized GetItemResult load() {
+        return new GetItemResult().withItem(new HashMap<>(this.attrs));
+    }
+
+    /**
+     * Update it, if all expectations are met.
+     * @param request The request
+     * @return Result
+     */
+    private synchronized UpdateItemResult update(
+        final UpdateItemRequest request) {
+        for (final Map.Entry<String, ExpectedAttributeValue> ent
+            : request.getExpected().entrySet()) {
+            final AttributeValue current = this.attrs.get(ent.getKey());
+            final ExpectedAttributeValue expected = ent.getValue();
+            if (Boolean.FALSE.equals(expected.getExists()) && current != null
+                || expected.getValue() != null
+                && !expected.getValue().equals(current)) {
+                throw new ConditionalCheckFailedException(ent.getKey());
+            }
+        }
+        this.put(request.getAttributeUpdates());
+        return new UpdateItemResult();
+    }
+
+}
@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.dynamo;
+
+import com.jcabi.dynamo.Attributes;
+import com.rultor.spi.Codec;
+import com.rultor.spi.Metrics;
+import com.rultor.spi.Talk;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.xembly.Directives;
+
+/**
+ * Benchmark of {@link DyTalk} against {@link DySourced}, modifying
+ * a talk with a big archive.
+ *
+ * <p>Run it with:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=HistoryBench}.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HistoryBench {
+
+    /**
+     * How many modifications per snapshot.
+     */
+    private static final int EVERY = 20;
+
+    /**
+     * Talk rewritten entirely on every modification.
+     */
+    public final Talk rewritten = new DyTalk(
+        HistoryBench.item(), Metrics.EMPTY, Codec.DEFAULT
+    );
+
+    /**
+     * Talk with events and snapshots.
+     */
+    public final Talk sourced = new DySourced(
+        HistoryBench.item(), new FakeEvents(), Metrics.EMPTY,
+        Codec.DEFAULT, HistoryBench.EVERY
+    );
+
+    /**
+     * Modifications made so far.
+     */
+    public final AtomicLong total = new AtomicLong();
+
+    /**
+     * Modify the talk, rewriting it entirely.
+     * @throws IOException If fails
+     */
+    @Benchmark
+    public void rewrites() throws IOException {
+        this.rewritten.modify(this.dirs());
+    }
+
+    /**
+     * Modify the talk, appending an event.
+     * @throws IOException If fails
+     */
+    @Benchmark
+    public void appends() throws IOException {
+        this.sourced.modify(this.dirs());
+    }
+
+    /**
+     * Next modification.
+     * @return Directives
+     */
+    private Directives dirs() {
+        return new Directives().xpath("/talk").attr(
+            "later", Boolean.toString(this.total.incrementAndGet() % 2 == 0)
+        );
+    }
+
+    /**
+     * Make an item of a talk with a big archive.
+     * @return Item
+     */
+    private static Preloaded item() {
+        final StringBuilder xml = new StringBuilder(0).append(
+            "<talk name='a/b#1' number='1' later='false'><archive>"
+        );
+        for (int idx = 0; idx < 100; ++idx) {
+            xml.append(
+                String.format(
+                    "<log id='%x' title='merge'>s3://a/%1$x.txt</log>", idx
+                )
+            );
+        }
+        xml.append("</archive></talk>");
+        return new Preloaded(
+            new FakeItem(
+                new Attributes()
+                    .with(DyTalks.HASH, "a/b#1")
+                    .with(DyTalks.ATTR_NUMBER, 1L)
+                    .with(DyTalks.ATTR_UPDATED, System.currentTimeMillis())
+                    .with(DyTalks.ATTR_XML, xml.toString())
+            )
+        );
+    }
+
+}
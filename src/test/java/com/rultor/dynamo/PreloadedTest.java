@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.dynamo;
+
+import com.amazonaws.services.dynamodbv2.model.AttributeAction;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.AttributeValueUpdate;
+import com.jcabi.dynamo.Attributes;
+import com.jcabi.dynamo.Item;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests for {@link Preloaded}.
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+public final class PreloadedTest {
+
+    /**
+     * Preloaded can serve attributes from memory.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void readsFromMemory() throws Exception {
+        final Item origin = Mockito.mock(Item.class);
+        final Item item = new Preloaded(
+            origin, new Attributes().with(DyTalks.ATTR_NUMBER, 1L)
+        );
+        MatcherAssert.assertThat(
+            item.get(DyTalks.ATTR_NUMBER).getN(),
+            Matchers.equalTo("1")
+        );
+        MatcherAssert.assertThat(
+            item.has(DyTalks.ATTR_XML_ZIP),
+            Matchers.is(false)
+        );
+        Mockito.verifyNoInteractions(origin);
+    }
+
+    /**
+     * Preloaded can forget attributes after a write.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void readsFromOriginAfterWrite() throws Exception {
+        final Item origin = Mockito.mock(Item.class);
+        Mockito.doReturn(new AttributeValue().withS("new"))
+            .when(origin).get(DyTalks.ATTR_XML);
+        final Item item = new Preloaded(
+            origin, new Attributes().with(DyTalks.ATTR_XML, "old")
+        );
+        item.put(
+            DyTalks.ATTR_XML,
+            new AttributeValueUpdate(
+                new AttributeValue().withS("new"), AttributeAction.PUT
+            )
+        );
+        MatcherAssert.assertThat(
+            item.get(DyTalks.ATTR_XML).getS(),
+            Matchers.equalTo("new")
+        );
+    }
+
+}
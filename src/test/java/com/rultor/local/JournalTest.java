@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.local;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for {@link Journal}.
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+public final class JournalTest {
+
+    /**
+     * Journal can compact its segments.
+     * @param dir Temporary directory
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void compactsSegments(@TempDir final File dir) throws Exception {
+        final int size = 1024;
+        try (Journal journal = new Journal(dir, size)) {
+            journal.create("a/b", "a/b#1", num -> JournalTest.bytes("0"));
+            journal.create("a/b", "a/b#2", num -> JournalTest.bytes("-"));
+            for (int idx = 0; idx < 100; ++idx) {
+                journal.save("a/b#1", JournalTest.bytes(Integer.toString(idx)));
+            }
+            MatcherAssert.assertThat(
+                dir.listFiles().length, Matchers.lessThan(5)
+            );
+        }
+        try (Journal journal = new Journal(dir, size)) {
+            MatcherAssert.assertThat(
+                new String(journal.xml("a/b#1"), StandardCharsets.UTF_8),
+                Matchers.equalTo("99")
+            );
+            MatcherAssert.assertThat(
+                new String(journal.xml("a/b#2"), StandardCharsets.UTF_8),
+                Matchers.equalTo("-")
+            );
+        }
+    }
+
+    /**
+     * Journal can keep numbers of deleted talks after compaction.
+     * @param dir Temporary directory
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void keepsNumbersOfDeletedTalks(@TempDir final File dir)
+        throws Exception {
+        final int size = 1024;
+        try (Journal journal = new Journal(dir, size)) {
+            journal.create("e/f", "e/f#1", num -> JournalTest.bytes("1"));
+            journal.create("e/f", "e/f#2", num -> JournalTest.bytes("2"));
+            journal.delete("e/f#2");
+            for (int idx = 0; idx < 100; ++idx) {
+                journal.save("e/f#1", JournalTest.bytes(Integer.toString(idx)));
+            }
+        }
+        try (Journal journal = new Journal(dir, size)) {
+            MatcherAssert.assertThat(
+                journal.create(
+                    "e/f", "e/f#3", num -> JournalTest.bytes("3")
+                ),
+                Matchers.equalTo(3L)
+            );
+        }
+    }
+
+    /**
+     * Journal can recover after a broken write.
+     * @param dir Temporary directory
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void recoversFromBrokenRecord(@TempDir final File dir)
+        throws Exception {
+        final int size = 4096;
+        try (Journal journal = new Journal(dir, size)) {
+            journal.create("c/d", "c/d#1", num -> JournalTest.bytes("one"));
+        }
+        final File seg = dir.listFiles()[0];
+        final int end;
+        try (Journal journal = new Journal(dir, size)) {
+            journal.save("c/d#1", JournalTest.bytes("two"));
+            end = (int) JournalTest.end(seg);
+        }
+        try (RandomAccessFile file = new RandomAccessFile(seg, "rw")) {
+            file.seek(end);
+            file.writeInt(Integer.MAX_VALUE);
+            file.writeInt(0);
+        }
+        try (Journal journal = new Journal(dir, size)) {
+            journal.save("c/d#1", JournalTest.bytes("three"));
+        }
+        try (Journal journal = new Journal(dir, size)) {
+            MatcherAssert.assertThat(
+                new String(journal.xml("c/d#1"), StandardCharsets.UTF_8),
+                Matchers.equalTo("three")
+            );
+        }
+    }
+
+    /**
+     * Bytes of text.
+     * @param text The text
+     * @return Bytes
+     */
+    private static byte[] bytes(final String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Position after the last non-zero byte of the file.
+     * @param file The file
+     * @return Position
+     * @throws Exception If fails
+     */
+    private static long end(final File file) throws Exception {
+        final byte[] bytes = Files.readAllBytes(file.toPath());
+        int end = bytes.length;
+        while (end > 0 && bytes[end - 1] == 0) {
+            --end;
+        }
+        return end;
+    }
+
+}
@@ -0,0 +1,263 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.local;
+
+import com.jcabi.matchers.XhtmlMatchers;
+import com.jcabi.xml.XMLDocument;
+import com.rultor.spi.Archive;
+import com.rultor.spi.Talk;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.cactoos.list.ListOf;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.xembly.Directives;
+
+/**
+ * Tests for {@link LcTalks}.
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+public final class LcTalksTest {
+
+    /**
+     * LcTalks can create and find talks.
+     * @param dir Temporary directory
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void createsAndFindsTalks(@TempDir final File dir)
+        throws Exception {
+        try (LcTalks talks = new LcTalks(dir)) {
+            talks.create("a/b", "a/b#1");
+            talks.create("a/b", "a/b#2");
+            MatcherAssert.assertThat(talks.exists("a/b#2"), Matchers.is(true));
+            MatcherAssert.assertThat(talks.exists(2L), Matchers.is(true));
+            MatcherAssert.assertThat(talks.exists(3L), Matchers.is(false));
+            MatcherAssert.assertThat(
+                talks.get(2L).name(), Matchers.equalTo("a/b#2")
+            );
+            MatcherAssert.assertThat(
+                talks.get("a/b#1").read(),
+                XhtmlMatchers.hasXPath("/talk[@number='1' and @later]")
+            );
+        }
+    }
+
+    /**
+     * LcTalks can keep modifications after restart.
+     * @param dir Temporary directory
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void keepsModificationsAfterRestart(@TempDir final File dir)
+        throws Exception {
+        final String name = "c/d#7";
+        try (LcTalks talks = new LcTalks(dir)) {
+            talks.create("c/d", name);
+            talks.get(name).modify(
+                new Directives().xpath("/talk").attr("later", "true")
+            );
+            talks.get(name).active(false);
+        }
+        try (LcTalks talks = new LcTalks(dir)) {
+            final Talk talk = talks.get(name);
+            MatcherAssert.assertThat(
+                talk.read(),
+                XhtmlMatchers.hasXPath("/talk[@later='true']")
+            );
+            MatcherAssert.assertThat(
+                talks.active(), Matchers.emptyIterable()
+            );
+            talks.create("c/d", "c/d#8");
+            MatcherAssert.assertThat(
+                talks.get("c/d#8").number(), Matchers.equalTo(2L)
+            );
+        }
+    }
+
+    /**
+     * LcTalks can modify one talk from many threads without losing
+     * any of the modifications.
+     * @param dir Temporary directory
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void modifiesConcurrently(@TempDir final File dir)
+        throws Exception {
+        final String name = "k/l#1";
+        final int total = 16;
+        try (LcTalks talks = new LcTalks(dir)) {
+            talks.create("k/l", name);
+            final ExecutorService svc = Executors.newFixedThreadPool(total);
+            try {
+                final List<Future<?>> futures = new ArrayList<>(total);
+                for (int idx = 0; idx < total; ++idx) {
+                    final String log = String.format("a%x", idx);
+                    futures.add(
+                        svc.submit(
+                            () -> {
+                                talks.get(name).modify(
+                                    new Directives()
+                                        .xpath("/talk")
+                                        .addIf("archive")
+                                        .add("log")
+                                        .attr("id", log)
+                                        .attr("title", log)
+                                        .set("s3://test")
+                                );
+                                return null;
+                            }
+                        )
+                    );
+                }
+                for (final Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                svc.shutdown();
+            }
+            MatcherAssert.assertThat(
+                talks.get(name).read().nodes("/talk/archive/log"),
+                Matchers.hasSize(total)
+            );
+        }
+    }
+
+    /**
+     * LcTalks can list siblings and recent talks.
+     * @param dir Temporary directory
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void listsSiblingsAndRecent(@TempDir final File dir)
+        throws Exception {
+        try (LcTalks talks = new LcTalks(dir)) {
+            talks.create("e/f", "e/f#1");
+            talks.create("e/f", "e/f#2");
+            talks.create("g/h", "g/h#1");
+            final Talk talk = talks.get("e/f#1");
+            talk.modify(
+                new Directives().xpath("/talk").attr("public", "true")
+            );
+            talk.active(false);
+            MatcherAssert.assertThat(
+                new ListOf<>(
+                    talks.siblings("e/f", new Date(Long.MAX_VALUE))
+                ),
+                Matchers.hasSize(2)
+            );
+            MatcherAssert.assertThat(
+                talks.siblings("e/f", new Date(0L)),
+                Matchers.emptyIterable()
+            );
+            MatcherAssert.assertThat(
+                new ListOf<>(talks.recent()),
+                Matchers.contains(talk)
+            );
+            MatcherAssert.assertThat(
+                new ListOf<>(talks.active()),
+                Matchers.hasSize(2)
+            );
+        }
+    }
+
+    /**
+     * LcTalks can delete talks.
+     * @param dir Temporary directory
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void deletesTalks(@TempDir final File dir) throws Exception {
+        try (LcTalks talks = new LcTalks(dir)) {
+            talks.create("i/j", "i/j#1");
+            talks.delete("i/j#1");
+        }
+        try (LcTalks talks = new LcTalks(dir)) {
+            MatcherAssert.assertThat(
+                talks.exists("i/j#1"), Matchers.is(false)
+            );
+        }
+    }
+
+    /**
+     * LcTalks can keep archives of talks.
+     * @param dir Temporary directory
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void keepsArchives(@TempDir final File dir) throws Exception {
+        final String name = "k/l#1";
+        try (LcTalks talks = new LcTalks(dir)) {
+            talks.create("k/l", name);
+            talks.archive(name).add(
+                new XMLDocument(
+                    String.join(
+                        "",
+                        "<archive>",
+                        "<log id='a1' title='first&#10;line'>s3://a</log>",
+                        "<log id='b2' title='second' index='7'>s3://b</log>",
+                        "</archive>"
+                    )
+                ).nodes("/archive/log")
+            );
+        }
+        try (LcTalks talks = new LcTalks(dir)) {
+            final Archive archive = talks.archive(name);
+            MatcherAssert.assertThat(
+                new ListOf<>(archive.logs()).get(0),
+                XhtmlMatchers.hasXPath("/log[@id='b2' and @index='7']")
+            );
+            MatcherAssert.assertThat(
+                archive.find("a1").get(0),
+                XhtmlMatchers.hasXPath("/log[.='s3://a']")
+            );
+            MatcherAssert.assertThat(
+                archive.find("a1").get(0).xpath("@title").get(0),
+                Matchers.equalTo("first\nline")
+            );
+            talks.delete(name);
+            talks.create("k/l", name);
+            MatcherAssert.assertThat(
+                talks.archive(name).logs(), Matchers.emptyIterable()
+            );
+        }
+    }
+
+}
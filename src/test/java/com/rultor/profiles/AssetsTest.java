@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.profiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.json.Json;
+import javax.json.JsonObject;
+import org.apache.commons.io.IOUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test case for {@link Assets}.
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+public final class AssetsTest {
+
+    /**
+     * Assets can store a blob on disk once and read it from there.
+     * @param temp Temporary directory
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void storesBlobOnDisk(@TempDir final Path temp) throws Exception {
+        final File dir = temp.resolve("blobs").toFile();
+        final Assets assets = new Assets(dir, TimeUnit.MINUTES.toMillis(1L));
+        MatcherAssert.assertThat(
+            IOUtils.toString(
+                assets.blob(AssetsTest.json("a1", "hello")),
+                StandardCharsets.UTF_8
+            ),
+            Matchers.equalTo("hello")
+        );
+        MatcherAssert.assertThat(
+            IOUtils.toString(
+                assets.blob(AssetsTest.json("a1", "ignored")),
+                StandardCharsets.UTF_8
+            ),
+            Matchers.equalTo("hello")
+        );
+        MatcherAssert.assertThat(
+            dir.list(),
+            Matchers.arrayContaining("a1")
+        );
+    }
+
+    /**
+     * Assets can keep only the most recently used blobs, in a directory
+     * that only the owner can read.
+     * @param temp Temporary directory
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void keepsRecentBlobsPrivately(@TempDir final Path temp)
+        throws Exception {
+        final File dir = temp.resolve("secrets").toFile();
+        final Assets assets = new Assets(
+            dir, TimeUnit.MINUTES.toMillis(1L), 2
+        );
+        final AtomicInteger fetches = new AtomicInteger();
+        for (final String sha : new String[] {"b1", "b2", "b3"}) {
+            assets.blob(
+                sha,
+                () -> {
+                    fetches.incrementAndGet();
+                    return new ByteArrayInputStream(
+                        sha.getBytes(StandardCharsets.UTF_8)
+                    );
+                }
+            ).close();
+            new File(dir, sha).setLastModified(fetches.get() * 1000L);
+        }
+        MatcherAssert.assertThat(
+            dir.list(),
+            Matchers.arrayContainingInAnyOrder("b2", "b3")
+        );
+        MatcherAssert.assertThat(
+            IOUtils.toString(
+                assets.blob("b3", () -> new ByteArrayInputStream(new byte[0])),
+                StandardCharsets.UTF_8
+            ),
+            Matchers.equalTo("b3")
+        );
+        MatcherAssert.assertThat(fetches.get(), Matchers.equalTo(3));
+        Assumptions.assumeTrue(
+            FileSystems.getDefault().supportedFileAttributeViews()
+                .contains("posix")
+        );
+        MatcherAssert.assertThat(
+            PosixFilePermissions.toString(
+                Files.getPosixFilePermissions(dir.toPath())
+            ),
+            Matchers.equalTo("rwx------")
+        );
+    }
+
+    /**
+     * Assets can keep blobs touched recently, even if there are too many,
+     * since their streams may be still not opened.
+     * @param temp Temporary directory
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void keepsRecentlyTouchedBlobs(@TempDir final Path temp)
+        throws Exception {
+        final File dir = temp.resolve("young").toFile();
+        final Assets assets = new Assets(
+            dir, TimeUnit.MINUTES.toMillis(1L), 1
+        );
+        final InputStream first = assets.blob(
+            "c1", () -> new ByteArrayInputStream("c1".getBytes(StandardCharsets.UTF_8))
+        );
+        assets.blob(
+            "c2", () -> new ByteArrayInputStream("c2".getBytes(StandardCharsets.UTF_8))
+        ).close();
+        MatcherAssert.assertThat(
+            IOUtils.toString(first, StandardCharsets.UTF_8),
+            Matchers.equalTo("c1")
+        );
+    }
+
+    /**
+     * Assets can check a permission once during the TTL.
+     * @param temp Temporary directory
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void checksPermissionOnce(@TempDir final Path temp)
+        throws Exception {
+        final Assets assets = new Assets(
+            temp.toFile(), TimeUnit.MINUTES.toMillis(1L)
+        );
+        final AtomicInteger checks = new AtomicInteger();
+        for (int idx = 0; idx < 3; ++idx) {
+            assets.permit(
+                Arrays.asList("a/b", "master", "c/d"),
+                checks::incrementAndGet
+            );
+        }
+        MatcherAssert.assertThat(checks.get(), Matchers.equalTo(1));
+    }
+
+    /**
+     * Make JSON of a content.
+     * @param sha SHA of the blob
+     * @param text Its text
+     * @return JSON
+     */
+    private static JsonObject json(final String sha, final String text) {
+        return Json.createObjectBuilder()
+            .add("sha", sha)
+            .add(
+                "content",
+                Base64.getMimeEncoder().encodeToString(
+                    text.getBytes(StandardCharsets.UTF_8)
+                )
+            )
+            .build();
+    }
+
+}
@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.profiles;
+
+import com.jcabi.github.Repo;
+import com.jcabi.github.Repos;
+import com.jcabi.github.mock.MkGithub;
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.json.Json;
+import org.cactoos.Func;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test case for {@link Configs}.
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+public final class ConfigsTest {
+
+    /**
+     * Configs can fetch and parse a file only once during the TTL.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void parsesOncePerTtl() throws Exception {
+        final Repo repo = ConfigsTest.repo();
+        final AtomicInteger parsed = new AtomicInteger();
+        final Configs configs = new Configs(TimeUnit.MINUTES.toMillis(1L));
+        configs.get(
+            repo, "master", ".rultor.yml", ConfigsTest.parser(parsed)
+        );
+        ConfigsTest.create(repo, "b: 2");
+        MatcherAssert.assertThat(
+            configs.get(
+                repo, "master", ".rultor.yml", ConfigsTest.parser(parsed)
+            ).xpath("/p/text()").get(0),
+            Matchers.equalTo("a: 1")
+        );
+        MatcherAssert.assertThat(parsed.get(), Matchers.equalTo(1));
+    }
+
+    /**
+     * Configs can parse a file again only when its SHA changes.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void parsesOnlyChangedFiles() throws Exception {
+        final Repo repo = new MkGithub("jeff").repos().create(
+            new Repos.RepoCreate("empty", false)
+        );
+        final AtomicInteger parsed = new AtomicInteger();
+        final Configs configs = new Configs(0L);
+        configs.get(
+            repo, "master", ".rultor.yml", ConfigsTest.parser(parsed)
+        );
+        configs.get(
+            repo, "master", ".rultor.yml", ConfigsTest.parser(parsed)
+        );
+        MatcherAssert.assertThat(parsed.get(), Matchers.equalTo(1));
+        ConfigsTest.create(repo, "c: 3");
+        MatcherAssert.assertThat(
+            configs.get(
+                repo, "master", ".rultor.yml", ConfigsTest.parser(parsed)
+            ).xpath("/p/text()").get(0),
+            Matchers.equalTo("c: 3")
+        );
+        MatcherAssert.assertThat(parsed.get(), Matchers.equalTo(2));
+    }
+
+    /**
+     * Configs can read the file from the branch it's asked for.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void readsFileOfBranch() throws Exception {
+        final Repo repo = ConfigsTest.repo();
+        ConfigsTest.create(repo, "dev", "d: 4");
+        MatcherAssert.assertThat(
+            new Configs(0L).get(
+                repo, "dev", ".rultor.yml",
+                ConfigsTest.parser(new AtomicInteger())
+            ).xpath("/p/text()").get(0),
+            Matchers.equalTo("d: 4")
+        );
+    }
+
+    /**
+     * Make a parser, which counts its calls.
+     * @param parsed Counter of calls
+     * @return Parser
+     */
+    private static Func<String, XML> parser(final AtomicInteger parsed) {
+        return yml -> {
+            parsed.incrementAndGet();
+            return new XMLDocument(String.format("<p>%s</p>", yml));
+        };
+    }
+
+    /**
+     * Make a repo with a config.
+     * @return Repo
+     * @throws Exception If fails
+     */
+    private static Repo repo() throws Exception {
+        final Repo repo = new MkGithub("jeff").repos().create(
+            new Repos.RepoCreate("test", false)
+        );
+        ConfigsTest.create(repo, "a: 1");
+        return repo;
+    }
+
+    /**
+     * Add the config.
+     * @param repo The repo
+     * @param yml Its content
+     * @throws Exception If fails
+     */
+    private static void create(final Repo repo, final String yml)
+        throws Exception {
+        ConfigsTest.create(repo, "master", yml);
+    }
+
+    /**
+     * Add the config to the branch.
+     * @param repo The repo
+     * @param branch The branch
+     * @param yml Its content
+     * @throws Exception If fails
+     */
+    private static void create(final Repo repo, final String branch,
+        final String yml) throws Exception {
+        repo.contents().create(
+            Json.createObjectBuilder()
+                .add("path", ".rultor.yml")
+                .add("ref", branch)
+                .add("message", "just test")
+                .add("content", ConfigsTest.encoded(yml))
+                .build()
+        );
+    }
+
+    /**
+     * Encode the text in Base64.
+     * @param text The text
+     * @return Encoded
+     */
+    private static String encoded(final String text) {
+        return Base64.getEncoder().encodeToString(
+            text.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+}
@@ -37,8 +37,10 @@ import com.jcabi.github.mock.MkGithub;
 import com.jcabi.matchers.XhtmlMatchers;
 import com.rultor.spi.Profile;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import javax.json.Json;
+import org.apache.commons.io.IOUtils;
 import org.cactoos.text.Joined;
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
@@ -204,6 +206,36 @@ public final class GithubProfileTest {
         );
     }
 
+    /**
+     * GithubProfile can read assets from the branch of the profile.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void readsAssetsOfBranch() throws Exception {
+        final Repo repo = new MkGithub("jeff").repos().create(
+            new Repos.RepoCreate("branched", false)
+        );
+        GithubProfileTest.create(repo, "master", "secret.txt", "old");
+        GithubProfileTest.create(repo, "dev", "secret.txt", "new");
+        GithubProfileTest.create(
+            repo, "dev", ".rultor.yml",
+            new Joined(
+                "\n",
+                "assets: ",
+                "  secret.txt: jeff/branched#secret.txt",
+                "friends:",
+                "  - jeff/branched"
+            ).asString()
+        );
+        MatcherAssert.assertThat(
+            IOUtils.toString(
+                new GithubProfile(repo, "dev").assets().get("secret.txt"),
+                StandardCharsets.UTF_8
+            ),
+            Matchers.equalTo("new")
+        );
+    }
+
     /**
      * GithubProfile can throw when rultor.yml is absent.
      * @throws Exception In case of error.
@@ -306,4 +338,30 @@ public final class GithubProfileTest {
         );
         return repo;
     }
+
+    /**
+     * Add the file to the branch.
+     * @param repo The repo
+     * @param branch The branch
+     * @param path Path of the file
+     * @param content Its content
+     * @throws IOException If fails
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    private static void create(final Repo repo, final String branch,
+        final String path, final String content) throws IOException {
+        repo.contents().create(
+            Json.createObjectBuilder()
+                .add("path", path)
+                .add("message", "just a file")
+                .add("ref", branch)
+                .add(
+                    "content",
+                    Base64.getEncoder().encodeToString(
+                        content.getBytes(StandardCharsets.UTF_8)
+                    )
+                )
+                .build()
+        );
+    }
 }
@@ -0,0 +1,156 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.profiles;
+
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.xembly.Directives;
+import org.xembly.Xembler;
+import org.yaml.snakeyaml.Yaml;
+
+/**
+ * Benchmark of {@link YamlXML} against the former Xembly round-trip.
+ *
+ * <p>Run it with:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=YamlBench}.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class YamlBench {
+
+    /**
+     * A typical ".rultor.yml".
+     */
+    public final String yaml = YamlBench.yml();
+
+    /**
+     * Render directives to a string and parse it back, as before.
+     * @return XML
+     */
+    @Benchmark
+    public XML roundTrip() {
+        final Directives dirs = new Directives().add("p");
+        dirs.append(YamlBench.dirs(new Yaml().load(this.yaml)));
+        return new XMLDocument(new Xembler(dirs).xmlQuietly());
+    }
+
+    /**
+     * Build the DOM directly.
+     * @return XML
+     */
+    @Benchmark
+    public XML direct() {
+        return new YamlXML(this.yaml).dom();
+    }
+
+    /**
+     * Take the DOM from the cache.
+     * @return XML
+     */
+    @Benchmark
+    public XML cached() {
+        return new YamlXML(this.yaml).get();
+    }
+
+    /**
+     * Convert something to directives.
+     * @param obj Object
+     * @return Directives
+     */
+    @SuppressWarnings("unchecked")
+    private static Directives dirs(final Object obj) {
+        final Directives dirs = new Directives();
+        if (obj instanceof Map) {
+            for (final Map.Entry<String, Object> ent
+                : ((Map<String, Object>) obj).entrySet()) {
+                dirs.add("entry")
+                    .attr("key", ent.getKey())
+                    .append(YamlBench.dirs(ent.getValue()))
+                    .up();
+            }
+        } else if (obj instanceof List) {
+            for (final Object item : (Iterable<Object>) obj) {
+                dirs.add("item").append(YamlBench.dirs(item)).up();
+            }
+        } else if (obj == null) {
+            dirs.set("");
+        } else {
+            dirs.set(obj.toString());
+        }
+        return dirs;
+    }
+
+    /**
+     * Make a YAML with a few sections.
+     * @return YAML
+     */
+    private static String yml() {
+        final StringBuilder yml = new StringBuilder(0)
+            .append("docker:\n  image: yegor256/rultor-image\n")
+            .append("architect:\n  - yegor256\nreaders:\n  - urn:github:1\n")
+            .append("env:\n");
+        for (int idx = 0; idx < 20; ++idx) {
+            yml.append(String.format("  VAR_%d: value-%1$d\n", idx));
+        }
+        for (final String cmd : new String[] {"merge", "deploy", "release"}) {
+            yml.append(cmd).append(":\n  script:\n");
+            for (int idx = 0; idx < 10; ++idx) {
+                yml.append(
+                    String.format("    - mvn clean install -P%d\n", idx)
+                );
+            }
+        }
+        return yml.toString();
+    }
+
+}
@@ -32,6 +32,7 @@ package com.rultor.profiles;
 import com.jcabi.matchers.XhtmlMatchers;
 import com.rultor.spi.Profile;
 import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -75,6 +76,20 @@ public final class YamlXMLTest {
         );
     }
 
+    /**
+     * YamlXML can build the same YAML only once.
+     */
+    @Test
+    public void buildsSameYamlOnce() {
+        final String yaml = "merge:\n  script:\n    - mvn install";
+        MatcherAssert.assertThat(
+            new YamlXML(yaml).get(),
+            Matchers.sameInstance(
+                new YamlXML(String.format("%s\n", yaml)).get()
+            )
+        );
+    }
+
     /**
      * YamlXML can parse a broken text and throw.
      */
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.spi;
+
+import java.nio.charset.StandardCharsets;
+import org.apache.commons.io.IOUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link Codec}.
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+public final class CodecTest {
+
+    /**
+     * Codec can encode and decode back.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void encodesAndDecodes() throws Exception {
+        final String xml = CodecTest.talk();
+        final byte[] bytes = Codec.DEFAULT.encode(xml);
+        MatcherAssert.assertThat(
+            bytes[0], Matchers.is(Codec.Dictionary.HEADER)
+        );
+        MatcherAssert.assertThat(
+            Codec.DEFAULT.decode(bytes),
+            Matchers.equalTo(xml)
+        );
+    }
+
+    /**
+     * Codec can read talks stored before, in GZIP.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void readsLegacyGzip() throws Exception {
+        final String xml = CodecTest.talk();
+        MatcherAssert.assertThat(
+            Codec.DEFAULT.decode(new Codec.Gzip().encode(xml)),
+            Matchers.equalTo(xml)
+        );
+    }
+
+    /**
+     * Codec can compress talks better than GZIP.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void compressesBetterThanGzip() throws Exception {
+        final String xml = CodecTest.talk();
+        MatcherAssert.assertThat(
+            Codec.DEFAULT.encode(xml).length,
+            Matchers.lessThan(new Codec.Gzip().encode(xml).length)
+        );
+    }
+
+    /**
+     * Make a talk with a script inside.
+     * @return XML of the talk
+     * @throws Exception If fails
+     */
+    private static String talk() throws Exception {
+        return String.format(
+            // @checkstyle LineLength (1 line)
+            "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<talk later=\"false\" name=\"a/b#1\" number=\"1\" schema=\"3\"><daemon id=\"abc\"><title>merge</title><script>%s</script></daemon></talk>\n",
+            IOUtils.toString(
+                CodecTest.class.getResourceAsStream(
+                    "/com/rultor/agents/req/_head.sh"
+                ),
+                StandardCharsets.UTF_8
+            ).replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;")
+        );
+    }
+
+}
@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.spi;
+
+import com.jcabi.xml.XMLDocument;
+import org.apache.commons.lang3.StringUtils;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Tests for {@link Settings}.
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ */
+public final class SettingsTest {
+
+    /**
+     * Settings can read entries, items and texts.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void readsEntriesAndItems() throws Exception {
+        final Settings settings = Settings.of(
+            new Profile.Fixed(
+                new XMLDocument(
+                    StringUtils.join(
+                        "<p><entry key='merge'>",
+                        "<entry key='script'><item>mvn</item></entry>",
+                        "<entry key='env'><entry key='A'>1</entry>",
+                        "<entry key='B'>2</entry></entry>",
+                        "</entry><entry key='docker'>",
+                        "<entry key='image'>ubuntu</entry></entry></p>"
+                    )
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            settings.get("docker", "image").text(),
+            Matchers.equalTo("ubuntu")
+        );
+        MatcherAssert.assertThat(
+            settings.get("merge", "script").items(),
+            Matchers.contains("mvn")
+        );
+        MatcherAssert.assertThat(
+            settings.get("merge", "env").entries().keySet(),
+            Matchers.contains("A", "B")
+        );
+        MatcherAssert.assertThat(
+            settings.has("merge", "script"),
+            Matchers.is(true)
+        );
+    }
+
+    /**
+     * Settings can give empty sections for absent keys.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void defaultsAbsentSections() throws Exception {
+        final Settings settings = Settings.of(
+            new Profile.Fixed(new XMLDocument("<p/>"))
+        );
+        MatcherAssert.assertThat(
+            settings.has("ssh", "port"),
+            Matchers.is(false)
+        );
+        MatcherAssert.assertThat(
+            settings.get("ssh", "port").text("22"),
+            Matchers.equalTo("22")
+        );
+        MatcherAssert.assertThat(
+            settings.get("readers").items(),
+            Matchers.empty()
+        );
+    }
+
+    /**
+     * Settings can read the keys that agents need, in all their forms.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void readsTypedKeys() throws Exception {
+        final Settings settings = Settings.of(
+            new Profile.Fixed(
+                new XMLDocument(
+                    StringUtils.join(
+                        "<p><entry key='env'><item>A=1</item></entry>",
+                        "<entry key='architect'><item>jeff</item></entry>",
+                        "<entry key='decrypt'><entry key='a.txt'>",
+                        "a.txt.asc</entry></entry>",
+                        "<entry key='docker'><entry key='as_root'>true",
+                        "</entry></entry><entry key='release'>",
+                        "<entry key='env'><entry key='B'>2</entry></entry>",
+                        "<entry key='script'>  mvn \n\n  deploy </entry>",
+                        "</entry></p>"
+                    )
+                )
+            )
+        );
+        MatcherAssert.assertThat(
+            settings.image(),
+            Matchers.equalTo("yegor256/rultor-image")
+        );
+        MatcherAssert.assertThat(settings.asRoot(), Matchers.is(true));
+        MatcherAssert.assertThat(settings.env(), Matchers.contains("A=1"));
+        MatcherAssert.assertThat(
+            settings.get("release").env(),
+            Matchers.contains("B=2")
+        );
+        MatcherAssert.assertThat(
+            settings.get("release").script(),
+            Matchers.contains("mvn", "deploy")
+        );
+        MatcherAssert.assertThat(
+            settings.decrypt().keySet(),
+            Matchers.contains("a.txt")
+        );
+        MatcherAssert.assertThat(
+            settings.architects(),
+            Matchers.contains("jeff")
+        );
+    }
+
+    /**
+     * Settings can parse the same XML only once.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void parsesOncePerDocument() throws Exception {
+        final Profile profile = new Profile.Fixed(
+            new XMLDocument("<p><entry key='x'>y</entry></p>")
+        );
+        MatcherAssert.assertThat(
+            Settings.of(profile),
+            Matchers.sameInstance(Settings.of(profile))
+        );
+    }
+
+}
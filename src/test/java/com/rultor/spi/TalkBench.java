@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2009-2022 Yegor Bugayenko
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met: 1) Redistributions of source code must retain the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer. 2) Redistributions in binary form must reproduce the above
+ * copyright notice, this list of conditions and the following
+ * disclaimer in the documentation and/or other materials provided
+ * with the distribution. 3) Neither the name of the rultor.com nor
+ * the names of its contributors may be used to endorse or promote
+ * products derived from this software without specific prior written
+ * permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT
+ * NOT LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND
+ * FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL
+ * THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT,
+ * INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION)
+ * HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT,
+ * STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED
+ * OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.rultor.spi;
+
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link Talk#UPGRADE} on legacy and current documents.
+ *
+ * <p>Run it with:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=TalkBench}.</p>
+ *
+ * @author Yegor Bugayenko (yegor256@gmail.com)
+ * @version $Id$
+ * @since 2.0
+ * @checkstyle DesignForExtensionCheck (500 lines)
+ * @checkstyle VisibilityModifierCheck (500 lines)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+@SuppressWarnings("PMD.AvoidFieldNameMatchingMethodName")
+public class TalkBench {
+
+    /**
+     * Document without schema version.
+     */
+    public final XML legacy = new XMLDocument(TalkBench.talk(""));
+
+    /**
+     * Document of the current schema version.
+     */
+    public final XML current = new XMLDocument(
+        TalkBench.talk(String.format(" schema='%s'", Talk.VERSION))
+    );
+
+    /**
+     * Upgrade a legacy document.
+     * @return Upgraded XML
+     */
+    @Benchmark
+    public XML upgradesLegacy() {
+        return Talk.UPGRADE.transform(this.legacy);
+    }
+
+    /**
+     * Read a current document.
+     * @return The same XML
+     */
+    @Benchmark
+    public XML skipsCurrent() {
+        return Talk.UPGRADE.transform(this.current);
+    }
+
+    /**
+     * Make a talk XML with a big archive.
+     * @param attrs Extra attributes of the root element
+     * @return XML
+     */
+    private static String talk(final String attrs) {
+        final StringBuilder xml = new StringBuilder(0).append(
+            String.format(
+                "<talk name='a/b#1' number='1' later='false'%s>", attrs
+            )
+        ).append("<wire><href>#</href></wire><archive>");
+        for (int idx = 0; idx < 100; ++idx) {
+            xml.append(
+                String.format(
+                    "<log id='%x' title='merge'>s3://a/%1$x.txt</log>", idx
+                )
+            );
+        }
+        return xml.append("</archive></talk>").toString();
+    }
+
+}
@@ -30,7 +30,10 @@
 package com.rultor.spi;
 
 import com.jcabi.matchers.XhtmlMatchers;
+import com.jcabi.xml.XML;
+import com.jcabi.xml.XMLDocument;
 import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.xembly.Directives;
 
@@ -67,4 +70,37 @@ public final class TalkTest {
         );
     }
 
+    /**
+     * Talk can mark upgraded documents with the schema version.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void marksUpgradedDocuments() throws Exception {
+        MatcherAssert.assertThat(
+            Talk.UPGRADE.transform(
+                new XMLDocument("<talk name='a' number='1'/>")
+            ),
+            XhtmlMatchers.hasXPath(
+                String.format("/talk[@later and @schema='%s']", Talk.VERSION)
+            )
+        );
+    }
+
+    /**
+     * Talk can skip the upgrade of current documents.
+     * @throws Exception In case of error.
+     */
+    @Test
+    public void skipsUpgradeOfCurrentDocuments() throws Exception {
+        final XML xml = new XMLDocument(
+            String.format(
+                "<talk name='b' number='2' schema='%s'/>", Talk.VERSION
+            )
+        );
+        MatcherAssert.assertThat(
+            Talk.UPGRADE.transform(xml),
+            Matchers.sameInstance(xml)
+        );
+    }
+
 }